@@ -24,13 +24,14 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Meta annotation used to annotate a task executor.
+ * Meta annotation used to annotate a task executor, either the class implementing the {@link TaskExecutor} or the
+ * method executing the task.
  *
  * @author Jakub Narloch
  */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.TYPE)
+@Target({ElementType.TYPE, ElementType.METHOD})
 @TaskApi(TaskExecutor.class)
 public @interface Executor {
 }
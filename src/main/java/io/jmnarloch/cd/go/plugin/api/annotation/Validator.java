@@ -24,13 +24,14 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Meta annotation used to annotate a task validator.
+ * Meta annotation used to annotate a task validator, either the class implementing the {@link TaskValidator} or the
+ * method validating the task configuration.
  *
  * @author Jakub Narloch
  */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.TYPE)
+@Target({ElementType.TYPE, ElementType.METHOD})
 @TaskApi(TaskValidator.class)
 public @interface Validator {
 }
@@ -82,4 +82,18 @@ public abstract class BaseCommand implements ApiCommand {
         response.setResponseBody(parser.toJson(body));
         return response;
     }
+
+    /**
+     * Creates the response with the specific response code and the already serialized content.
+     *
+     * @param responseCode the response code
+     * @param body         the JSON body
+     * @return the API response
+     */
+    protected GoPluginApiResponse createResponse(int responseCode, String body) {
+
+        final DefaultGoPluginApiResponse response = new DefaultGoPluginApiResponse(responseCode);
+        response.setResponseBody(body);
+        return response;
+    }
 }
@@ -19,20 +19,25 @@ import com.thoughtworks.go.plugin.api.request.GoPluginApiRequest;
 import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
 import io.jmnarloch.cd.go.plugin.api.parser.AbstractJsonParser;
-import io.jmnarloch.cd.go.plugin.api.validation.AbstractTaskValidator;
+import io.jmnarloch.cd.go.plugin.api.parser.JsonStreamWriter;
 import io.jmnarloch.cd.go.plugin.api.validation.TaskValidator;
 import io.jmnarloch.cd.go.plugin.api.validation.ValidationErrors;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
- * The validation command.
+ * The validation command. The response is written directly with the {@link JsonStreamWriter}, the successful
+ * validation is answered with the constant empty body.
  *
  * @author Jakub Narloch
  */
 public class ValidateCommand extends BaseCommand {
 
+    /**
+     * The response body of the successful validation.
+     */
+    private static final String NO_ERRORS = "{}";
+
     /**
      * The validator
      */
@@ -58,14 +63,16 @@ public class ValidateCommand extends BaseCommand {
 
         final ValidationErrors errors = taskValidator.validate(parseRequest(request));
 
-        int responseCode = DefaultGoPluginApiResponse.SUCCESS_RESPONSE_CODE;
-        final Map<String, Object> response = new HashMap<>();
-
-        if(errors.hasErrors()) {
-            responseCode = DefaultGoPluginApiResponse.VALIDATION_FAILED;
-            response.put("errors", errors);
+        if(!errors.hasErrors()) {
+            return createResponse(DefaultGoPluginApiResponse.SUCCESS_RESPONSE_CODE, NO_ERRORS);
         }
 
-        return createResponse(responseCode, response);
+        final JsonStreamWriter json = new JsonStreamWriter();
+        json.beginObject().name("errors").beginObject();
+        for (Map.Entry<String, String> error : errors.getErrors().entrySet()) {
+            json.name(error.getKey()).value(error.getValue());
+        }
+        json.endObject().endObject();
+        return createResponse(DefaultGoPluginApiResponse.VALIDATION_FAILED, json.toString());
     }
 }
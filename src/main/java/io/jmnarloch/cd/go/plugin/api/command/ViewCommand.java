@@ -20,13 +20,14 @@ import com.thoughtworks.go.plugin.api.response.DefaultGoApiResponse;
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
 import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
 import io.jmnarloch.cd.go.plugin.api.parser.AbstractJsonParser;
+import io.jmnarloch.cd.go.plugin.api.view.SerializedTaskView;
 import io.jmnarloch.cd.go.plugin.api.view.TaskView;
 
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * The view command.
+ * The view command. The response of the {@link SerializedTaskView} is served as is, without serializing it again.
  *
  * @author Jakub Narloch
  */
@@ -55,16 +56,20 @@ public class ViewCommand extends BaseCommand {
     @Override
     public GoPluginApiResponse execute(GoPluginApiRequest request) {
 
-        int responseCode = DefaultGoApiResponse.SUCCESS_RESPONSE_CODE;
-        final Map<String, Object> response = new HashMap<>();
         try {
+            if (taskView instanceof SerializedTaskView) {
+                return createResponse(DefaultGoApiResponse.SUCCESS_RESPONSE_CODE,
+                        ((SerializedTaskView) taskView).serializedView());
+            }
+            final Map<String, Object> response = new HashMap<>();
             response.put("displayValue", taskView.displayValue());
             response.put("template", taskView.template());
+            return createResponse(DefaultGoApiResponse.SUCCESS_RESPONSE_CODE, response);
         } catch(PluginException ex) {
 
-            responseCode = DefaultGoApiResponse.INTERNAL_ERROR;
+            final Map<String, Object> response = new HashMap<>();
             response.put("exception", ex.getMessage());
+            return createResponse(DefaultGoApiResponse.INTERNAL_ERROR, response);
         }
-        return createResponse(responseCode, response);
     }
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads used by the library for any background work. This is the Java 7 implementation that uses
+ * daemon platform threads, the multi-release jar contains the Java 21 variant of this class that runs the executor
+ * tasks on virtual threads instead.
+ *
+ * @author Jakub Narloch
+ */
+public final class Threads {
+
+    /**
+     * The idle thread keep alive time.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * Creates new instance of {@link Threads} class.
+     */
+    private Threads() {
+        // utility class
+    }
+
+    /**
+     * Returns whether the executor tasks run on virtual threads.
+     *
+     * @return whether the threads are virtual
+     */
+    public static boolean isVirtual() {
+        return false;
+    }
+
+    /**
+     * Creates the thread factory producing daemon threads named with the specific prefix.
+     *
+     * @param name the thread name prefix
+     * @return the thread factory
+     */
+    public static ThreadFactory threadFactory(final String name) {
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, name + "-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Creates the executor running at most the specific number of tasks concurrently, the remaining tasks are queued.
+     * The idle threads are released after a while.
+     *
+     * @param name       the thread name prefix
+     * @param maxThreads the maximum number of concurrently running tasks
+     * @return the executor
+     */
+    public static ExecutorService newExecutor(String name, int maxThreads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
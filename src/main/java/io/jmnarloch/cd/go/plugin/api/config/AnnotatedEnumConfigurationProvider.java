@@ -16,16 +16,18 @@
 package io.jmnarloch.cd.go.plugin.api.config;
 
 import io.jmnarloch.cd.go.plugin.api.configuration.TaskConfiguration;
-import org.apache.commons.lang3.StringUtils;
+import io.jmnarloch.cd.go.plugin.api.util.Strings;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationProgram;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Inspects the specified enumeration class in search of annotated fields.
+ * Inspects the specified enumeration class in search of annotated fields. The declarative constraints of the
+ * properties are compiled into the {@link ValidationProgram}. When the {@link ConfigurationDescriptor} of the enum
+ * has been generated at compile time, it is used instead and the enum is not introspected at all.
  *
  * @author Jakub Narloch
  */
@@ -36,13 +38,26 @@ public class AnnotatedEnumConfigurationProvider<T extends Enum> implements TaskC
      */
     private final Map configuration;
 
+    /**
+     * The compiled property constraints.
+     */
+    private final ValidationProgram validationProgram;
+
     /**
      * Creates new instance of {@link AnnotatedEnumConfigurationProvider} class.
      *
      * @param enumClass the enumeration class
      */
     public AnnotatedEnumConfigurationProvider(Class<T> enumClass) {
-        configuration = Collections.unmodifiableMap(introspectEnum(enumClass));
+        final ConfigurationDescriptor descriptor = getDescriptor(enumClass);
+        if (descriptor != null) {
+            configuration = descriptor.getTaskConfiguration();
+            validationProgram = descriptor.getValidationProgram();
+        } else {
+            final ValidationProgram.Builder program = ValidationProgram.builder();
+            configuration = Collections.unmodifiableMap(introspectEnum(enumClass, program));
+            validationProgram = program.build();
+        }
     }
 
     /**
@@ -55,33 +70,64 @@ public class AnnotatedEnumConfigurationProvider<T extends Enum> implements TaskC
         return configuration;
     }
 
+    /**
+     * Retrieves the validation program compiled out of the property constraints.
+     *
+     * @return the validation program
+     */
+    public ValidationProgram getValidationProgram() {
+        return validationProgram;
+    }
+
+    /**
+     * Retrieves the configuration descriptor generated for the enumeration.
+     *
+     * @param enumClass the enum class
+     * @return the descriptor or null if it has not been generated
+     */
+    private ConfigurationDescriptor getDescriptor(Class<T> enumClass) {
+        try {
+            final Class<?> descriptor = Class.forName(enumClass.getName().replace('$', '_')
+                    + ConfigurationDescriptor.SUFFIX, true, enumClass.getClassLoader());
+            return (ConfigurationDescriptor) descriptor.newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (InstantiationException | IllegalAccessException | ClassCastException e) {
+            throw new IllegalArgumentException("The configuration descriptor of " + enumClass.getName()
+                    + " could not be instantiated", e);
+        }
+    }
+
     /**
      * Introspects the enumeration in search of annotated fields and builds configuration map out of those properties.
      *
      * @param enumClass the enum class
+     * @param program   the validation program builder
      * @return the map containing the configuration
      */
     @SuppressWarnings("unchecked")
-    private Map introspectEnum(Class<T> enumClass) {
+    private Map introspectEnum(Class<T> enumClass, ValidationProgram.Builder program) {
         try {
             final Map<String, Map> cfg = new HashMap<>();
 
-            // introspectField the enum in search for annotated fields
-            final Field propertyNameField = getPropertyName(enumClass);
+            // resolves the names through the @PropertyName field
+            final String[] propertyNames = PropertyNames.getAll(enumClass);
 
             // builds the property map
             for (T field : enumClass.getEnumConstants()) {
                 final Field fieldDeclaration = enumClass.getField(field.name());
 
                 if(fieldDeclaration.isAnnotationPresent(ConfigProperty.class)) {
-                    cfg.put(getPropertyName(propertyNameField, field), introspectField(fieldDeclaration));
+                    final String propertyName = propertyNames[field.ordinal()];
+                    cfg.put(propertyName, introspectField(fieldDeclaration));
+                    compileConstraints(propertyName, fieldDeclaration.getAnnotation(ConfigProperty.class), program);
                 }
             }
 
             return cfg;
-        } catch (IllegalAccessException | NoSuchFieldException e) {
+        } catch (NoSuchFieldException e) {
 
-            throw new IllegalArgumentException("An unexpected error occurred when retrieving the config property name", e);
+            throw new IllegalArgumentException("An unexpected error occurred when retrieving the config property", e);
         }
     }
 
@@ -102,57 +148,41 @@ public class AnnotatedEnumConfigurationProvider<T extends Enum> implements TaskC
         valueMap.put("required", configProperty.required());
         valueMap.put("secure", configProperty.secure());
 
-        if(!StringUtils.isBlank(configProperty.defaultValue())) {
+        if(!Strings.isBlank(configProperty.defaultValue())) {
             valueMap.put("default-value", configProperty.defaultValue());
         }
         return valueMap;
     }
 
     /**
-     * Retrieves the property name.
+     * Compiles the property constraints into the validation program.
      *
-     * @param propertyNameField the field storing the property name
-     * @param field             the actual enum instance
-     * @return the name of the property mapped by this enum
-     * @throws IllegalAccessException if any error occurs
+     * @param propertyName   the property name
+     * @param configProperty the property annotation
+     * @param program        the validation program builder
      */
-    private String getPropertyName(Field propertyNameField, T field) throws IllegalAccessException {
-        if(!String.class.equals(propertyNameField.getType())) {
-            throw new IllegalArgumentException("The @PropertyName annotated field needs to be string");
-        }
+    private void compileConstraints(String propertyName, ConfigProperty configProperty,
+                                    ValidationProgram.Builder program) {
 
-        return (String) propertyNameField.get(field);
-    }
-
-    /**
-     * Retrieves the field annotated with {@link PropertyName}.
-     *
-     * @param enumClass the enumeration class
-     * @return the field
-     */
-    private Field getPropertyName(Class<T> enumClass) {
-        Field field = getAnnotatedField(enumClass, PropertyName.class);
-        if (field != null) {
-            return field;
+        if (configProperty.required()) {
+            program.required(propertyName);
         }
-        throw new IllegalArgumentException(String.format("Enum '%s' does not specify the property name. " +
-                "Exactly one field needs to be annotated with @PropertyName", enumClass.getName()));
-    }
-
-    /**
-     * Retrieves the annotated field.
-     *
-     * @param enumClass the enum class
-     * @param annotationClass the annotation class
-     * @return retrieves the annotated field
-     */
-    private Field getAnnotatedField(Class<T> enumClass, Class<? extends Annotation> annotationClass) {
-        for (Field field : enumClass.getDeclaredFields()) {
-            if (field.isAnnotationPresent(annotationClass)) {
-                field.setAccessible(true);
-                return field;
-            }
+        if (configProperty.min() != Long.MIN_VALUE || configProperty.max() != Long.MAX_VALUE) {
+            program.range(propertyName, configProperty.min(), configProperty.max());
+        } else if (configProperty.integer()) {
+            program.integer(propertyName);
+        }
+        if (configProperty.allowedValues().length > 0) {
+            program.allowedValues(propertyName, configProperty.allowedValues());
+        }
+        if (!configProperty.pattern().isEmpty()) {
+            program.pattern(propertyName, configProperty.pattern());
+        }
+        if (configProperty.url()) {
+            program.url(propertyName);
+        }
+        if (configProperty.pathExists()) {
+            program.pathExists(propertyName);
         }
-        return null;
     }
 }
@@ -19,7 +19,8 @@ import java.lang.annotation.*;
 
 /**
  * Annotation used to mark enumeration as configuration property. It allows to specify extra meta data as whether
- * the property is required, secured and it's default value.
+ * the property is required, secured and it's default value, as well as the declarative constraints that are
+ * compiled into the configuration validator. The constraints are checked only for the non empty values.
  *
  * @author Jakub Narloch
  */
@@ -29,7 +30,8 @@ import java.lang.annotation.*;
 public @interface ConfigProperty {
 
     /**
-     * Marks the property as required, false by default.
+     * Marks the property as required, false by default. Since the constraints are validated, the validate request
+     * fails when the required property is empty, the earlier versions only reported the flag to the Go server.
      */
     boolean required() default false;
 
@@ -42,4 +44,39 @@ public @interface ConfigProperty {
      * Indicates the property default value.
      */
     String defaultValue() default "";
+
+    /**
+     * The regular expression the value needs to match, no constraint by default.
+     */
+    String pattern() default "";
+
+    /**
+     * The minimal numeric value, implies {@link #integer()}, no constraint by default.
+     */
+    long min() default Long.MIN_VALUE;
+
+    /**
+     * The maximal numeric value, implies {@link #integer()}, no constraint by default.
+     */
+    long max() default Long.MAX_VALUE;
+
+    /**
+     * The allowed values, any value is allowed by default.
+     */
+    String[] allowedValues() default {};
+
+    /**
+     * Requires the value to be a path to the existing file or directory, false by default.
+     */
+    boolean pathExists() default false;
+
+    /**
+     * Requires the value to be an integer number, false by default.
+     */
+    boolean integer() default false;
+
+    /**
+     * Requires the value to be an absolute URL, false by default.
+     */
+    boolean url() default false;
 }
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.config;
+
+import io.jmnarloch.cd.go.plugin.api.configuration.TaskConfiguration;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationProgram;
+
+/**
+ * The configuration descriptor generated at compile time out of the {@code @Configuration} enum, used by the
+ * {@link AnnotatedEnumConfigurationProvider} instead of introspecting the enum at runtime. The descriptor of the
+ * {@code com.example.GradleConfig} enum is named {@code com.example.GradleConfig_ConfigurationDescriptor}, the
+ * {@code $} of the nested enum names is replaced with {@code _}.
+ *
+ * @author Jakub Narloch
+ */
+public interface ConfigurationDescriptor extends TaskConfiguration {
+
+    /**
+     * The descriptor class name suffix.
+     */
+    String SUFFIX = "_ConfigurationDescriptor";
+
+    /**
+     * Retrieves the validation program of the property constraints.
+     *
+     * @return the validation program
+     */
+    ValidationProgram getValidationProgram();
+}
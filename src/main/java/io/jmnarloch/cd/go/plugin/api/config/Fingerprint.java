@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.config;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The 128-bit fingerprint of the task configuration, usable as the cache key. Every property is hashed on its own
+ * with two independent 64-bit hashes and the property hashes are summed, so the fingerprint does not depend on the
+ * iteration order of the properties. The fingerprint is not cryptographically secure.
+ *
+ * @author Jakub Narloch
+ */
+public final class Fingerprint {
+
+    /**
+     * The marker separating the property name from its value.
+     */
+    private static final int VALUE_MARKER = 0x10000;
+
+    /**
+     * The marker of the missing value.
+     */
+    private static final int NULL_MARKER = 0x10001;
+
+    /**
+     * The seed of the first hash.
+     */
+    private static final long SEED_HIGH = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The seed of the second hash.
+     */
+    private static final long SEED_LOW = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The high 64 bits.
+     */
+    private final long high;
+
+    /**
+     * The low 64 bits.
+     */
+    private final long low;
+
+    /**
+     * Creates new instance of {@link Fingerprint} class.
+     *
+     * @param high the high 64 bits
+     * @param low  the low 64 bits
+     */
+    private Fingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Computes the fingerprint of the property values.
+     *
+     * @param values the property values by name
+     * @param secure the names of the secure properties
+     * @param includeSecure whether the secure properties are included
+     * @return the fingerprint
+     */
+    public static Fingerprint of(Map<String, String> values, Set<String> secure, boolean includeSecure) {
+        final Builder builder = new Builder();
+        for (Map.Entry<String, String> property : values.entrySet()) {
+            if (includeSecure || !secure.contains(property.getKey())) {
+                builder.add(property.getKey(), property.getValue());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Computes the fingerprint of the task configuration in the form sent by the server, each property mapped to
+     * the map holding its {@code value} and {@code secure} flag.
+     *
+     * @param properties    the task configuration
+     * @param includeSecure whether the secure properties are included
+     * @return the fingerprint
+     */
+    public static Fingerprint ofProperties(Map<String, Object> properties, boolean includeSecure) {
+        final Builder builder = new Builder();
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            if (!(property.getValue() instanceof Map)) {
+                continue;
+            }
+            final Map<?, ?> attributes = (Map<?, ?>) property.getValue();
+            if (includeSecure || !Boolean.TRUE.equals(attributes.get("secure"))) {
+                final Object value = attributes.get("value");
+                builder.add(property.getKey(), value instanceof String ? (String) value : null);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the high 64 bits.
+     *
+     * @return the high bits
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Retrieves the low 64 bits.
+     *
+     * @return the low bits
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Fingerprint)) {
+            return false;
+        }
+        final Fingerprint that = (Fingerprint) o;
+        return high == that.high && low == that.low;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32));
+    }
+
+    /**
+     * Returns the hexadecimal representation.
+     *
+     * @return the 32 hexadecimal digits
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    /**
+     * Finalizes the 64-bit hash, the MurmurHash3 {@code fmix64} function.
+     *
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    private static long mix(long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Accumulates the property hashes.
+     */
+    private static final class Builder {
+
+        /**
+         * The sum of the first property hashes.
+         */
+        private long high;
+
+        /**
+         * The sum of the second property hashes.
+         */
+        private long low;
+
+        /**
+         * The number of the properties.
+         */
+        private long count;
+
+        /**
+         * Adds the property.
+         *
+         * @param name  the property name
+         * @param value the property value, may be null
+         */
+        private void add(String name, String value) {
+            long h1 = SEED_HIGH;
+            long h2 = SEED_LOW;
+            for (int ind = 0; ind < name.length(); ind++) {
+                h1 = step1(h1, name.charAt(ind));
+                h2 = step2(h2, name.charAt(ind));
+            }
+            if (value == null) {
+                h1 = step1(h1, NULL_MARKER);
+                h2 = step2(h2, NULL_MARKER);
+            } else {
+                h1 = step1(h1, VALUE_MARKER);
+                h2 = step2(h2, VALUE_MARKER);
+                for (int ind = 0; ind < value.length(); ind++) {
+                    h1 = step1(h1, value.charAt(ind));
+                    h2 = step2(h2, value.charAt(ind));
+                }
+            }
+            high += mix(h1);
+            low += mix(h2 ^ Long.rotateLeft(h1, 31));
+            count++;
+        }
+
+        /**
+         * Builds the fingerprint.
+         *
+         * @return the fingerprint
+         */
+        private Fingerprint build() {
+            return new Fingerprint(mix(high ^ count), mix(low + count * SEED_HIGH));
+        }
+
+        /**
+         * Advances the first hash.
+         *
+         * @param hash  the hash
+         * @param value the hashed value
+         * @return the advanced hash
+         */
+        private static long step1(long hash, int value) {
+            return (hash ^ value) * 0x100000001B3L;
+        }
+
+        /**
+         * Advances the second hash.
+         *
+         * @param hash  the hash
+         * @param value the hashed value
+         * @return the advanced hash
+         */
+        private static long step2(long hash, int value) {
+            return Long.rotateLeft(hash + value * 0x87C37B91114253D5L, 27) * 5 + 0x52DCE729;
+        }
+    }
+}
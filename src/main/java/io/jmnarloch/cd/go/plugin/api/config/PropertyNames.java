@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.config;
+
+import java.lang.reflect.Field;
+
+/**
+ * Resolves the configuration property names of the enum constants. The names of every enum are read from its
+ * {@link PropertyName} field once and cached.
+ *
+ * @author Jakub Narloch
+ */
+public final class PropertyNames {
+
+    /**
+     * The property names of every enum, indexed by the constant ordinal.
+     */
+    private static final ClassValue<String[]> NAMES = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> enumClass) {
+            return introspect(enumClass);
+        }
+    };
+
+    /**
+     * Creates new instance of {@link PropertyNames} class.
+     */
+    private PropertyNames() {
+        // utility class
+    }
+
+    /**
+     * Retrieves the property name of the enum constant.
+     *
+     * @param property the enum constant
+     * @return the property name
+     * @throws IllegalArgumentException if the enum does not specify the property name
+     */
+    public static String get(Enum<?> property) {
+        return NAMES.get(property.getDeclaringClass())[property.ordinal()];
+    }
+
+    /**
+     * Retrieves the property names of all of the enum constants. The returned array is shared and must not be
+     * modified.
+     *
+     * @param enumClass the enum class
+     * @return the property names indexed by the constant ordinal
+     * @throws IllegalArgumentException if the enum does not specify the property name
+     */
+    static String[] getAll(Class<?> enumClass) {
+        return NAMES.get(enumClass);
+    }
+
+    /**
+     * Reads the property names of the enum constants.
+     *
+     * @param enumClass the enum class
+     * @return the property names indexed by the constant ordinal
+     */
+    private static String[] introspect(Class<?> enumClass) {
+        for (Field field : enumClass.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(PropertyName.class)) {
+                continue;
+            }
+            if (!String.class.equals(field.getType())) {
+                throw new IllegalArgumentException("The @PropertyName annotated field needs to be string");
+            }
+            try {
+                field.setAccessible(true);
+                final Object[] constants = enumClass.getEnumConstants();
+                final String[] names = new String[constants.length];
+                for (int ind = 0; ind < constants.length; ind++) {
+                    names[ind] = (String) field.get(constants[ind]);
+                }
+                return names;
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("An unexpected error occurred when retrieving the config property name", e);
+            }
+        }
+        throw new IllegalArgumentException(String.format("Enum '%s' does not specify the property name. " +
+                "Exactly one field needs to be annotated with @PropertyName", enumClass.getName()));
+    }
+}
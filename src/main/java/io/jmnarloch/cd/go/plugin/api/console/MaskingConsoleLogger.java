@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.console;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The job console logger that masks the secrets before passing the output to the delegated logger.
+ *
+ * @author Jakub Narloch
+ */
+public class MaskingConsoleLogger extends JobConsoleLogger {
+
+    /**
+     * The delegated console logger.
+     */
+    private final JobConsoleLogger delegate;
+
+    /**
+     * The secret masker.
+     */
+    private final SecretMasker masker;
+
+    /**
+     * Creates new instance of {@link MaskingConsoleLogger} class.
+     *
+     * @param delegate the delegated console logger
+     * @param masker   the secret masker
+     */
+    public MaskingConsoleLogger(JobConsoleLogger delegate, SecretMasker masker) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("The delegated console logger can not be null");
+        }
+        if (masker == null) {
+            throw new IllegalArgumentException("The secret masker can not be null");
+        }
+        this.delegate = delegate;
+        this.masker = masker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void printLine(String line) {
+        delegate.printLine(masker.mask(line));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readErrorOf(InputStream in) {
+        delegate.readErrorOf(masker.mask(in));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readOutputOf(InputStream in) {
+        delegate.readOutputOf(masker.mask(in));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void printEnvironment(Map<String, String> env) {
+        final Map<String, String> masked = new LinkedHashMap<>();
+        for (Map.Entry<String, String> variable : env.entrySet()) {
+            masked.put(variable.getKey(), masker.mask(variable.getValue()));
+        }
+        delegate.printEnvironment(masked);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.console;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The input stream that masks the secrets while being read. The bytes that might be a prefix of the secret are held
+ * back until the following chunk is read from the underlying stream or the stream ends.
+ *
+ * @author Jakub Narloch
+ */
+class MaskingInputStream extends FilterInputStream {
+
+    /**
+     * The size of the chunk read from the underlying stream.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * The scanner.
+     */
+    private final SecretMasker.Scanner scanner;
+
+    /**
+     * The chunk read from the underlying stream.
+     */
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    /**
+     * The masked bytes.
+     */
+    private final Output output = new Output();
+
+    /**
+     * The read position within the masked bytes.
+     */
+    private int position;
+
+    /**
+     * Whether the underlying stream has ended.
+     */
+    private boolean eof;
+
+    /**
+     * Creates new instance of {@link MaskingInputStream} class.
+     *
+     * @param input   the underlying input stream
+     * @param scanner the scanner
+     */
+    MaskingInputStream(InputStream input, SecretMasker.Scanner scanner) {
+        super(input);
+        this.scanner = scanner;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        final int read = read(single, 0, 1);
+        return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position == output.size()) {
+            if (eof) {
+                return -1;
+            }
+            output.reset();
+            position = 0;
+
+            final int read = in.read(chunk, 0, chunk.length);
+            if (read < 0) {
+                eof = true;
+                scanner.finish(output);
+            } else {
+                scanner.scan(chunk, 0, read, output);
+            }
+        }
+
+        final int count = Math.min(length, output.size() - position);
+        System.arraycopy(output.buffer(), position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long count) throws IOException {
+        final byte[] skipped = new byte[(int) Math.min(count, CHUNK_SIZE)];
+        final int read = read(skipped, 0, skipped.length);
+        return read < 0 ? 0 : read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() throws IOException {
+        return output.size() - position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void mark(int limit) {
+        // not supported
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("Mark is not supported");
+    }
+
+    /**
+     * The byte array output stream exposing its buffer, which spares copying the masked bytes.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        /**
+         * Creates new instance of {@link Output} class.
+         */
+        private Output() {
+            super(CHUNK_SIZE);
+        }
+
+        /**
+         * Retrieves the internal buffer.
+         *
+         * @return the buffer
+         */
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+}
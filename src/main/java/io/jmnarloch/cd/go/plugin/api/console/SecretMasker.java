@@ -0,0 +1,366 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.console;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Masks the secret values in the console output. All of the secrets are compiled into a single Aho-Corasick
+ * automaton over their UTF-8 bytes, so the output is scanned only once regardless of the number of secrets. The
+ * automaton is immutable and can be shared between threads, the scanning state is kept by the {@link Scanner}.
+ *
+ * @author Jakub Narloch
+ */
+public final class SecretMasker {
+
+    /**
+     * The replacement of the masked values.
+     */
+    public static final String MASK = "******";
+
+    /**
+     * The masker without any secrets.
+     */
+    private static final SecretMasker NONE = new SecretMasker(new Node());
+
+    /**
+     * The first outgoing edge of every state, the edges of state {@code s} are in {@code [edges[s], edges[s + 1])}.
+     */
+    private final int[] edges;
+
+    /**
+     * The sorted edge labels.
+     */
+    private final byte[] labels;
+
+    /**
+     * The edge targets.
+     */
+    private final int[] targets;
+
+    /**
+     * The failure link of every state.
+     */
+    private final int[] failure;
+
+    /**
+     * The distance of every state from the root.
+     */
+    private final int[] depth;
+
+    /**
+     * The length of the longest secret that ends in every state, 0 if none.
+     */
+    private final int[] matchLength;
+
+    /**
+     * Creates new instance of {@link SecretMasker} class out of the trie.
+     *
+     * @param root the trie root
+     */
+    private SecretMasker(Node root) {
+
+        // numbers the states in the breadth first order, so that every failure link points to the already visited state
+        final List<Node> nodes = new ArrayList<>();
+        nodes.add(root);
+        for (int ind = 0; ind < nodes.size(); ind++) {
+            for (Node child : nodes.get(ind).children.values()) {
+                child.id = nodes.size();
+                nodes.add(child);
+            }
+        }
+
+        final int states = nodes.size();
+        edges = new int[states + 1];
+        labels = new byte[states - 1];
+        targets = new int[states - 1];
+        failure = new int[states];
+        depth = new int[states];
+        matchLength = new int[states];
+
+        int edge = 0;
+        for (int state = 0; state < states; state++) {
+            final Node node = nodes.get(state);
+            edges[state] = edge;
+            for (Node child : node.children.values()) {
+                labels[edge] = child.label;
+                targets[edge++] = child.id;
+                depth[child.id] = depth[state] + 1;
+            }
+        }
+        edges[states] = edge;
+
+        for (int state = 1; state < states; state++) {
+            for (Node child : nodes.get(state).children.values()) {
+                int fallback = failure[state];
+                int target;
+                while ((target = transition(fallback, child.label)) < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                }
+                failure[child.id] = target < 0 ? 0 : target;
+            }
+        }
+        for (int state = 1; state < states; state++) {
+            matchLength[state] = Math.max(nodes.get(state).secretLength, matchLength[failure[state]]);
+        }
+    }
+
+    /**
+     * Compiles the secrets into the masker. The empty and {@code null} values are ignored.
+     *
+     * @param secrets the secret values
+     * @return the masker
+     */
+    public static SecretMasker compile(Collection<String> secrets) {
+
+        final Node root = new Node();
+        boolean empty = true;
+        for (String secret : secrets) {
+            if (secret == null || secret.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            final byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+            for (byte label : bytes) {
+                Node child = node.children.get(label & 0xFF);
+                if (child == null) {
+                    child = new Node();
+                    child.label = label;
+                    node.children.put(label & 0xFF, child);
+                }
+                node = child;
+            }
+            node.secretLength = bytes.length;
+            empty = false;
+        }
+        return empty ? NONE : new SecretMasker(root);
+    }
+
+    /**
+     * Returns whether the masker has no secrets to mask.
+     *
+     * @return true if there is nothing to mask
+     */
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /**
+     * Masks the secrets in the single line.
+     *
+     * @param line the line
+     * @return the masked line, the same instance if no secret has been found
+     */
+    public String mask(String line) {
+        if (isEmpty() || line == null) {
+            return line;
+        }
+
+        final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        final Scanner scanner = new Scanner();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length);
+        scanner.scan(bytes, 0, bytes.length, output);
+        if (!scanner.matched) {
+            return line;
+        }
+        scanner.finish(output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Wraps the stream, so that the secrets are masked when it is being read. The secrets spanning the chunks read
+     * from the underlying stream are masked as well.
+     *
+     * @param input the input stream
+     * @return the masking input stream
+     */
+    public InputStream mask(InputStream input) {
+        return isEmpty() ? input : new MaskingInputStream(input, new Scanner());
+    }
+
+    /**
+     * Retrieves the state reached from the specific state through the edge with the label.
+     *
+     * @param state the state
+     * @param label the label
+     * @return the target state, -1 if there is no such edge
+     */
+    private int transition(int state, byte label) {
+        int low = edges[state];
+        int high = edges[state + 1] - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = (labels[mid] & 0xFF) - (label & 0xFF);
+            if (cmp == 0) {
+                return targets[mid];
+            } else if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The incremental scanner. The bytes are held back as long as they might be a part of the secret, every other
+     * byte is written to the output, with each run of the masked bytes replaced by the single {@link #MASK}.
+     */
+    final class Scanner {
+
+        /**
+         * The mask bytes.
+         */
+        private final byte[] mask = MASK.getBytes(StandardCharsets.UTF_8);
+
+        /**
+         * The held back bytes.
+         */
+        private byte[] pending = new byte[16];
+
+        /**
+         * Whether the held back byte belongs to a secret.
+         */
+        private boolean[] masked = new boolean[16];
+
+        /**
+         * The number of held back bytes.
+         */
+        private int size;
+
+        /**
+         * The current automaton state.
+         */
+        private int state;
+
+        /**
+         * Whether the last written byte has been masked.
+         */
+        private boolean masking;
+
+        /**
+         * Whether any secret has been found.
+         */
+        private boolean matched;
+
+        /**
+         * Scans the bytes.
+         *
+         * @param bytes  the bytes
+         * @param offset the offset
+         * @param length the number of bytes
+         * @param output the output
+         */
+        void scan(byte[] bytes, int offset, int length, ByteArrayOutputStream output) {
+            for (int ind = offset; ind < offset + length; ind++) {
+                final byte label = bytes[ind];
+                int next;
+                while ((next = transition(state, label)) < 0 && state != 0) {
+                    state = failure[state];
+                }
+                state = next < 0 ? 0 : next;
+
+                append(label);
+                final int secret = matchLength[state];
+                if (secret > 0) {
+                    Arrays.fill(masked, size - secret, size, true);
+                    matched = true;
+                }
+                flush(size - depth[state], output);
+            }
+        }
+
+        /**
+         * Writes all of the held back bytes, used when the input ends.
+         *
+         * @param output the output
+         */
+        void finish(ByteArrayOutputStream output) {
+            flush(size, output);
+            state = 0;
+        }
+
+        /**
+         * Holds back the byte.
+         *
+         * @param label the byte
+         */
+        private void append(byte label) {
+            if (size == pending.length) {
+                pending = Arrays.copyOf(pending, size * 2);
+                masked = Arrays.copyOf(masked, size * 2);
+            }
+            pending[size] = label;
+            masked[size++] = false;
+        }
+
+        /**
+         * Writes the specific number of the held back bytes.
+         *
+         * @param count  the number of bytes
+         * @param output the output
+         */
+        private void flush(int count, ByteArrayOutputStream output) {
+            if (count <= 0) {
+                return;
+            }
+            for (int ind = 0; ind < count; ind++) {
+                if (!masked[ind]) {
+                    output.write(pending[ind]);
+                } else if (!masking) {
+                    output.write(mask, 0, mask.length);
+                }
+                masking = masked[ind];
+            }
+            System.arraycopy(pending, count, pending, 0, size - count);
+            System.arraycopy(masked, count, masked, 0, size - count);
+            size -= count;
+        }
+    }
+
+    /**
+     * The trie node used while compiling the automaton.
+     */
+    private static final class Node {
+
+        /**
+         * The children by the unsigned label.
+         */
+        private final TreeMap<Integer, Node> children = new TreeMap<>();
+
+        /**
+         * The label of the edge leading to this node.
+         */
+        private byte label;
+
+        /**
+         * The length of the secret ending in this node, 0 if none.
+         */
+        private int secretLength;
+
+        /**
+         * The state number.
+         */
+        private int id;
+    }
+}
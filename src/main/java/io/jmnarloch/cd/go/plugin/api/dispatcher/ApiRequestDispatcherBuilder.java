@@ -20,12 +20,16 @@ import com.thoughtworks.go.plugin.api.logging.Logger;
 import com.thoughtworks.go.plugin.api.request.GoPluginApiRequest;
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
 import io.jmnarloch.cd.go.plugin.api.command.ApiCommand;
+import io.jmnarloch.cd.go.plugin.api.config.AnnotatedEnumConfigurationProvider;
 import io.jmnarloch.cd.go.plugin.api.configuration.TaskConfiguration;
 import io.jmnarloch.cd.go.plugin.api.executor.TaskExecutor;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleRegistry;
 import io.jmnarloch.cd.go.plugin.api.parser.AbstractJsonParser;
 import io.jmnarloch.cd.go.plugin.api.parser.gson.GsonParser;
+import io.jmnarloch.cd.go.plugin.api.validation.CompositeTaskValidator;
 import io.jmnarloch.cd.go.plugin.api.validation.TaskValidator;
-import io.jmnarloch.cd.go.plugin.api.view.CachingTaskView;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationProgram;
+import io.jmnarloch.cd.go.plugin.api.view.HotReloadingTaskView;
 import io.jmnarloch.cd.go.plugin.api.view.TaskView;
 import io.jmnarloch.cd.go.plugin.api.command.ConfigurationCommand;
 import io.jmnarloch.cd.go.plugin.api.command.TaskCommand;
@@ -53,6 +57,21 @@ public final class ApiRequestDispatcherBuilder {
      */
     private final AbstractJsonParser parser;
 
+    /**
+     * The registered task configuration validator.
+     */
+    private TaskValidator taskValidator;
+
+    /**
+     * The validation program compiled out of the declarative property constraints.
+     */
+    private ValidationProgram validationProgram;
+
+    /**
+     * The registry of the component lifecycles, null if the lifecycles are not managed.
+     */
+    private LifecycleRegistry lifecycle;
+
     /**
      * Creates new instance of {@link ApiRequestDispatcherBuilder} class.
      *
@@ -63,12 +82,31 @@ public final class ApiRequestDispatcherBuilder {
     }
 
     /**
-     * Registers the task configuration provider.
+     * Registers every component implementing the {@link io.jmnarloch.cd.go.plugin.api.lifecycle.Lifecycle} with the
+     * specific registry, which drives their lifecycle.
+     *
+     * @param lifecycle the lifecycle registry
+     * @return the dispatcher builder
+     */
+    public ApiRequestDispatcherBuilder withLifecycle(LifecycleRegistry lifecycle) {
+        this.lifecycle = lifecycle;
+        return this;
+    }
+
+    /**
+     * Registers the task configuration provider. The declarative constraints of the
+     * {@link AnnotatedEnumConfigurationProvider} properties are validated automatically.
      *
      * @param taskConfiguration the task configuration
      * @return the dispatcher builder
      */
     public ApiRequestDispatcherBuilder toConfiguration(TaskConfiguration taskConfiguration) {
+        if (taskConfiguration instanceof AnnotatedEnumConfigurationProvider) {
+            final ValidationProgram program = ((AnnotatedEnumConfigurationProvider) taskConfiguration)
+                    .getValidationProgram();
+            validationProgram = program.isEmpty() ? null : program;
+        }
+        registerLifecycle(taskConfiguration);
         return addCommand(ApiRequests.CONFIGURATION, new ConfigurationCommand(parser, taskConfiguration));
     }
 
@@ -79,7 +117,9 @@ public final class ApiRequestDispatcherBuilder {
      * @return the dispatcher builder
      */
     public ApiRequestDispatcherBuilder toValidator(TaskValidator taskValidator) {
-        return addCommand(ApiRequests.VALIDATE, new ValidateCommand(parser, taskValidator));
+        this.taskValidator = taskValidator;
+        registerLifecycle(taskValidator);
+        return this;
     }
 
     /**
@@ -93,7 +133,8 @@ public final class ApiRequestDispatcherBuilder {
     }
 
     /**
-     * Registers the task view.
+     * Registers the task view. The cached view is reloaded from the source file whenever it changes if the
+     * {@value HotReloadingTaskView#TEMPLATES_DIR_PROPERTY} system property is set.
      *
      * @param taskView the task view
      * @param cached whether the view template should be cached
@@ -102,8 +143,10 @@ public final class ApiRequestDispatcherBuilder {
     public ApiRequestDispatcherBuilder toView(TaskView taskView, boolean cached) {
 
         TaskView view = taskView;
+        registerLifecycle(view);
         if(cached) {
-            view = new CachingTaskView(view);
+            view = HotReloadingTaskView.create(view);
+            registerLifecycle(view);
         }
         return addCommand(ApiRequests.VIEW, new ViewCommand(parser, view));
     }
@@ -115,6 +158,7 @@ public final class ApiRequestDispatcherBuilder {
      * @return the dispatcher builder
      */
     public ApiRequestDispatcherBuilder toExecutor(TaskExecutor taskExecutor) {
+        registerLifecycle(taskExecutor);
         return addCommand(ApiRequests.EXECUTE, new TaskCommand(parser, taskExecutor));
     }
 
@@ -124,9 +168,27 @@ public final class ApiRequestDispatcherBuilder {
      * @return the dispatcher builder
      */
     public ApiRequestDispatcher build() {
+        final TaskValidator validator = getValidator();
+        if (validator != null) {
+            addCommand(ApiRequests.VALIDATE, new ValidateCommand(parser, validator));
+        }
         return new ApiRequestDispatcherImpl(commands);
     }
 
+    /**
+     * Retrieves the validator combining the compiled property constraints with the registered validator.
+     *
+     * @return the validator or null if none
+     */
+    private TaskValidator getValidator() {
+        if (validationProgram == null) {
+            return taskValidator;
+        } else if (taskValidator == null) {
+            return validationProgram;
+        }
+        return new CompositeTaskValidator(validationProgram, taskValidator);
+    }
+
     /**
      * Creates new instance of dispatcher builder.
      *
@@ -146,6 +208,17 @@ public final class ApiRequestDispatcherBuilder {
         return new ApiRequestDispatcherBuilder(parser);
     }
 
+    /**
+     * Registers the component with the lifecycle registry, if any.
+     *
+     * @param component the component
+     */
+    private void registerLifecycle(Object component) {
+        if (lifecycle != null) {
+            lifecycle.register(component);
+        }
+    }
+
     /**
      * Registers the API command.
      *
@@ -0,0 +1,388 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The immutable environment variables map. The variables are stored in two sorted arrays, the lookup is done through
+ * binary search. Overriding or removing a variable does not copy the map, instead it creates a lightweight overlay
+ * on top of the existing instance, which makes it cheap to derive the environment of every child process.
+ *
+ * @author Jakub Narloch
+ */
+public final class EnvironmentVariables extends AbstractMap<String, String> {
+
+    /**
+     * The empty environment.
+     */
+    private static final EnvironmentVariables EMPTY = new EnvironmentVariables(new String[0], new String[0]);
+
+    /**
+     * The maximum number of stacked overlays, after which the environment is flattened.
+     */
+    private static final int MAX_OVERLAY_DEPTH = 16;
+
+    /**
+     * The sorted variable names, set only for the base environment.
+     */
+    private final String[] names;
+
+    /**
+     * The variable values, indexed the same as {@link #names}.
+     */
+    private final String[] values;
+
+    /**
+     * The overlaid environment, {@code null} for the base environment.
+     */
+    private final EnvironmentVariables parent;
+
+    /**
+     * The overlay variable name.
+     */
+    private final String name;
+
+    /**
+     * The overlay variable value, {@code null} if the variable has been removed.
+     */
+    private final String value;
+
+    /**
+     * The number of variables.
+     */
+    private final int size;
+
+    /**
+     * The number of overlays stacked on the base environment.
+     */
+    private final int depth;
+
+    /**
+     * Creates new base instance of {@link EnvironmentVariables} class.
+     *
+     * @param names  the sorted variable names
+     * @param values the variable values
+     */
+    private EnvironmentVariables(String[] names, String[] values) {
+        this.names = names;
+        this.values = values;
+        this.parent = null;
+        this.name = null;
+        this.value = null;
+        this.size = names.length;
+        this.depth = 0;
+    }
+
+    /**
+     * Creates new overlay instance of {@link EnvironmentVariables} class.
+     *
+     * @param parent the overlaid environment
+     * @param name   the variable name
+     * @param value  the variable value or {@code null} if removed
+     * @param size   the resulting number of variables
+     */
+    private EnvironmentVariables(EnvironmentVariables parent, String name, String value, int size) {
+        this.names = null;
+        this.values = null;
+        this.parent = parent;
+        this.name = name;
+        this.value = value;
+        this.size = size;
+        this.depth = parent.depth + 1;
+    }
+
+    /**
+     * Returns the empty environment.
+     *
+     * @return the empty environment
+     */
+    public static EnvironmentVariables empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates the environment out of the raw key/value map. Every name and value is verified to be a string.
+     *
+     * @param variables the raw variables map, may be {@code null}
+     * @return the environment
+     * @throws IllegalArgumentException if any of the names or values is not a string
+     */
+    public static EnvironmentVariables of(Map<?, ?> variables) {
+
+        if (variables == null || variables.isEmpty()) {
+            return EMPTY;
+        }
+
+        final String[] names = new String[variables.size()];
+        int index = 0;
+        for (Object key : variables.keySet()) {
+            if (!(key instanceof String)) {
+                throw new IllegalArgumentException("The environment variable name has to be a string: " + key);
+            }
+            names[index++] = (String) key;
+        }
+        Arrays.sort(names);
+
+        final String[] values = new String[names.length];
+        for (int ind = 0; ind < names.length; ind++) {
+            final Object value = variables.get(names[ind]);
+            if (!(value instanceof String)) {
+                throw new IllegalArgumentException(String.format(
+                        "The value of environment variable '%s' has to be a string: %s", names[ind], value));
+            }
+            values[ind] = (String) value;
+        }
+        return new EnvironmentVariables(names, values);
+    }
+
+    /**
+     * Creates new environment with the variable set to the specific value. This instance remains unchanged.
+     *
+     * @param name  the variable name
+     * @param value the variable value
+     * @return the new environment
+     */
+    public EnvironmentVariables with(String name, String value) {
+        if (name == null || value == null) {
+            throw new IllegalArgumentException("The environment variable name and value can not be null");
+        }
+        final String current = get(name);
+        if (value.equals(current)) {
+            return this;
+        }
+        return overlay(name, value, current != null ? size : size + 1);
+    }
+
+    /**
+     * Creates new environment with all of the variables set to the specific values. This instance remains unchanged.
+     *
+     * @param variables the variables to set
+     * @return the new environment
+     */
+    public EnvironmentVariables withAll(Map<String, String> variables) {
+        EnvironmentVariables env = this;
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            env = env.with(variable.getKey(), variable.getValue());
+        }
+        return env;
+    }
+
+    /**
+     * Creates new environment without the specific variable. This instance remains unchanged.
+     *
+     * @param name the variable name
+     * @return the new environment
+     */
+    public EnvironmentVariables without(String name) {
+        if (!containsKey(name)) {
+            return this;
+        }
+        return overlay(name, null, size - 1);
+    }
+
+    /**
+     * Copies the variables into the specific map, for instance {@link ProcessBuilder#environment()}.
+     *
+     * @param target the target map
+     */
+    public void copyTo(Map<String, String> target) {
+        final EnvironmentVariables base = flatten();
+        for (int ind = 0; ind < base.names.length; ind++) {
+            target.put(base.names[ind], base.values[ind]);
+        }
+    }
+
+    /**
+     * Returns the variables in the {@code name=value} form expected by {@link Runtime#exec(String[], String[])}.
+     *
+     * @return the variables array
+     */
+    public String[] toEnvp() {
+        final EnvironmentVariables base = flatten();
+        final String[] envp = new String[base.names.length];
+        for (int ind = 0; ind < envp.length; ind++) {
+            envp[ind] = base.names[ind] + '=' + base.values[ind];
+        }
+        return envp;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String get(Object key) {
+        EnvironmentVariables env = this;
+        while (env.parent != null) {
+            if (env.name.equals(key)) {
+                return env.value;
+            }
+            env = env.parent;
+        }
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final int index = Arrays.binarySearch(env.names, key);
+        return index < 0 ? null : env.values[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        final EnvironmentVariables base = flatten();
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new EntryIterator(base);
+            }
+
+            @Override
+            public int size() {
+                return base.size;
+            }
+        };
+    }
+
+    /**
+     * Creates the overlay, flattening the environment when too many overlays have been stacked.
+     *
+     * @param name  the variable name
+     * @param value the variable value or {@code null} if removed
+     * @param size  the resulting number of variables
+     * @return the new environment
+     */
+    private EnvironmentVariables overlay(String name, String value, int size) {
+        final EnvironmentVariables env = new EnvironmentVariables(this, name, value, size);
+        return env.depth > MAX_OVERLAY_DEPTH ? env.flatten() : env;
+    }
+
+    /**
+     * Merges the overlays into the new base environment.
+     *
+     * @return the base environment
+     */
+    private EnvironmentVariables flatten() {
+        if (parent == null) {
+            return this;
+        }
+
+        // the most recent overlay of every variable wins
+        final TreeMap<String, String> overlays = new TreeMap<>();
+        EnvironmentVariables base = this;
+        while (base.parent != null) {
+            if (!overlays.containsKey(base.name)) {
+                overlays.put(base.name, base.value);
+            }
+            base = base.parent;
+        }
+
+        // merges the sorted base variables with the sorted overlays
+        final String[] names = new String[size];
+        final String[] values = new String[size];
+        final Iterator<Entry<String, String>> iterator = overlays.entrySet().iterator();
+        Entry<String, String> overlay = iterator.next();
+        int index = 0;
+        int ind = 0;
+        while (ind < base.names.length || overlay != null) {
+            final int cmp = overlay == null ? -1
+                    : ind == base.names.length ? 1 : base.names[ind].compareTo(overlay.getKey());
+            if (cmp < 0) {
+                names[index] = base.names[ind];
+                values[index++] = base.values[ind++];
+                continue;
+            }
+            if (overlay.getValue() != null) {
+                names[index] = overlay.getKey();
+                values[index++] = overlay.getValue();
+            }
+            if (cmp == 0) {
+                ind++;
+            }
+            overlay = iterator.hasNext() ? iterator.next() : null;
+        }
+        return new EnvironmentVariables(names, values);
+    }
+
+    /**
+     * Iterates over the entries of the base environment.
+     */
+    private static final class EntryIterator implements Iterator<Entry<String, String>> {
+
+        /**
+         * The base environment.
+         */
+        private final EnvironmentVariables base;
+
+        /**
+         * The current position.
+         */
+        private int index;
+
+        /**
+         * Creates new instance of {@link EntryIterator}.
+         *
+         * @param base the base environment
+         */
+        private EntryIterator(EnvironmentVariables base) {
+            this.base = base;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < base.names.length;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String, String> entry = new SimpleImmutableEntry<>(base.names[index], base.values[index]);
+            index++;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("The environment variables are immutable");
+        }
+    }
+}
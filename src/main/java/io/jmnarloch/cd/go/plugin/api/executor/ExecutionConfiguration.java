@@ -15,20 +15,93 @@
  */
 package io.jmnarloch.cd.go.plugin.api.executor;
 
+import io.jmnarloch.cd.go.plugin.api.config.Fingerprint;
+import io.jmnarloch.cd.go.plugin.api.config.PropertyNames;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
- * The task execution configuration.
+ * The task execution configuration. The property values are extracted from the request once, the values retrieved
+ * by the configuration enum constants are indexed by the constant ordinal and their typed conversions are parsed only
+ * once.
  *
  * @author Jakub Narloch
  */
 public class ExecutionConfiguration {
 
     /**
-     * The configuration property map.
+     * The integer conversion.
+     */
+    private static final int INTEGER = 0;
+
+    /**
+     * The long conversion.
+     */
+    private static final int LONG = 1;
+
+    /**
+     * The boolean conversion.
+     */
+    private static final int BOOLEAN = 2;
+
+    /**
+     * The path conversion.
+     */
+    private static final int PATH = 3;
+
+    /**
+     * The list conversion.
+     */
+    private static final int LIST = 4;
+
+    /**
+     * The duration conversion.
+     */
+    private static final int DURATION = 5;
+
+    /**
+     * The number of the cached conversions per property.
      */
-    private final Map<String, Object> configuration;
+    private static final int CONVERSIONS = 6;
+
+    /**
+     * The configuration property values.
+     */
+    private final Map<String, String> values;
+
+    /**
+     * The values of the secure properties.
+     */
+    private final List<String> secureValues;
+
+    /**
+     * The names of the secure properties.
+     */
+    private final Set<String> secureProperties;
+
+    /**
+     * The fingerprint of all properties, computed on first use.
+     */
+    private volatile Fingerprint fingerprint;
+
+    /**
+     * The fingerprint of the properties other than the secure ones, computed on first use.
+     */
+    private volatile Fingerprint publicFingerprint;
+
+    /**
+     * The values of the configuration enum constants, built on first use.
+     */
+    private volatile EnumValues enumValues;
 
     /**
      * Creates new instance of {@link ExecutionConfiguration}.
@@ -38,7 +111,27 @@ public class ExecutionConfiguration {
     public ExecutionConfiguration(Map<String, Object> configuration) {
 
         // TODO validate the input
-        this.configuration = new HashMap<>(configuration);
+        final Map<String, String> values = new HashMap<>(configuration.size() * 2);
+        final List<String> secureValues = new ArrayList<>();
+        final Set<String> secureProperties = new HashSet<>();
+        for (Map.Entry<String, Object> property : configuration.entrySet()) {
+            if (!(property.getValue() instanceof Map)) {
+                continue;
+            }
+            final Map<?, ?> attributes = (Map<?, ?>) property.getValue();
+            final Object attribute = attributes.get("value");
+            final String value = attribute instanceof String ? (String) attribute : null;
+            values.put(property.getKey(), value);
+            if (Boolean.TRUE.equals(attributes.get("secure"))) {
+                secureProperties.add(property.getKey());
+                if (value != null) {
+                    secureValues.add(value);
+                }
+            }
+        }
+        this.values = values;
+        this.secureValues = Collections.unmodifiableList(secureValues);
+        this.secureProperties = secureProperties;
     }
 
     /**
@@ -49,11 +142,364 @@ public class ExecutionConfiguration {
      * @return the property value
      */
     public String getProperty(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * Retrieves the value of the property identified by the configuration enum constant.
+     *
+     * @param property the configuration enum constant
+     * @return the property value
+     * @throws IllegalArgumentException if the enum does not specify the property names
+     */
+    public String get(Enum<?> property) {
+        return getEnumValues(property).values[property.ordinal()];
+    }
+
+    /**
+     * Retrieves the value of the property with the environment variable references expanded. The values of the secure
+     * properties are expanded without caching them.
+     *
+     * @param property the configuration enum constant
+     * @param context  the execution context
+     * @return the expanded property value
+     * @see ExecutionContext#interpolate(String, boolean)
+     */
+    public String get(Enum<?> property, ExecutionContext context) {
+        final EnumValues enumValues = getEnumValues(property);
+        return context.interpolate(enumValues.values[property.ordinal()], enumValues.secure[property.ordinal()]);
+    }
+
+    /**
+     * Retrieves the property value as integer.
+     *
+     * @param property the configuration enum constant
+     * @return the value or null if the property is empty
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    public Integer getInteger(Enum<?> property) {
+        return (Integer) convert(property, INTEGER);
+    }
+
+    /**
+     * Retrieves the property value as long.
+     *
+     * @param property the configuration enum constant
+     * @return the value or null if the property is empty
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    public Long getLong(Enum<?> property) {
+        return (Long) convert(property, LONG);
+    }
+
+    /**
+     * Retrieves the property value as boolean, every value other than {@code true} is considered false.
+     *
+     * @param property the configuration enum constant
+     * @return the value or null if the property is empty
+     */
+    public Boolean getBoolean(Enum<?> property) {
+        return (Boolean) convert(property, BOOLEAN);
+    }
 
-        if(!configuration.containsKey(name) || !(configuration.get(name) instanceof Map)) {
+    /**
+     * Retrieves the property value as path.
+     *
+     * @param property the configuration enum constant
+     * @return the value or null if the property is empty
+     * @throws IllegalArgumentException if the value is not a valid path
+     */
+    public Path getPath(Enum<?> property) {
+        return (Path) convert(property, PATH);
+    }
+
+    /**
+     * Retrieves the property value as list, the elements are separated with commas or new lines.
+     *
+     * @param property the configuration enum constant
+     * @return the immutable list, empty if the property is empty
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getList(Enum<?> property) {
+        final List<String> list = (List<String>) convert(property, LIST);
+        return list != null ? list : Collections.<String>emptyList();
+    }
+
+    /**
+     * Retrieves the property value as duration. The value is a number followed by the optional unit, one of
+     * {@code ms}, {@code s}, {@code m}, {@code h} or {@code d}, the number without the unit is expressed in the
+     * requested unit. The value is parsed only once.
+     *
+     * @param property the configuration enum constant
+     * @param unit     the requested unit
+     * @return the duration in the requested unit or null if the property is empty
+     * @throws IllegalArgumentException if the value is not a valid duration
+     */
+    public Long getDuration(Enum<?> property, TimeUnit unit) {
+        final Duration duration = (Duration) convert(property, DURATION);
+        if (duration == null) {
             return null;
         }
+        return duration.unit != null ? unit.convert(duration.amount, duration.unit) : duration.amount;
+    }
+
+    /**
+     * Retrieves the values of the properties marked as secure.
+     *
+     * @return the secure values
+     */
+    public List<String> getSecureValues() {
+        return secureValues;
+    }
+
+    /**
+     * Retrieves the fingerprint of all of the properties.
+     *
+     * @return the fingerprint
+     */
+    public Fingerprint getFingerprint() {
+        return getFingerprint(true);
+    }
+
+    /**
+     * Retrieves the fingerprint of the properties, which does not depend on the order of the properties. The
+     * fingerprint is computed once.
+     *
+     * @param includeSecure whether the secure properties are included
+     * @return the fingerprint
+     */
+    public Fingerprint getFingerprint(boolean includeSecure) {
+        Fingerprint result = includeSecure ? fingerprint : publicFingerprint;
+        if (result == null) {
+            result = Fingerprint.of(values, secureProperties, includeSecure);
+            if (includeSecure) {
+                fingerprint = result;
+            } else {
+                publicFingerprint = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the converted property value, converting it on first use.
+     *
+     * @param property   the configuration enum constant
+     * @param conversion the conversion
+     * @return the converted value or null if the property is empty
+     */
+    private Object convert(Enum<?> property, int conversion) {
+        final EnumValues enumValues = getEnumValues(property);
+        final int slot = property.ordinal() * CONVERSIONS + conversion;
+        Object converted = enumValues.converted[slot];
+        if (converted == null) {
+            final String value = enumValues.values[property.ordinal()];
+            if (isEmpty(value)) {
+                return null;
+            }
+            converted = convert(property, value.trim(), conversion);
+            // the converted values are immutable, so converting them twice by the concurrent threads is harmless
+            enumValues.converted[slot] = converted;
+        }
+        return converted;
+    }
+
+    /**
+     * Converts the property value.
+     *
+     * @param property   the configuration enum constant
+     * @param value      the trimmed value
+     * @param conversion the conversion
+     * @return the converted value
+     */
+    private static Object convert(Enum<?> property, String value, int conversion) {
+        switch (conversion) {
+            case INTEGER:
+                try {
+                    return Integer.valueOf(value);
+                } catch (NumberFormatException e) {
+                    throw invalid(property, value, "integer");
+                }
+            case LONG:
+                return parseLong(property, value, "long");
+            case BOOLEAN:
+                return Boolean.valueOf(value);
+            case PATH:
+                try {
+                    return Paths.get(value);
+                } catch (RuntimeException e) {
+                    throw invalid(property, value, "path");
+                }
+            case LIST:
+                final List<String> list = new ArrayList<>();
+                for (String element : value.split("[,\\r\\n]")) {
+                    if (!element.trim().isEmpty()) {
+                        list.add(element.trim());
+                    }
+                }
+                return Collections.unmodifiableList(list);
+            case DURATION:
+                return parseDuration(property, value);
+            default:
+                throw new IllegalStateException("Unknown conversion: " + conversion);
+        }
+    }
+
+    /**
+     * Parses the duration.
+     *
+     * @param property the configuration enum constant
+     * @param value    the trimmed value
+     * @return the parsed duration
+     */
+    private static Duration parseDuration(Enum<?> property, String value) {
+        int split = value.length();
+        while (split > 0 && Character.isLetter(value.charAt(split - 1))) {
+            split--;
+        }
+        final long amount = parseLong(property, value.substring(0, split).trim(), "duration");
+        switch (value.substring(split)) {
+            case "":
+                return new Duration(amount, null);
+            case "ms":
+                return new Duration(amount, TimeUnit.MILLISECONDS);
+            case "s":
+                return new Duration(amount, TimeUnit.SECONDS);
+            case "m":
+                return new Duration(amount, TimeUnit.MINUTES);
+            case "h":
+                return new Duration(amount, TimeUnit.HOURS);
+            case "d":
+                return new Duration(amount, TimeUnit.DAYS);
+            default:
+                throw invalid(property, value, "duration");
+        }
+    }
+
+    /**
+     * Retrieves the values of the configuration enum, building them on first use.
+     *
+     * @param property the configuration enum constant
+     * @return the enum values
+     */
+    private EnumValues getEnumValues(Enum<?> property) {
+        EnumValues enumValues = this.enumValues;
+        if (enumValues == null || enumValues.enumClass != property.getDeclaringClass()) {
+            enumValues = new EnumValues(property.getDeclaringClass(), values, secureProperties);
+            this.enumValues = enumValues;
+        }
+        return enumValues;
+    }
+
+    /**
+     * Parses the long value.
+     *
+     * @param property the configuration enum constant
+     * @param value    the value
+     * @param type     the expected type name
+     * @return the parsed value
+     */
+    private static long parseLong(Enum<?> property, String value, String type) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw invalid(property, value, type);
+        }
+    }
+
+    /**
+     * Creates the invalid value exception.
+     *
+     * @param property the configuration enum constant
+     * @param value    the value
+     * @param type     the expected type name
+     * @return the exception
+     */
+    private static IllegalArgumentException invalid(Enum<?> property, String value, String type) {
+        return new IllegalArgumentException(String.format("The property %s value '%s' is not a valid %s",
+                PropertyNames.get(property), value, type));
+    }
+
+    /**
+     * Returns whether the value is null or blank.
+     *
+     * @param value the value
+     * @return true if the value is empty
+     */
+    private static boolean isEmpty(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * The property values of the configuration enum constants, along with their cached conversions.
+     */
+    private static final class EnumValues {
+
+        /**
+         * The enum class.
+         */
+        private final Class<?> enumClass;
+
+        /**
+         * The values indexed by the constant ordinal.
+         */
+        private final String[] values;
+
+        /**
+         * Whether the properties are secure, indexed by the constant ordinal.
+         */
+        private final boolean[] secure;
+
+        /**
+         * The converted values indexed by the constant ordinal and the conversion.
+         */
+        private final Object[] converted;
+
+        /**
+         * Creates new instance of {@link EnumValues} class.
+         *
+         * @param enumClass        the enum class
+         * @param values           the property values by name
+         * @param secureProperties the names of the secure properties
+         */
+        private EnumValues(Class<?> enumClass, Map<String, String> values, Set<String> secureProperties) {
+            final Enum<?>[] constants = (Enum<?>[]) enumClass.getEnumConstants();
+            this.enumClass = enumClass;
+            this.values = new String[constants.length];
+            this.secure = new boolean[constants.length];
+            this.converted = new Object[constants.length * CONVERSIONS];
+            for (Enum<?> constant : constants) {
+                final String name = PropertyNames.get(constant);
+                this.values[constant.ordinal()] = values.get(name);
+                this.secure[constant.ordinal()] = secureProperties.contains(name);
+            }
+        }
+    }
 
-        return (String) ((Map)configuration.get(name)).get("value");
+    /**
+     * The parsed duration.
+     */
+    private static final class Duration {
+
+        /**
+         * The amount.
+         */
+        private final long amount;
+
+        /**
+         * The unit, null if the amount is expressed in the requested unit.
+         */
+        private final TimeUnit unit;
+
+        /**
+         * Creates new instance of {@link Duration} class.
+         *
+         * @param amount the amount
+         * @param unit   the unit or null
+         */
+        private Duration(long amount, TimeUnit unit) {
+            this.amount = amount;
+            this.unit = unit;
+        }
     }
 }
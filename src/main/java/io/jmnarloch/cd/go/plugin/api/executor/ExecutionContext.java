@@ -27,7 +27,7 @@ public class ExecutionContext {
     /**
      * Environment variables.
      */
-    private final Map<String, String> environmentVariables;
+    private final EnvironmentVariables environmentVariables;
 
     /**
      * Current working directory.
@@ -38,17 +38,26 @@ public class ExecutionContext {
      * Creates new instance of {@link ExecutionContext} class.
      *
      * @param props the properties
+     * @throws IllegalArgumentException if the environment variables or working directory are not strings
      */
     public ExecutionContext(Map props) {
 
-        // TODO validate the input
-        // TODO either cast this or copy the map with casting to string
-        environmentVariables = (Map<String, String>) props.get("environmentVariables");
-        workingDirectory = (String) props.get("workingDirectory");
+        final Object variables = props.get("environmentVariables");
+        if (variables != null && !(variables instanceof Map)) {
+            throw new IllegalArgumentException("The environment variables need to be a key/value map");
+        }
+        final Object directory = props.get("workingDirectory");
+        if (directory != null && !(directory instanceof String)) {
+            throw new IllegalArgumentException("The working directory needs to be a string");
+        }
+        environmentVariables = EnvironmentVariables.of((Map) variables);
+        workingDirectory = (String) directory;
     }
 
     /**
-     * Returns the environment variables.
+     * Returns the environment variables. The returned map is immutable, the signature is kept for the plugins
+     * compiled against the earlier versions, use {@link #getEnvironment()} to derive the environment of a child
+     * process.
      *
      * @return the environment variables
      */
@@ -56,6 +65,16 @@ public class ExecutionContext {
         return environmentVariables;
     }
 
+    /**
+     * Returns the environment variables. Use {@link EnvironmentVariables#with(String, String)} to derive the
+     * environment of a child process.
+     *
+     * @return the environment variables
+     */
+    public EnvironmentVariables getEnvironment() {
+        return environmentVariables;
+    }
+
     /**
      * The working directory.
      *
@@ -64,4 +83,27 @@ public class ExecutionContext {
     public String getWorkingDirectory() {
         return workingDirectory;
     }
+
+    /**
+     * Expands the {@code ${NAME}} references to the environment variables in the value.
+     *
+     * @param value the value
+     * @return the expanded value
+     * @see Interpolator
+     */
+    public String interpolate(String value) {
+        return interpolate(value, false);
+    }
+
+    /**
+     * Expands the {@code ${NAME}} references to the environment variables in the value.
+     *
+     * @param value  the value
+     * @param secure whether the value is secure, in which case it is not cached
+     * @return the expanded value
+     * @see Interpolator
+     */
+    public String interpolate(String value, boolean secure) {
+        return Interpolator.shared().interpolate(value, environmentVariables, secure);
+    }
 }
@@ -15,6 +15,8 @@
  */
 package io.jmnarloch.cd.go.plugin.api.executor;
 
+import io.jmnarloch.cd.go.plugin.api.process.ResourceUsage;
+
 /**
  * The task execution result.
  *
@@ -37,6 +39,11 @@ public class ExecutionResult {
      */
     private final Exception exception;
 
+    /**
+     * The resources used by the child processes, if sampled.
+     */
+    private final ResourceUsage resourceUsage;
+
     /**
      * Creates instance of {@link ExecutionResult} with the detailed message.
      *
@@ -54,10 +61,22 @@ public class ExecutionResult {
      * @param exc the optional exception
      */
     private ExecutionResult(boolean success, String message, Exception exc) {
+        this(success, message, exc, null);
+    }
+
+    /**
+     * Creates instance of {@link ExecutionResult} with the detailed message, exception and resource usage.
+     * @param success flag indicating whether the task completed with success
+     * @param message the additional message
+     * @param exc the optional exception
+     * @param resourceUsage the optional resource usage
+     */
+    private ExecutionResult(boolean success, String message, Exception exc, ResourceUsage resourceUsage) {
 
         this.success = success;
         this.message = message;
         this.exception = exc;
+        this.resourceUsage = resourceUsage;
     }
 
     /**
@@ -87,6 +106,25 @@ public class ExecutionResult {
         return exception;
     }
 
+    /**
+     * Retrieves the resources used by the child processes during the execution.
+     *
+     * @return the resource usage or {@code null} if the execution has not been sampled
+     */
+    public ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
+    /**
+     * Creates the copy of this result with the resource usage attached.
+     *
+     * @param resourceUsage the resource usage
+     * @return the execution result
+     */
+    public ExecutionResult withResourceUsage(ResourceUsage resourceUsage) {
+        return new ExecutionResult(success, message, exception, resourceUsage);
+    }
+
     /**
      * Creates new successful execution result.
      *
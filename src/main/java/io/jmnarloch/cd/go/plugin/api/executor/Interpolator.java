@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleAdapter;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Expands the {@code ${NAME}} variable references in the configuration values. Every distinct value is parsed into
+ * the {@link ValueTemplate} once, the templates are cached by the value in the stripes locked independently. The
+ * secure values are never cached and neither are the variable values, which may be secure as well, they are parsed
+ * whenever they are expanded. The variable values are expanded recursively, the references that can not be resolved
+ * are kept as they are. The values without any reference are returned without allocating. The cached templates are
+ * released when the memory is trimmed.
+ *
+ * @author Jakub Narloch
+ */
+public final class Interpolator extends LifecycleAdapter {
+
+    /**
+     * The default maximal number of the cached templates.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 512;
+
+    /**
+     * The maximal nesting of the variable references.
+     */
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * The maximal number of the cache stripes.
+     */
+    private static final int MAX_STRIPES = 16;
+
+    /**
+     * The shared interpolator.
+     */
+    private static final Interpolator SHARED = new Interpolator(DEFAULT_CACHE_SIZE);
+
+    static {
+        LifecycleRegistry.library().register(SHARED);
+    }
+
+    /**
+     * The parsed templates by the value, striped by the value hash.
+     */
+    private final TemplateCache[] stripes;
+
+    /**
+     * Creates new instance of {@link Interpolator} class.
+     *
+     * @param cacheSize the maximal number of the cached templates
+     */
+    public Interpolator(int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("The cache size has to be positive");
+        }
+        this.stripes = new TemplateCache[Math.min(cacheSize, MAX_STRIPES)];
+        for (int ind = 0; ind < stripes.length; ind++) {
+            stripes[ind] = new TemplateCache((cacheSize + stripes.length - 1) / stripes.length);
+        }
+    }
+
+    /**
+     * Retrieves the shared interpolator.
+     *
+     * @return the interpolator
+     */
+    public static Interpolator shared() {
+        return SHARED;
+    }
+
+    /**
+     * Releases the cached templates.
+     */
+    @Override
+    public void trimMemory() {
+        for (TemplateCache stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Expands the variable references.
+     *
+     * @param value     the value
+     * @param variables the variables
+     * @return the expanded value
+     * @throws PluginException if the variables reference each other
+     */
+    public String interpolate(String value, Map<String, String> variables) {
+        return interpolate(value, variables, false);
+    }
+
+    /**
+     * Expands the variable references.
+     *
+     * @param value     the value
+     * @param variables the variables
+     * @param secure    whether the value is secure, in which case its template is not cached
+     * @return the expanded value
+     * @throws PluginException if the variables reference each other
+     */
+    public String interpolate(String value, Map<String, String> variables, boolean secure) {
+        if (value == null || value.indexOf('$') < 0) {
+            return value;
+        }
+        return expand(secure ? ValueTemplate.parse(value) : template(value), variables, null, 0);
+    }
+
+    /**
+     * Retrieves the number of the cached templates.
+     *
+     * @return the number of the cached templates
+     */
+    int cachedTemplates() {
+        int cached = 0;
+        for (TemplateCache stripe : stripes) {
+            synchronized (stripe) {
+                cached += stripe.size();
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Retrieves the cached template.
+     *
+     * @param value the value
+     * @return the template
+     */
+    private ValueTemplate template(String value) {
+        final TemplateCache stripe = stripes[(value.hashCode() & Integer.MAX_VALUE) % stripes.length];
+        synchronized (stripe) {
+            ValueTemplate template = stripe.get(value);
+            if (template == null) {
+                template = ValueTemplate.parse(value);
+                stripe.put(value, template);
+            }
+            return template;
+        }
+    }
+
+    /**
+     * Expands the template.
+     *
+     * @param template  the template
+     * @param variables the variables
+     * @param expanding the names of the variables being expanded, null until the first variable is expanded
+     * @param depth     the number of the variables being expanded
+     * @return the expanded value
+     */
+    private String expand(ValueTemplate template, Map<String, String> variables, String[] expanding, int depth) {
+        if (template.isLiteral()) {
+            return template.getLiteral();
+        }
+
+        final StringBuilder result = new StringBuilder(template.getLiteralLength() + 16 * template.getVariableCount());
+        for (int ind = 0; ind < template.getVariableCount(); ind++) {
+            result.append(template.getLiteral(ind));
+            final String name = template.getVariable(ind);
+            final String value = variables.get(name);
+            if (value == null) {
+                result.append("${").append(name).append('}');
+            } else if (value.indexOf('$') < 0) {
+                result.append(value);
+            } else {
+                if (expanding == null) {
+                    expanding = new String[MAX_DEPTH];
+                }
+                result.append(expandVariable(name, value, variables, expanding, depth));
+            }
+        }
+        return result.append(template.getLiteral(template.getVariableCount())).toString();
+    }
+
+    /**
+     * Expands the variable value that may reference the other variables.
+     *
+     * @param name      the variable name
+     * @param value     the variable value
+     * @param variables the variables
+     * @param expanding the names of the variables being expanded
+     * @param depth     the number of the variables being expanded
+     * @return the expanded value
+     */
+    private String expandVariable(String name, String value, Map<String, String> variables, String[] expanding,
+                                  int depth) {
+        for (int ind = 0; ind < depth; ind++) {
+            if (expanding[ind].equals(name)) {
+                throw new PluginException(String.format("The variable %s references itself: %s", name,
+                        cycle(expanding, ind, depth, name)));
+            }
+        }
+        if (depth == MAX_DEPTH) {
+            throw new PluginException("The variable references are nested too deeply: " + name);
+        }
+        expanding[depth] = name;
+        return expand(ValueTemplate.parse(value), variables, expanding, depth + 1);
+    }
+
+    /**
+     * Describes the reference cycle.
+     *
+     * @param expanding the names of the variables being expanded
+     * @param start     the index of the cycle start
+     * @param depth     the number of the variables being expanded
+     * @param name      the variable closing the cycle
+     * @return the cycle description
+     */
+    private static String cycle(String[] expanding, int start, int depth, String name) {
+        final StringBuilder cycle = new StringBuilder();
+        for (int ind = start; ind < depth; ind++) {
+            cycle.append(expanding[ind]).append(" -> ");
+        }
+        return cycle.append(name).toString();
+    }
+
+    /**
+     * The stripe of the template cache, in the access order.
+     */
+    private static final class TemplateCache extends LinkedHashMap<String, ValueTemplate> {
+
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The maximal number of the cached templates.
+         */
+        private final int maxSize;
+
+        /**
+         * Creates new instance of {@link TemplateCache} class.
+         *
+         * @param maxSize the maximal number of the cached templates
+         */
+        private TemplateCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ValueTemplate> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
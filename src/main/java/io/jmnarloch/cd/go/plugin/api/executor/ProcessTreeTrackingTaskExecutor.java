@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleAdapter;
+import io.jmnarloch.cd.go.plugin.api.process.ProcessTreeTracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A task executor that tracks every process forked during the execution. When the execution is cancelled, which is
+ * signalled by interrupting the executing thread, or fails with an exception, the whole process tree is terminated
+ * so that no orphaned processes keep running on the agent. The executor is also a lifecycle component, when it is
+ * stopped the trees of its own running executions are terminated, while the executions of the other tasks are left
+ * running. The executor registered with the dispatcher is stopped together with the task, a decorated executor has
+ * to be registered with the task lifecycle registry explicitly.
+ *
+ * @author Jakub Narloch
+ */
+public class ProcessTreeTrackingTaskExecutor extends LifecycleAdapter implements TaskExecutor {
+
+    /**
+     * The delegated task executor.
+     */
+    private final TaskExecutor delegate;
+
+    /**
+     * The tracking interval.
+     */
+    private final long intervalMillis;
+
+    /**
+     * The time the processes have to exit after {@code SIGTERM}.
+     */
+    private final long gracePeriodMillis;
+
+    /**
+     * The trackers of the running executions.
+     */
+    private final Set<ProcessTreeTracker> trackers =
+            Collections.newSetFromMap(new ConcurrentHashMap<ProcessTreeTracker, Boolean>());
+
+    /**
+     * Creates new instance of {@link ProcessTreeTrackingTaskExecutor} class with the default settings.
+     *
+     * @param delegate the delegated task executor
+     */
+    public ProcessTreeTrackingTaskExecutor(TaskExecutor delegate) {
+        this(delegate, ProcessTreeTracker.DEFAULT_INTERVAL_MILLIS, ProcessTreeTracker.DEFAULT_GRACE_PERIOD_MILLIS);
+    }
+
+    /**
+     * Creates new instance of {@link ProcessTreeTrackingTaskExecutor} class.
+     *
+     * @param delegate          the delegated task executor
+     * @param intervalMillis    the tracking interval
+     * @param gracePeriodMillis the time the processes have to exit after {@code SIGTERM}
+     */
+    public ProcessTreeTrackingTaskExecutor(TaskExecutor delegate, long intervalMillis, long gracePeriodMillis) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("The delegated task executor can not be null");
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("The tracking interval has to be positive");
+        }
+        if (gracePeriodMillis < 0) {
+            throw new IllegalArgumentException("The grace period can not be negative");
+        }
+        this.delegate = delegate;
+        this.intervalMillis = intervalMillis;
+        this.gracePeriodMillis = gracePeriodMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config, JobConsoleLogger console) {
+
+        final ProcessTreeTracker tracker = ProcessTreeTracker.start(intervalMillis);
+        trackers.add(tracker);
+        boolean completed = false;
+        try {
+            final ExecutionResult result = delegate.execute(context, config, console);
+            completed = !Thread.currentThread().isInterrupted();
+            return result;
+        } finally {
+            trackers.remove(tracker);
+            if (completed) {
+                tracker.stop();
+            } else {
+                terminate(tracker, console);
+            }
+        }
+    }
+
+    /**
+     * Terminates the process trees of the running executions, all of them share the single grace period.
+     */
+    @Override
+    public void stop() {
+        ProcessTreeTracker.terminate(new ArrayList<>(trackers), gracePeriodMillis);
+    }
+
+    /**
+     * Terminates the tracked processes. The interrupt status, which signals the cancellation, is cleared for the
+     * time of the termination, so that the processes get the whole grace period, and restored afterwards.
+     *
+     * @param tracker the process tree tracker
+     * @param console the output console
+     */
+    private void terminate(ProcessTreeTracker tracker, JobConsoleLogger console) {
+        final boolean cancelled = Thread.interrupted();
+        try {
+            console.printLine(cancelled ? "The task has been cancelled, terminating the forked processes"
+                    : "The task has failed, terminating the forked processes");
+            tracker.terminate(gracePeriodMillis);
+        } finally {
+            if (cancelled) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
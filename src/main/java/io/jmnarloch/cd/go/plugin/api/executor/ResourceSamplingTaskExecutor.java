@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.process.ResourceSampler;
+import io.jmnarloch.cd.go.plugin.api.process.ResourceUsage;
+
+/**
+ * A task executor that samples the resources used by the forked processes during the execution. The summary is
+ * printed to the job console and attached to the {@link ExecutionResult}.
+ *
+ * @author Jakub Narloch
+ */
+public class ResourceSamplingTaskExecutor implements TaskExecutor {
+
+    /**
+     * The delegated task executor.
+     */
+    private final TaskExecutor delegate;
+
+    /**
+     * The resource sampler.
+     */
+    private final ResourceSampler sampler;
+
+    /**
+     * Creates new instance of {@link ResourceSamplingTaskExecutor} class with the default sampler.
+     *
+     * @param delegate the delegated task executor
+     */
+    public ResourceSamplingTaskExecutor(TaskExecutor delegate) {
+        this(delegate, new ResourceSampler());
+    }
+
+    /**
+     * Creates new instance of {@link ResourceSamplingTaskExecutor} class.
+     *
+     * @param delegate the delegated task executor
+     * @param sampler  the resource sampler
+     */
+    public ResourceSamplingTaskExecutor(TaskExecutor delegate, ResourceSampler sampler) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("The delegated task executor can not be null");
+        }
+        if (sampler == null) {
+            throw new IllegalArgumentException("The resource sampler can not be null");
+        }
+        this.delegate = delegate;
+        this.sampler = sampler;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config, JobConsoleLogger console) {
+
+        final ResourceSampler.Sampling sampling = sampler.start(context.getWorkingDirectory());
+        final ExecutionResult result;
+        final ResourceUsage usage;
+        try {
+            result = delegate.execute(context, config, console);
+        } finally {
+            usage = sampling.stop();
+        }
+
+        if (usage.getSamples() > 0) {
+            console.printLine("Resource usage: " + usage);
+        }
+        return result.withResourceUsage(usage);
+    }
+}
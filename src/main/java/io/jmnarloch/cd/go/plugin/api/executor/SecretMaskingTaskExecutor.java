@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.console.MaskingConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.console.SecretMasker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A task executor that masks the secrets in the job console output. The values of the secure configuration properties
+ * and of the listed environment variables are compiled into a single {@link SecretMasker} per execution.
+ *
+ * @author Jakub Narloch
+ */
+public class SecretMaskingTaskExecutor implements TaskExecutor {
+
+    /**
+     * The delegated task executor.
+     */
+    private final TaskExecutor delegate;
+
+    /**
+     * The names of the environment variables holding the secrets.
+     */
+    private final List<String> secretVariables;
+
+    /**
+     * Creates new instance of {@link SecretMaskingTaskExecutor} class.
+     *
+     * @param delegate        the delegated task executor
+     * @param secretVariables the names of the environment variables holding the secrets
+     */
+    public SecretMaskingTaskExecutor(TaskExecutor delegate, String... secretVariables) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("The delegated task executor can not be null");
+        }
+        if (secretVariables == null || Arrays.asList(secretVariables).contains(null)) {
+            throw new IllegalArgumentException("The secret variable names can not be null");
+        }
+        this.delegate = delegate;
+        this.secretVariables = Arrays.asList(secretVariables);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config, JobConsoleLogger console) {
+
+        final List<String> secrets = new ArrayList<>(config.getSecureValues());
+        for (String variable : secretVariables) {
+            secrets.add(context.getEnvironmentVariables().get(variable));
+        }
+
+        final SecretMasker masker = SecretMasker.compile(secrets);
+        if (masker.isEmpty()) {
+            return delegate.execute(context, config, console);
+        }
+        return delegate.execute(context, config, new MaskingConsoleLogger(console, masker));
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The configuration value parsed into the literal and variable segments. The {@code ${NAME}} references the variable,
+ * the {@code $${} is the escaped {@code ${} literal, the unterminated reference is kept as a literal.
+ *
+ * @author Jakub Narloch
+ */
+final class ValueTemplate {
+
+    /**
+     * The literal segments, the literal at index {@code i} precedes the variable at index {@code i}.
+     */
+    private final String[] literals;
+
+    /**
+     * The variable names.
+     */
+    private final String[] variables;
+
+    /**
+     * The length of all literals.
+     */
+    private final int literalLength;
+
+    /**
+     * Creates new instance of {@link ValueTemplate} class.
+     *
+     * @param literals  the literal segments, one more than the variables
+     * @param variables the variable names
+     */
+    private ValueTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses the value.
+     *
+     * @param value the value
+     * @return the template
+     */
+    static ValueTemplate parse(String value) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> variables = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int ind = 0;
+        while (ind < value.length()) {
+            if (value.startsWith("$${", ind)) {
+                literal.append("${");
+                ind += 3;
+                continue;
+            }
+            final int end = value.startsWith("${", ind) ? value.indexOf('}', ind + 2) : -1;
+            if (end < 0) {
+                literal.append(value.charAt(ind++));
+                continue;
+            }
+            literals.add(literal.toString());
+            variables.add(value.substring(ind + 2, end));
+            literal.setLength(0);
+            ind = end + 1;
+        }
+        literals.add(literal.toString());
+        return new ValueTemplate(literals.toArray(new String[literals.size()]),
+                variables.toArray(new String[variables.size()]));
+    }
+
+    /**
+     * Returns whether the template does not reference any variable.
+     *
+     * @return true if the template is a literal
+     */
+    boolean isLiteral() {
+        return variables.length == 0;
+    }
+
+    /**
+     * Retrieves the literal value, applicable only if the template does not reference any variables.
+     *
+     * @return the literal
+     */
+    String getLiteral() {
+        return literals[0];
+    }
+
+    /**
+     * Retrieves the number of the variables.
+     *
+     * @return the number of the variables
+     */
+    int getVariableCount() {
+        return variables.length;
+    }
+
+    /**
+     * Retrieves the literal preceding the variable, the literal at index {@link #getVariableCount()} is the trailing
+     * one.
+     *
+     * @param index the index
+     * @return the literal
+     */
+    String getLiteral(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Retrieves the variable name.
+     *
+     * @param index the index
+     * @return the variable name
+     */
+    String getVariable(int index) {
+        return variables[index];
+    }
+
+    /**
+     * Retrieves the length of all the literals.
+     *
+     * @return the length
+     */
+    int getLiteralLength() {
+        return literalLength;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.lifecycle;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Holds the thread pool owned by the library, which is created on first use and shut down once the last task of the
+ * plugin is unloaded. The pool is created again when it is used after it has been shut down, so that the tasks
+ * loaded again by the same class loader keep working.
+ *
+ * @param <T> the thread pool type
+ * @author Jakub Narloch
+ */
+public abstract class ExecutorLifecycle<T extends ExecutorService> extends LifecycleAdapter {
+
+    /**
+     * The thread pool, null until first used.
+     */
+    private T executor;
+
+    /**
+     * Retrieves the thread pool, creating it if it has not been created yet or has been shut down.
+     *
+     * @return the thread pool
+     */
+    public synchronized T get() {
+        if (executor == null) {
+            executor = create();
+        }
+        return executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Creates the thread pool.
+     *
+     * @return the thread pool
+     */
+    protected abstract T create();
+}
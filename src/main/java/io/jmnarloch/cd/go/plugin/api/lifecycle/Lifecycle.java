@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.lifecycle;
+
+/**
+ * The lifecycle of the task component owning resources, such as thread pools, caches or open files. The lifecycle of
+ * every component registered with the dispatcher is driven by the task: the components are started and warmed up when
+ * the plugin is loaded, before the first job, and stopped when the plugin is unloaded.
+ *
+ * @author Jakub Narloch
+ */
+public interface Lifecycle {
+
+    /**
+     * Acquires the resources, invoked when the plugin is loaded.
+     */
+    void start();
+
+    /**
+     * Prepares the component for handling the first request, for instance by populating the caches. Invoked after all
+     * of the components have been started.
+     */
+    void warmUp();
+
+    /**
+     * Releases the memory that can be recreated on demand, for instance the cached values.
+     */
+    void trimMemory();
+
+    /**
+     * Releases the resources, invoked when the plugin is unloaded.
+     */
+    void stop();
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.lifecycle;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+
+import java.util.ListIterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the lifecycle of the registered components. The components are started in the registration order and
+ * stopped in the reverse order. A failure to start a component fails the plugin load, while the failures of the
+ * other stages are logged, so that a single component can not prevent the others from releasing their resources.
+ * The {@link #library()} registry holds the resources owned by the library itself, such as the shared thread pools,
+ * which are shared by all of the tasks of the plugin. Such a registry is reference counted, every task retains it when
+ * loaded and releases it when unloaded, and its components are stopped only once the last task has released it.
+ *
+ * @author Jakub Narloch
+ */
+public class LifecycleRegistry implements Lifecycle {
+
+    /**
+     * The logger instance by this class hierarchy.
+     */
+    private final Logger logger = Logger.getLoggerFor(getClass());
+
+    /**
+     * The registered components.
+     */
+    private final CopyOnWriteArrayList<Lifecycle> components = new CopyOnWriteArrayList<>();
+
+    /**
+     * The number of the owners that retained the registry.
+     */
+    private final AtomicInteger references = new AtomicInteger();
+
+    /**
+     * Retrieves the registry of the resources owned by the library.
+     *
+     * @return the library registry
+     */
+    public static LifecycleRegistry library() {
+        return LibraryHolder.REGISTRY;
+    }
+
+    /**
+     * Registers the component if it implements the {@link Lifecycle}. Registering the same component again has no
+     * effect.
+     *
+     * @param component the component
+     */
+    public void register(Object component) {
+        if (component instanceof Lifecycle && component != this) {
+            components.addIfAbsent((Lifecycle) component);
+        }
+    }
+
+    /**
+     * Retains the registry shared by several owners.
+     */
+    public void retain() {
+        references.incrementAndGet();
+    }
+
+    /**
+     * Releases the registry shared by several owners, stopping its components when the last owner releases it.
+     * Releasing the registry that has not been retained has no effect.
+     *
+     * @return true if the components have been stopped
+     */
+    public boolean release() {
+        while (true) {
+            final int current = references.get();
+            if (current == 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current - 1)) {
+                if (current > 1) {
+                    return false;
+                }
+                stop();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        for (Lifecycle component : components) {
+            component.start();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmUp() {
+        for (Lifecycle component : components) {
+            try {
+                component.warmUp();
+            } catch (RuntimeException e) {
+                logger.warn("The component could not be warmed up: " + component, e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimMemory() {
+        for (Lifecycle component : components) {
+            try {
+                component.trimMemory();
+            } catch (RuntimeException e) {
+                logger.warn("The component memory could not be trimmed: " + component, e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        final ListIterator<Lifecycle> iterator = components.listIterator(components.size());
+        while (iterator.hasPrevious()) {
+            final Lifecycle component = iterator.previous();
+            try {
+                component.stop();
+            } catch (RuntimeException e) {
+                logger.warn("The component could not be stopped: " + component, e);
+            }
+        }
+    }
+
+    /**
+     * Holds the library registry, which is created when the holder class is first initialized.
+     */
+    private static final class LibraryHolder {
+
+        /**
+         * The library registry.
+         */
+        private static final LifecycleRegistry REGISTRY = new LifecycleRegistry();
+    }
+}
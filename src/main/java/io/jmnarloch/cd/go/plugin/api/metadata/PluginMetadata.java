@@ -16,6 +16,7 @@
 package io.jmnarloch.cd.go.plugin.api.metadata;
 
 import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import io.jmnarloch.cd.go.plugin.api.metrics.StartupProfiler;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -23,9 +24,21 @@ import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.XMLEvent;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
- * The simple utility for reading plugin metadata from {@code plugin.xml} files.
+ * The plugin metadata read from the {@code plugin.xml} descriptor. When the plugin is built with the
+ * {@code plugin-metadata.gradle} script shipped in the library jar, the descriptor values are compiled into the
+ * {@code GeneratedPluginMetadata} class within the plugin package, which is located through the
+ * {@value #GENERATED_METADATA_RESOURCE} resource, otherwise the descriptor is parsed once, on first usage. The metadata
+ * is immutable and is read without any locking. When the metadata could not be loaded, every access fails with the
+ * {@link PluginException}.
  *
  * @author Jakub Narloch
  */
@@ -37,9 +50,9 @@ public class PluginMetadata {
     private static final String PLUGIN_DESCRIPTOR = "/plugin.xml";
 
     /**
-     * Stores the current plugin metadata information, those are being lazy loaded on first usage.
+     * The resource holding the name of the class generated at build time out of the plugin descriptor.
      */
-    private static PluginMetadata pluginMetadata;
+    static final String GENERATED_METADATA_RESOURCE = "/META-INF/go-plugin-metadata";
 
     /**
      * The plugin unique id.
@@ -51,15 +64,58 @@ public class PluginMetadata {
      */
     private final String version;
 
+    /**
+     * The plugin name.
+     */
+    private final String name;
+
+    /**
+     * The plugin description.
+     */
+    private final String description;
+
+    /**
+     * The minimal Go version required by the plugin.
+     */
+    private final String targetGoVersion;
+
+    /**
+     * The vendor name.
+     */
+    private final String vendorName;
+
+    /**
+     * The vendor url.
+     */
+    private final String vendorUrl;
+
+    /**
+     * The operating systems supported by the plugin, empty if the plugin supports all of them.
+     */
+    private final List<String> targetOperatingSystems;
+
     /**
      * The plugin metadata.
      *
-     * @param id      the plugin id
-     * @param version the plugin version
+     * @param id                     the plugin id
+     * @param version                the plugin version
+     * @param name                   the plugin name
+     * @param description            the plugin description
+     * @param targetGoVersion        the minimal Go version
+     * @param vendorName             the vendor name
+     * @param vendorUrl              the vendor url
+     * @param targetOperatingSystems the supported operating systems
      */
-    private PluginMetadata(String id, String version) {
+    PluginMetadata(String id, String version, String name, String description, String targetGoVersion,
+                   String vendorName, String vendorUrl, List<String> targetOperatingSystems) {
         this.id = id;
         this.version = version;
+        this.name = name;
+        this.description = description;
+        this.targetGoVersion = targetGoVersion;
+        this.vendorName = vendorName;
+        this.vendorUrl = vendorUrl;
+        this.targetOperatingSystems = Collections.unmodifiableList(new ArrayList<>(targetOperatingSystems));
     }
 
     /**
@@ -81,39 +137,268 @@ public class PluginMetadata {
     }
 
     /**
-     * Reads the plugin metadata.
+     * Retrieves the plugin name.
+     *
+     * @return the plugin name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the plugin description.
+     *
+     * @return the plugin description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Retrieves the minimal Go version required by the plugin.
+     *
+     * @return the target Go version
+     */
+    public String getTargetGoVersion() {
+        return targetGoVersion;
+    }
+
+    /**
+     * Retrieves the vendor name.
+     *
+     * @return the vendor name
+     */
+    public String getVendorName() {
+        return vendorName;
+    }
+
+    /**
+     * Retrieves the vendor url.
+     *
+     * @return the vendor url
+     */
+    public String getVendorUrl() {
+        return vendorUrl;
+    }
+
+    /**
+     * Retrieves the operating systems supported by the plugin.
+     *
+     * @return the target operating systems, empty if the plugin supports all of them
+     */
+    public List<String> getTargetOperatingSystems() {
+        return targetOperatingSystems;
+    }
+
+    /**
+     * Retrieves the plugin metadata.
+     *
+     * @return the plugin metadata
+     * @throws PluginException if the metadata could not be loaded
+     */
+    public static PluginMetadata getMetadata() {
+        if (MetadataHolder.FAILURE != null) {
+            throw new PluginException(MetadataHolder.FAILURE.getMessage(), MetadataHolder.FAILURE);
+        }
+        return MetadataHolder.METADATA;
+    }
+
+    /**
+     * Loads the plugin metadata, preferring the values generated at build time over parsing the descriptor.
      *
      * @return the plugin metadata
      */
-    public synchronized static PluginMetadata getMetadata() {
+    static PluginMetadata load() {
+        final StartupProfiler.Phase phase = StartupProfiler.start("plugin-metadata");
+        try {
+            return loadMetadata();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Loads the plugin metadata.
+     *
+     * @return the plugin metadata
+     */
+    private static PluginMetadata loadMetadata() {
+        final String generatedClass = readGeneratedClassName();
+        final PluginMetadata generated = generatedClass != null ? loadGenerated(generatedClass) : null;
+        if (generated != null) {
+            return generated;
+        }
+
+        try (final InputStream inputStream = PluginMetadata.class.getResourceAsStream(PLUGIN_DESCRIPTOR)) {
+            if (inputStream == null) {
+                throw new PluginException("Could not find plugin manifest " + PLUGIN_DESCRIPTOR);
+            }
+            return parse(inputStream);
+        } catch (IOException e) {
+            throw new PluginException("Could not load plugin manifest", e);
+        }
+    }
+
+    /**
+     * Reads the name of the class generated at build time.
+     *
+     * @return the class name, {@code null} if the resource does not exist
+     */
+    private static String readGeneratedClassName() {
+        try (final InputStream inputStream = PluginMetadata.class.getResourceAsStream(GENERATED_METADATA_RESOURCE)) {
+            if (inputStream == null) {
+                return null;
+            }
+            final StringBuilder className = new StringBuilder();
+            final Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+            int c;
+            while ((c = reader.read()) >= 0) {
+                className.append((char) c);
+            }
+            return className.toString().trim();
+        } catch (IOException e) {
+            throw new PluginException("Could not read " + GENERATED_METADATA_RESOURCE, e);
+        }
+    }
 
-        if(pluginMetadata == null) {
+    /**
+     * Reads the metadata out of the class generated at build time.
+     *
+     * @param className the generated class name
+     * @return the plugin metadata, {@code null} if the class does not exist
+     */
+    static PluginMetadata loadGenerated(String className) {
+        try {
+            final Class<?> type = Class.forName(className, true, PluginMetadata.class.getClassLoader());
+            return new PluginMetadata(
+                    constant(type, "ID"),
+                    constant(type, "VERSION"),
+                    constant(type, "NAME"),
+                    constant(type, "DESCRIPTION"),
+                    constant(type, "TARGET_GO_VERSION"),
+                    constant(type, "VENDOR_NAME"),
+                    constant(type, "VENDOR_URL"),
+                    Arrays.asList((String[]) type.getDeclaredField("TARGET_OPERATING_SYSTEMS").get(null))
+            );
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new PluginException("Could not read the generated plugin metadata " + className, e);
+        }
+    }
 
-            String id = null;
-            String version = null;
+    /**
+     * Parses the plugin descriptor.
+     *
+     * @param inputStream the descriptor input stream
+     * @return the plugin metadata
+     */
+    static PluginMetadata parse(InputStream inputStream) {
 
-            try(final InputStream inputStream = PluginMetadata.class.getResourceAsStream(PLUGIN_DESCRIPTOR)) {
+        String id = null;
+        String version = null;
+        String name = null;
+        String description = null;
+        String targetGoVersion = null;
+        String vendorName = null;
+        String vendorUrl = null;
+        final List<String> targetOperatingSystems = new ArrayList<>();
 
-                final XMLInputFactory factory = XMLInputFactory.newInstance();
-                final XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+        try {
+            final XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            final XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+            try {
+                String parent = null;
                 while (reader.hasNext()) {
-                    final int eventType = reader.next();
-                    if(eventType == XMLEvent.START_ELEMENT && "go-plugin".equals(reader.getLocalName())) {
-
-                        for(int attr = 0; attr < reader.getAttributeCount(); attr++) {
-                            if("id".equals(reader.getAttributeLocalName(attr))) {
-                                id = reader.getAttributeValue(attr);
-                            } else if("version".equals(reader.getAttributeLocalName(attr))) {
-                                version = reader.getAttributeValue(attr);
-                            }
+                    if (reader.next() != XMLEvent.START_ELEMENT) {
+                        continue;
+                    }
+                    final String element = reader.getLocalName();
+                    if ("go-plugin".equals(element)) {
+                        id = reader.getAttributeValue(null, "id");
+                        version = reader.getAttributeValue(null, "version");
+                    } else if ("vendor".equals(element) || "target-os".equals(element)) {
+                        parent = element;
+                    } else if ("about".equals(element)) {
+                        parent = null;
+                    } else if ("name".equals(element)) {
+                        if ("vendor".equals(parent)) {
+                            vendorName = text(reader);
+                        } else {
+                            name = text(reader);
                         }
+                    } else if ("url".equals(element)) {
+                        vendorUrl = text(reader);
+                    } else if ("description".equals(element)) {
+                        description = text(reader);
+                    } else if ("target-go-version".equals(element)) {
+                        targetGoVersion = text(reader);
+                    } else if ("value".equals(element) && "target-os".equals(parent)) {
+                        targetOperatingSystems.add(text(reader));
                     }
                 }
-                pluginMetadata = new PluginMetadata(id, version);
-            } catch (XMLStreamException | IOException e) {
-                throw new PluginException("Could not load plugin manifest", e);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new PluginException("Could not load plugin manifest", e);
+        }
+        return new PluginMetadata(id, version, name, description, targetGoVersion, vendorName, vendorUrl,
+                targetOperatingSystems);
+    }
+
+    /**
+     * Reads the trimmed text of the current element.
+     *
+     * @param reader the XML reader
+     * @return the element text
+     * @throws XMLStreamException if any error occurs
+     */
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        return reader.getElementText().trim();
+    }
+
+    /**
+     * Reads the string constant of the generated class.
+     *
+     * @param type the generated class
+     * @param name the constant name
+     * @return the constant value
+     * @throws ReflectiveOperationException if the constant could not be read
+     */
+    private static String constant(Class<?> type, String name) throws ReflectiveOperationException {
+        return (String) type.getDeclaredField(name).get(null);
+    }
+
+    /**
+     * Holds the metadata, which is loaded by the JVM when the holder class is first initialized. The load failure is
+     * held as well, so that the holder class is initialized even when the metadata could not be loaded.
+     */
+    private static final class MetadataHolder {
+
+        /**
+         * The plugin metadata, null if it could not be loaded.
+         */
+        private static final PluginMetadata METADATA;
+
+        /**
+         * The load failure, null if the metadata has been loaded.
+         */
+        private static final PluginException FAILURE;
+
+        static {
+            PluginMetadata metadata = null;
+            PluginException failure = null;
+            try {
+                metadata = load();
+            } catch (PluginException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new PluginException("Could not load the plugin metadata", e);
             }
+            METADATA = metadata;
+            FAILURE = failure;
         }
-        return pluginMetadata;
     }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.metrics;
+
+/**
+ * The timing of the completed startup phase.
+ *
+ * @author Jakub Narloch
+ */
+public final class PhaseTiming {
+
+    /**
+     * The phase name.
+     */
+    private final String name;
+
+    /**
+     * The number of the enclosing phases.
+     */
+    private final int depth;
+
+    /**
+     * The wall clock time of the phase.
+     */
+    private final long nanos;
+
+    /**
+     * The number of bytes allocated by the phase, -1 if not measured.
+     */
+    private final long allocatedBytes;
+
+    /**
+     * Creates new instance of {@link PhaseTiming} class.
+     *
+     * @param name           the phase name
+     * @param depth          the number of the enclosing phases
+     * @param nanos          the wall clock time
+     * @param allocatedBytes the allocated bytes
+     */
+    PhaseTiming(String name, int depth, long nanos, long allocatedBytes) {
+        this.name = name;
+        this.depth = depth;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Retrieves the phase name.
+     *
+     * @return the phase name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the number of the phases enclosing this one.
+     *
+     * @return the phase depth, 0 for the top level phase
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Retrieves the wall clock time of the phase.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Retrieves the number of bytes allocated by the phase.
+     *
+     * @return the allocated bytes, -1 if measuring the allocations is not supported
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("%s=%.1fms/%s", name, nanos / 1e6, StartupProfiler.bytes(allocatedBytes));
+    }
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.metrics;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the wall clock time and the bytes allocated by the named phases of the plugin bootstrap, such as the task
+ * construction, building the dispatcher or rendering the first view. The phases can be nested, the nested phases are
+ * reported along with the enclosing ones, but only the top level phases count towards the total. The phases recorded
+ * until the first configuration and the first view have been rendered are reported in a single log line.
+ *
+ * @author Jakub Narloch
+ */
+public final class StartupProfiler {
+
+    /**
+     * The logger instance by this class hierarchy.
+     */
+    private static final Logger LOGGER = Logger.getLoggerFor(StartupProfiler.class);
+
+    /**
+     * The phase that records nothing.
+     */
+    private static final Phase NOOP = new Phase(null, 0);
+
+    /**
+     * The depth of the currently running phases of every thread.
+     */
+    private static final ThreadLocal<int[]> DEPTH = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    /**
+     * The recorded phases in the completion order.
+     */
+    private static final List<PhaseTiming> PHASES = new ArrayList<>();
+
+    /**
+     * The names of the phases started with {@link #startOnce(String)}.
+     */
+    private static final Set<String> STARTED = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Whether the report has been logged.
+     */
+    private static volatile boolean reported;
+
+    /**
+     * Creates new instance of {@link StartupProfiler} class.
+     */
+    private StartupProfiler() {
+        // utility class
+    }
+
+    /**
+     * Starts the phase, which is recorded when closed.
+     *
+     * @param name the phase name
+     * @return the running phase
+     */
+    public static Phase start(String name) {
+        return new Phase(name, DEPTH.get()[0]++);
+    }
+
+    /**
+     * Starts the phase unless the phase with the same name has already been started.
+     *
+     * @param name the phase name
+     * @return the running phase
+     */
+    public static Phase startOnce(String name) {
+        return STARTED.add(name) ? start(name) : NOOP;
+    }
+
+    /**
+     * Retrieves the recorded phases.
+     *
+     * @return the phases in the completion order
+     */
+    public static List<PhaseTiming> getPhases() {
+        synchronized (PHASES) {
+            return Collections.unmodifiableList(new ArrayList<>(PHASES));
+        }
+    }
+
+    /**
+     * Returns whether the phase with the specific name has been completed.
+     *
+     * @param name the phase name
+     * @return true if the phase has been recorded
+     */
+    public static boolean isRecorded(String name) {
+        synchronized (PHASES) {
+            for (PhaseTiming phase : PHASES) {
+                if (phase.getName().equals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves the total time of the top level phases.
+     *
+     * @return the total time in nanoseconds
+     */
+    public static long getTotalNanos() {
+        long total = 0;
+        for (PhaseTiming phase : getPhases()) {
+            if (phase.getDepth() == 0) {
+                total += phase.getNanos();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retrieves the total number of bytes allocated by the top level phases.
+     *
+     * @return the allocated bytes, -1 if measuring the allocations is not supported
+     */
+    public static long getTotalAllocatedBytes() {
+        if (!ThreadAllocations.isSupported()) {
+            return -1;
+        }
+        long total = 0;
+        for (PhaseTiming phase : getPhases()) {
+            if (phase.getDepth() == 0) {
+                total += phase.getAllocatedBytes();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Formats the recorded phases.
+     *
+     * @return the report
+     */
+    public static String report() {
+        final StringBuilder report = new StringBuilder(String.format("Plugin startup took %.1fms, %s allocated",
+                getTotalNanos() / 1e6, bytes(getTotalAllocatedBytes())));
+        String separator = ": ";
+        for (PhaseTiming phase : getPhases()) {
+            report.append(separator).append(phase);
+            separator = ", ";
+        }
+        return report.toString();
+    }
+
+    /**
+     * Returns whether the report has been logged, after which the plugin is no longer profiled.
+     *
+     * @return true if the report has been logged
+     */
+    public static boolean isReported() {
+        return reported;
+    }
+
+    /**
+     * Logs the report, unless it has already been logged.
+     */
+    public static void logReport() {
+        if (reported) {
+            return;
+        }
+        synchronized (PHASES) {
+            if (reported) {
+                return;
+            }
+            reported = true;
+        }
+        LOGGER.info(report());
+    }
+
+    /**
+     * Clears the recorded phases, for instance before measuring the startup of the reloaded plugin.
+     */
+    public static void reset() {
+        synchronized (PHASES) {
+            PHASES.clear();
+            STARTED.clear();
+            reported = false;
+        }
+    }
+
+    /**
+     * Formats the number of bytes.
+     *
+     * @param bytes the number of bytes
+     * @return the formatted value
+     */
+    static String bytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format("%.1fKB", bytes / 1024.0);
+    }
+
+    /**
+     * The running phase.
+     */
+    public static final class Phase implements AutoCloseable {
+
+        /**
+         * The phase name, null if the phase is not recorded.
+         */
+        private final String name;
+
+        /**
+         * The number of the enclosing phases.
+         */
+        private final int depth;
+
+        /**
+         * The phase start time.
+         */
+        private final long startNanos;
+
+        /**
+         * The number of bytes allocated by the thread when the phase has started.
+         */
+        private final long startBytes;
+
+        /**
+         * Creates new instance of {@link Phase} class.
+         *
+         * @param name  the phase name
+         * @param depth the number of the enclosing phases
+         */
+        private Phase(String name, int depth) {
+            this.name = name;
+            this.depth = depth;
+            this.startBytes = name == null ? 0 : ThreadAllocations.currentThreadAllocatedBytes();
+            this.startNanos = name == null ? 0 : System.nanoTime();
+        }
+
+        /**
+         * Completes the phase and records it.
+         */
+        @Override
+        public void close() {
+            if (name == null) {
+                return;
+            }
+            final long nanos = System.nanoTime() - startNanos;
+            final long bytes = startBytes < 0 ? -1 : ThreadAllocations.currentThreadAllocatedBytes() - startBytes;
+            DEPTH.get()[0]--;
+            synchronized (PHASES) {
+                PHASES.add(new PhaseTiming(name, depth, nanos, bytes));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the number of bytes allocated by the current thread, which is supported by the HotSpot based JVMs only.
+ *
+ * @author Jakub Narloch
+ */
+final class ThreadAllocations {
+
+    /**
+     * The thread bean, null if measuring the allocations is not supported.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    /**
+     * Creates new instance of {@link ThreadAllocations} class.
+     */
+    private ThreadAllocations() {
+        // utility class
+    }
+
+    /**
+     * Returns whether measuring the allocations is supported.
+     *
+     * @return true if the allocations can be measured
+     */
+    static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Retrieves the number of bytes allocated by the current thread so far.
+     *
+     * @return the allocated bytes, -1 if not supported
+     */
+    static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Retrieves the thread bean capable of measuring the allocations.
+     *
+     * @return the thread bean, null if not supported
+     */
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threads;
+                if (bean.isThreadAllocatedMemorySupported()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                    return bean;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+            // not a HotSpot based JVM
+        }
+        return null;
+    }
+}
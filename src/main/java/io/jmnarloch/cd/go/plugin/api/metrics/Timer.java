@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the number, the failures and the duration of the handled requests.
+ *
+ * @author Jakub Narloch
+ */
+public class Timer {
+
+    /**
+     * The number of the recorded requests.
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * The number of the failed requests.
+     */
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * The total duration of the requests.
+     */
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    /**
+     * The longest request duration.
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records the request.
+     *
+     * @param nanos  the request duration
+     * @param failed whether the request has failed
+     */
+    public void record(long nanos, boolean failed) {
+        count.incrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        totalNanos.addAndGet(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // retries until the maximum is updated
+        }
+    }
+
+    /**
+     * Retrieves the number of the recorded requests.
+     *
+     * @return the number of requests
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Retrieves the number of the failed requests.
+     *
+     * @return the number of failures
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Retrieves the total duration of the requests.
+     *
+     * @return the total duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * Retrieves the longest request duration.
+     *
+     * @return the longest duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final long requests = getCount();
+        return String.format("count=%d, failures=%d, mean=%.3fms, max=%.3fms", requests, getFailures(),
+                requests == 0 ? 0.0 : getTotalNanos() / 1e6 / requests, getMaxNanos() / 1e6);
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.parser;
+
+import java.util.Arrays;
+
+/**
+ * The minimal streaming JSON writer, used for writing the responses with the well known structure directly, without
+ * building the intermediate object graph and serializing it reflectively. The writer does not verify that the
+ * produced document is well formed.
+ *
+ * @author Jakub Narloch
+ */
+public final class JsonStreamWriter {
+
+    /**
+     * The hexadecimal digits.
+     */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * The output.
+     */
+    private final StringBuilder output;
+
+    /**
+     * Whether the current object or array already has any element, by the nesting level.
+     */
+    private boolean[] nonEmpty = new boolean[8];
+
+    /**
+     * The current nesting level.
+     */
+    private int depth;
+
+    /**
+     * Whether the name has just been written and the value is expected.
+     */
+    private boolean afterName;
+
+    /**
+     * Creates new instance of {@link JsonStreamWriter} class.
+     */
+    public JsonStreamWriter() {
+        this(64);
+    }
+
+    /**
+     * Creates new instance of {@link JsonStreamWriter} class.
+     *
+     * @param capacity the initial output capacity
+     */
+    public JsonStreamWriter(int capacity) {
+        this.output = new StringBuilder(capacity);
+    }
+
+    /**
+     * Begins the object.
+     *
+     * @return the writer
+     */
+    public JsonStreamWriter beginObject() {
+        return begin('{');
+    }
+
+    /**
+     * Ends the object.
+     *
+     * @return the writer
+     */
+    public JsonStreamWriter endObject() {
+        return end('}');
+    }
+
+    /**
+     * Begins the array.
+     *
+     * @return the writer
+     */
+    public JsonStreamWriter beginArray() {
+        return begin('[');
+    }
+
+    /**
+     * Ends the array.
+     *
+     * @return the writer
+     */
+    public JsonStreamWriter endArray() {
+        return end(']');
+    }
+
+    /**
+     * Writes the object member name.
+     *
+     * @param name the name
+     * @return the writer
+     */
+    public JsonStreamWriter name(String name) {
+        separate();
+        string(name);
+        output.append(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes the string value.
+     *
+     * @param value the value, may be null
+     * @return the writer
+     */
+    public JsonStreamWriter value(String value) {
+        separate();
+        if (value == null) {
+            output.append("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the boolean value.
+     *
+     * @param value the value
+     * @return the writer
+     */
+    public JsonStreamWriter value(boolean value) {
+        separate();
+        output.append(value);
+        return this;
+    }
+
+    /**
+     * Writes the numeric value.
+     *
+     * @param value the value
+     * @return the writer
+     */
+    public JsonStreamWriter value(long value) {
+        separate();
+        output.append(value);
+        return this;
+    }
+
+    /**
+     * Retrieves the written JSON.
+     *
+     * @return the JSON
+     */
+    @Override
+    public String toString() {
+        return output.toString();
+    }
+
+    /**
+     * Begins the object or array.
+     *
+     * @param bracket the opening bracket
+     * @return the writer
+     */
+    private JsonStreamWriter begin(char bracket) {
+        separate();
+        output.append(bracket);
+        if (++depth == nonEmpty.length) {
+            nonEmpty = Arrays.copyOf(nonEmpty, depth * 2);
+        }
+        nonEmpty[depth] = false;
+        return this;
+    }
+
+    /**
+     * Ends the object or array.
+     *
+     * @param bracket the closing bracket
+     * @return the writer
+     */
+    private JsonStreamWriter end(char bracket) {
+        output.append(bracket);
+        depth--;
+        return this;
+    }
+
+    /**
+     * Writes the separator preceding the next element.
+     */
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (nonEmpty[depth]) {
+            output.append(',');
+        }
+        nonEmpty[depth] = true;
+    }
+
+    /**
+     * Writes the quoted and escaped string.
+     *
+     * @param value the string
+     */
+    private void string(String value) {
+        output.append('"');
+        int start = 0;
+        final int length = value.length();
+        for (int ind = 0; ind < length; ind++) {
+            final char c = value.charAt(ind);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            output.append(value, start, ind);
+            start = ind + 1;
+            switch (c) {
+                case '"':
+                    output.append("\\\"");
+                    break;
+                case '\\':
+                    output.append("\\\\");
+                    break;
+                case '\n':
+                    output.append("\\n");
+                    break;
+                case '\r':
+                    output.append("\\r");
+                    break;
+                case '\t':
+                    output.append("\\t");
+                    break;
+                default:
+                    output.append("\\u").append(HEX[c >> 12]).append(HEX[(c >> 8) & 0xF])
+                            .append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+            }
+        }
+        output.append(value, start, length);
+        output.append('"');
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import java.util.Arrays;
+
+/**
+ * The percentiles of the sampled time series.
+ *
+ * @author Jakub Narloch
+ */
+public final class Percentiles {
+
+    /**
+     * The percentiles of an empty series.
+     */
+    static final Percentiles EMPTY = new Percentiles(0, 0, 0, 0);
+
+    /**
+     * The median.
+     */
+    private final long p50;
+
+    /**
+     * The 90th percentile.
+     */
+    private final long p90;
+
+    /**
+     * The 99th percentile.
+     */
+    private final long p99;
+
+    /**
+     * The maximum value.
+     */
+    private final long max;
+
+    /**
+     * Creates new instance of {@link Percentiles} class.
+     *
+     * @param p50 the median
+     * @param p90 the 90th percentile
+     * @param p99 the 99th percentile
+     * @param max the maximum
+     */
+    private Percentiles(long p50, long p90, long p99, long max) {
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /**
+     * Computes the nearest rank percentiles of the specific values.
+     *
+     * @param values the values
+     * @param count  the number of values to use
+     * @return the percentiles
+     */
+    static Percentiles of(long[] values, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        final long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return new Percentiles(rank(sorted, 50), rank(sorted, 90), rank(sorted, 99), sorted[count - 1]);
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "p50=" + p50 + " p90=" + p90 + " p99=" + p99 + " max=" + max;
+    }
+
+    /**
+     * Retrieves the value of the specific nearest rank percentile.
+     *
+     * @param sorted     the sorted values
+     * @param percentile the percentile
+     * @return the value
+     */
+    private static long rank(long[] sorted, int percentile) {
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
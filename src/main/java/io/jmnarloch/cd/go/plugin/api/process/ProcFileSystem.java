@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the process information from the Linux {@code /proc} file system. The reader reuses its internal buffer, so
+ * a single instance must not be shared between threads.
+ *
+ * @author Jakub Narloch
+ */
+final class ProcFileSystem {
+
+    /**
+     * The number of clock ticks per second, the {@code USER_HZ} value is 100 on all the supported Linux architectures.
+     */
+    static final int CLOCK_TICKS_PER_SECOND = 100;
+
+    /**
+     * The proc file system root.
+     */
+    private static final File PROC = new File("/proc");
+
+    /**
+     * The {@code stat} fields (counted from the process state) read by this class.
+     */
+    private static final int PPID = 1, UTIME = 11, STIME = 12, START_TIME = 19, BLKIO_TICKS = 39;
+
+    /**
+     * The read buffer, large enough for a single {@code stat} or {@code status} file.
+     */
+    private byte[] buffer = new byte[4096];
+
+    /**
+     * Returns whether the proc file system is available on the current platform.
+     *
+     * @return true if the proc file system can be used
+     */
+    static boolean isAvailable() {
+        return new File(PROC, "self/stat").canRead();
+    }
+
+    /**
+     * Retrieves the current JVM process id.
+     *
+     * @return the process id or -1 if it can not be determined
+     */
+    static int currentPid() {
+        try {
+            return Integer.parseInt(new File(PROC, "self").getCanonicalFile().getName());
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the stat of every process that descends from the specific root process, the root itself is excluded.
+     *
+     * @param rootPid the root process id
+     * @return the descendant processes
+     */
+    List<ProcessStat> readDescendants(int rootPid) {
+        return readDescendants(rootPid, Collections.<Integer, Long>emptyMap());
+    }
+
+    /**
+     * Reads the stat of every process that descends from the specific root process, skipping the excluded processes
+     * together with their own descendants.
+     *
+     * @param rootPid  the root process id
+     * @param excluded the excluded processes, the pid mapped to the process start time
+     * @return the descendant processes
+     */
+    List<ProcessStat> readDescendants(int rootPid, Map<Integer, Long> excluded) {
+
+        final Map<Integer, List<ProcessStat>> children = new HashMap<>();
+        final String[] entries = PROC.list();
+        if (entries != null) {
+            for (String entry : entries) {
+                final int pid = parsePid(entry);
+                final ProcessStat stat = pid > 0 ? readStat(pid) : null;
+                if (stat != null) {
+                    List<ProcessStat> siblings = children.get(stat.getPpid());
+                    if (siblings == null) {
+                        siblings = new ArrayList<>(2);
+                        children.put(stat.getPpid(), siblings);
+                    }
+                    siblings.add(stat);
+                }
+            }
+        }
+
+        final List<ProcessStat> descendants = new ArrayList<>();
+        addChildren(children.get(rootPid), excluded, descendants);
+        for (int ind = 0; ind < descendants.size(); ind++) {
+            addChildren(children.get(descendants.get(ind).getPid()), excluded, descendants);
+        }
+        return descendants;
+    }
+
+    /**
+     * Adds the child processes, which are not excluded, to the descendants.
+     *
+     * @param children    the child processes, may be {@code null}
+     * @param excluded    the excluded processes, the pid mapped to the process start time
+     * @param descendants the descendants
+     */
+    private static void addChildren(List<ProcessStat> children, Map<Integer, Long> excluded,
+                                    List<ProcessStat> descendants) {
+        if (children == null) {
+            return;
+        }
+        for (ProcessStat child : children) {
+            final Long startTime = excluded.get(child.getPid());
+            if (startTime == null || startTime != child.getStartTime()) {
+                descendants.add(child);
+            }
+        }
+    }
+
+    /**
+     * Reads the stat of the specific process.
+     *
+     * @param pid the process id
+     * @return the process stat or {@code null} if the process does not exist
+     */
+    ProcessStat readStat(int pid) {
+
+        final int length = read(pid, "stat");
+        int pos = length - 1;
+        // the command name may contain spaces and parentheses, the fields start after the last parenthesis
+        while (pos >= 0 && buffer[pos] != ')') {
+            pos--;
+        }
+        if (pos < 0) {
+            return null;
+        }
+
+        final char state = pos + 2 < length ? (char) buffer[pos + 2] : '?';
+        final long[] fields = new long[BLKIO_TICKS + 1];
+        int field = 0;
+        long value = 0;
+        for (pos = pos + 2; pos < length && field < fields.length; pos++) {
+            final byte ch = buffer[pos];
+            if (ch == ' ' || ch == '\n') {
+                fields[field++] = value;
+                value = 0;
+            } else if (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+            }
+        }
+        return new ProcessStat(pid, (int) fields[PPID], state, fields[START_TIME],
+                fields[UTIME] + fields[STIME], fields[BLKIO_TICKS]);
+    }
+
+    /**
+     * Reads the resident set size of the specific process from {@code /proc/<pid>/status}.
+     *
+     * @param pid the process id
+     * @return the resident set size in bytes or 0 if not available
+     */
+    long readResidentSetSize(int pid) {
+
+        final int length = read(pid, "status");
+        final byte[] key = {'V', 'm', 'R', 'S', 'S', ':'};
+        int pos = indexOf(key, length);
+        if (pos < 0) {
+            return 0;
+        }
+
+        long kiloBytes = 0;
+        for (pos += key.length; pos < length && buffer[pos] != '\n'; pos++) {
+            if (buffer[pos] >= '0' && buffer[pos] <= '9') {
+                kiloBytes = kiloBytes * 10 + (buffer[pos] - '0');
+            }
+        }
+        return kiloBytes * 1024;
+    }
+
+    /**
+     * Reads the specific process file into the buffer.
+     *
+     * @param pid  the process id
+     * @param name the file name
+     * @return the number of bytes read, 0 if the file could not be read
+     */
+    private int read(int pid, String name) {
+
+        try (FileInputStream input = new FileInputStream(PROC.getPath() + '/' + pid + '/' + name)) {
+            int length = 0;
+            int count;
+            while ((count = input.read(buffer, length, buffer.length - length)) > 0) {
+                length += count;
+                if (length == buffer.length) {
+                    final byte[] larger = new byte[buffer.length * 2];
+                    System.arraycopy(buffer, 0, larger, 0, length);
+                    buffer = larger;
+                }
+            }
+            return length;
+        } catch (IOException e) {
+            // the process has already exited
+            return 0;
+        }
+    }
+
+    /**
+     * Finds the position of the specific key in the buffer.
+     *
+     * @param key    the key
+     * @param length the buffer length
+     * @return the key position or -1
+     */
+    private int indexOf(byte[] key, int length) {
+        outer:
+        for (int pos = 0; pos <= length - key.length; pos++) {
+            for (int ind = 0; ind < key.length; ind++) {
+                if (buffer[pos + ind] != key[ind]) {
+                    continue outer;
+                }
+            }
+            return pos;
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the process id out of the {@code /proc} entry name.
+     *
+     * @param entry the entry name
+     * @return the process id or -1 if the entry does not represent a process
+     */
+    private static int parsePid(String entry) {
+        int pid = 0;
+        for (int ind = 0; ind < entry.length(); ind++) {
+            final char ch = entry.charAt(ind);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            pid = pid * 10 + (ch - '0');
+        }
+        return pid;
+    }
+}
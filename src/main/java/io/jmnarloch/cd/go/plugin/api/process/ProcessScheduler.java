@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import io.jmnarloch.cd.go.plugin.api.concurrent.Threads;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.ExecutorLifecycle;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleRegistry;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single scheduler thread shared by all of the process samplers and trackers, which is shut down when the plugin
+ * is unloaded and started again on the next use.
+ *
+ * @author Jakub Narloch
+ */
+final class ProcessScheduler {
+
+    /**
+     * Creates new instance of {@link ProcessScheduler} class.
+     */
+    private ProcessScheduler() {
+        // utility class
+    }
+
+    /**
+     * Schedules the periodic task.
+     *
+     * @param task           the task
+     * @param intervalMillis the interval
+     * @return the scheduled task
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long intervalMillis) {
+        return Holder.SCHEDULER.get().scheduleAtFixedRate(task, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lazily creates the shared scheduler.
+     */
+    private static final class Holder {
+
+        /**
+         * The shared scheduler.
+         */
+        private static final ExecutorLifecycle<ScheduledExecutorService> SCHEDULER =
+                new ExecutorLifecycle<ScheduledExecutorService>() {
+                    @Override
+                    protected ScheduledExecutorService create() {
+                        return Executors.newSingleThreadScheduledExecutor(
+                                Threads.threadFactory("task-process-scheduler"));
+                    }
+                };
+
+        static {
+            LifecycleRegistry.library().register(SCHEDULER);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+/**
+ * The snapshot of the process state read from {@code /proc/<pid>/stat}. All of the times are expressed in clock ticks.
+ *
+ * @author Jakub Narloch
+ */
+final class ProcessStat {
+
+    /**
+     * The process id.
+     */
+    private final int pid;
+
+    /**
+     * The parent process id.
+     */
+    private final int ppid;
+
+    /**
+     * The process state.
+     */
+    private final char state;
+
+    /**
+     * The process start time since the system boot, identifies the process along with the pid.
+     */
+    private final long startTime;
+
+    /**
+     * The user and system CPU time.
+     */
+    private final long cpuTicks;
+
+    /**
+     * The aggregated block I/O delay.
+     */
+    private final long ioWaitTicks;
+
+    /**
+     * Creates new instance of {@link ProcessStat} class.
+     *
+     * @param pid         the process id
+     * @param ppid        the parent process id
+     * @param state       the process state
+     * @param startTime   the process start time
+     * @param cpuTicks    the CPU time
+     * @param ioWaitTicks the block I/O delay
+     */
+    ProcessStat(int pid, int ppid, char state, long startTime, long cpuTicks, long ioWaitTicks) {
+        this.pid = pid;
+        this.ppid = ppid;
+        this.state = state;
+        this.startTime = startTime;
+        this.cpuTicks = cpuTicks;
+        this.ioWaitTicks = ioWaitTicks;
+    }
+
+    int getPid() {
+        return pid;
+    }
+
+    int getPpid() {
+        return ppid;
+    }
+
+    /**
+     * Returns whether the process has exited and is waiting to be reaped by its parent.
+     *
+     * @return true if the process is a zombie
+     */
+    boolean isZombie() {
+        return state == 'Z' || state == 'X';
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    long getCpuTicks() {
+        return cpuTicks;
+    }
+
+    long getIoWaitTicks() {
+        return ioWaitTicks;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The processes forked by the agent JVM since the task has started. The descendants existing at the start, for
+ * instance the processes of the other concurrently running tasks, are recorded in the snapshot and skipped together
+ * with their own descendants. The processes forked by the concurrent tasks afterwards can not be told apart, since
+ * they all have the agent JVM as the parent. The instance is not thread safe.
+ *
+ * @author Jakub Narloch
+ */
+final class ProcessTree {
+
+    /**
+     * The proc file system reader.
+     */
+    private final ProcFileSystem proc = new ProcFileSystem();
+
+    /**
+     * The root process id, -1 if the proc file system is not available.
+     */
+    private final int rootPid;
+
+    /**
+     * The descendants existing at the start, the pid mapped to the process start time.
+     */
+    private final Map<Integer, Long> existing;
+
+    /**
+     * Creates new instance of {@link ProcessTree} class.
+     *
+     * @param rootPid the root process id
+     */
+    private ProcessTree(int rootPid) {
+        this.rootPid = rootPid;
+        this.existing = rootPid > 0 ? snapshot() : Collections.<Integer, Long>emptyMap();
+    }
+
+    /**
+     * Takes the snapshot of the current descendants of the agent JVM.
+     *
+     * @return the process tree
+     */
+    static ProcessTree start() {
+        return new ProcessTree(ProcFileSystem.isAvailable() ? ProcFileSystem.currentPid() : -1);
+    }
+
+    /**
+     * Returns whether the processes can be read on the current platform.
+     *
+     * @return true if the processes can be read
+     */
+    boolean isSupported() {
+        return rootPid > 0;
+    }
+
+    /**
+     * Reads the descendants forked since the start.
+     *
+     * @return the descendant processes
+     */
+    List<ProcessStat> readDescendants() {
+        return isSupported() ? proc.readDescendants(rootPid, existing) : Collections.<ProcessStat>emptyList();
+    }
+
+    /**
+     * Reads the stat of the specific process.
+     *
+     * @param pid the process id
+     * @return the process stat or {@code null} if the process does not exist
+     */
+    ProcessStat readStat(int pid) {
+        return proc.readStat(pid);
+    }
+
+    /**
+     * Reads the resident set size of the specific process.
+     *
+     * @param pid the process id
+     * @return the resident set size in bytes or 0 if not available
+     */
+    long readResidentSetSize(int pid) {
+        return proc.readResidentSetSize(pid);
+    }
+
+    /**
+     * Records the current descendants.
+     *
+     * @return the descendants, the pid mapped to the process start time
+     */
+    private Map<Integer, Long> snapshot() {
+        final Map<Integer, Long> processes = new HashMap<>();
+        for (ProcessStat stat : proc.readDescendants(rootPid)) {
+            processes.put(stat.getPid(), stat.getStartTime());
+        }
+        return processes;
+    }
+}
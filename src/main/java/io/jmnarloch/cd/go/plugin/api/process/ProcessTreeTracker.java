@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Records every process forked by the agent JVM while the task is running, so that the whole process tree can be
+ * torn down when the job is cancelled, even after the intermediate processes have exited and their children have
+ * been re-parented. The processes already running when the tracking starts are never recorded. The processes are
+ * identified by the pid and the start time, which protects against pid reuse. The process table is polled, so a
+ * process that detaches from the tree faster than the tracking interval is not recorded. On platforms without the
+ * {@code /proc} file system the tracker is a no-op.
+ *
+ * @author Jakub Narloch
+ */
+public class ProcessTreeTracker {
+
+    /**
+     * The default tracking interval.
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 500;
+
+    /**
+     * The default grace period between {@code SIGTERM} and {@code SIGKILL}.
+     */
+    public static final long DEFAULT_GRACE_PERIOD_MILLIS = 5000;
+
+    /**
+     * The poll interval used while waiting for the terminated processes to exit.
+     */
+    private static final long EXIT_POLL_MILLIS = 50;
+
+    /**
+     * The logger instance by this class hierarchy.
+     */
+    private final Logger logger = Logger.getLoggerFor(getClass());
+
+    /**
+     * The processes forked since the tracking has started.
+     */
+    private final ProcessTree tree;
+
+    /**
+     * The recorded processes, the pid mapped to the process start time.
+     */
+    private final Map<Integer, Long> processes = new HashMap<>();
+
+    /**
+     * The scheduled tracking task.
+     */
+    private ScheduledFuture<?> future;
+
+    /**
+     * Creates new instance of {@link ProcessTreeTracker} class.
+     */
+    private ProcessTreeTracker() {
+        this.tree = ProcessTree.start();
+    }
+
+    /**
+     * Starts tracking the descendants of the current process with the default interval.
+     *
+     * @return the tracker
+     */
+    public static ProcessTreeTracker start() {
+        return start(DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Starts tracking the descendants of the current process, forked from now on.
+     *
+     * @param intervalMillis the tracking interval
+     * @return the tracker
+     */
+    public static ProcessTreeTracker start(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("The tracking interval has to be positive");
+        }
+        final ProcessTreeTracker tracker = new ProcessTreeTracker();
+        if (tracker.tree.isSupported()) {
+            tracker.future = ProcessScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    tracker.record();
+                }
+            }, intervalMillis);
+        }
+        return tracker;
+    }
+
+    /**
+     * Stops tracking, leaving the processes running.
+     */
+    public void stop() {
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Stops tracking and terminates every recorded process that is still running. The processes first receive
+     * {@code SIGTERM}, the ones still running after the grace period are killed with {@code SIGKILL}. The grace
+     * period is waited out even if the current thread is interrupted, the interrupt status is restored afterwards.
+     *
+     * @param gracePeriodMillis the time the processes have to exit after {@code SIGTERM}
+     */
+    public void terminate(long gracePeriodMillis) {
+        terminate(Collections.singletonList(this), gracePeriodMillis);
+    }
+
+    /**
+     * Terminates the process trees of the specific trackers. All of the trees are signalled first, so that they
+     * share the single grace period.
+     *
+     * @param trackers          the trackers
+     * @param gracePeriodMillis the time the processes have to exit after {@code SIGTERM}
+     */
+    public static void terminate(Collection<ProcessTreeTracker> trackers, long gracePeriodMillis) {
+
+        final List<ProcessTreeTracker> signalled = new ArrayList<>();
+        for (ProcessTreeTracker tracker : trackers) {
+            if (tracker.signal()) {
+                signalled.add(tracker);
+            }
+        }
+        if (signalled.isEmpty()) {
+            return;
+        }
+
+        boolean interrupted = false;
+        final long deadline = System.currentTimeMillis() + gracePeriodMillis;
+        while (isRunning(signalled) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(EXIT_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                // the job is being cancelled, the processes still deserve the grace period
+                interrupted = true;
+            }
+        }
+        for (ProcessTreeTracker tracker : signalled) {
+            tracker.kill();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns whether any of the trackers has recorded a process that is still running.
+     *
+     * @param trackers the trackers
+     * @return true if any of the processes is running
+     */
+    private static boolean isRunning(List<ProcessTreeTracker> trackers) {
+        for (ProcessTreeTracker tracker : trackers) {
+            if (!tracker.running().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops tracking and sends {@code SIGTERM} to the recorded processes that are still running.
+     *
+     * @return true if any of the processes has been signalled
+     */
+    private boolean signal() {
+        stop();
+        if (!tree.isSupported()) {
+            return false;
+        }
+
+        final List<Integer> running = running();
+        if (running.isEmpty()) {
+            return false;
+        }
+        logger.info("Terminating the task processes: " + running);
+        Signals.terminate(running);
+        return true;
+    }
+
+    /**
+     * Sends {@code SIGKILL} to the recorded processes that are still running.
+     */
+    private void kill() {
+        final List<Integer> running = running();
+        if (!running.isEmpty()) {
+            logger.warn("Killing the task processes that did not exit within the grace period: " + running);
+            Signals.kill(running);
+        }
+    }
+
+    /**
+     * Records the descendants of the root process forked since the tracking has started.
+     */
+    private synchronized void record() {
+        for (ProcessStat stat : tree.readDescendants()) {
+            processes.put(stat.getPid(), stat.getStartTime());
+        }
+    }
+
+    /**
+     * Retrieves the recorded processes that are still running.
+     *
+     * @return the process ids
+     */
+    private synchronized List<Integer> running() {
+        record();
+        final List<Integer> running = new ArrayList<>();
+        for (Map.Entry<Integer, Long> process : processes.entrySet()) {
+            final ProcessStat stat = tree.readStat(process.getKey());
+            if (stat != null && stat.getStartTime() == process.getValue() && !stat.isZombie()) {
+                running.add(process.getKey());
+            }
+        }
+        return running;
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Samples the CPU, memory and block I/O usage of the processes forked by the task executor, by periodically reading
+ * {@code /proc/<pid>/stat} and {@code /proc/<pid>/status} of every descendant of the agent JVM forked since the
+ * sampling has started. All of the samplers share a single daemon scheduler thread. On platforms without the
+ * {@code /proc} file system the sampling is a no-op.
+ *
+ * @author Jakub Narloch
+ */
+public class ResourceSampler {
+
+    /**
+     * The default sampling interval.
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    /**
+     * The binary trace format magic number.
+     */
+    private static final int TRACE_MAGIC = 0x47545253;
+
+    /**
+     * The binary trace format version.
+     */
+    private static final short TRACE_VERSION = 1;
+
+    /**
+     * The logger instance by this class hierarchy.
+     */
+    private final Logger logger = Logger.getLoggerFor(getClass());
+
+    /**
+     * The sampling interval.
+     */
+    private final long intervalMillis;
+
+    /**
+     * Whether to write the binary trace.
+     */
+    private final boolean trace;
+
+    /**
+     * Creates new instance of {@link ResourceSampler} class with the default interval and without the trace.
+     */
+    public ResourceSampler() {
+        this(DEFAULT_INTERVAL_MILLIS, false);
+    }
+
+    /**
+     * Creates new instance of {@link ResourceSampler} class.
+     *
+     * @param intervalMillis the sampling interval
+     * @param trace          whether to write the binary trace next to the working directory
+     */
+    public ResourceSampler(long intervalMillis, boolean trace) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("The sampling interval has to be positive");
+        }
+        this.intervalMillis = intervalMillis;
+        this.trace = trace;
+    }
+
+    /**
+     * Returns whether the sampling is supported on the current platform.
+     *
+     * @return true if the sampling is supported
+     */
+    public static boolean isSupported() {
+        return ProcFileSystem.isAvailable();
+    }
+
+    /**
+     * Starts sampling the descendants of the current process, forked from now on.
+     *
+     * @param workingDirectory the task working directory, used for locating the trace file, may be {@code null}
+     * @return the sampling handle
+     */
+    public Sampling start(String workingDirectory) {
+
+        final ProcessTree tree = ProcessTree.start();
+        if (!tree.isSupported()) {
+            logger.debug("The /proc file system is not available, the resource usage will not be sampled");
+            return new Sampling(this, tree, null);
+        }
+
+        final File traceFile = trace && workingDirectory != null ? traceFile(workingDirectory) : null;
+        final Sampling sampling = new Sampling(this, tree, traceFile);
+        sampling.sample();
+        sampling.future = ProcessScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                sampling.sample();
+            }
+        }, intervalMillis);
+        return sampling;
+    }
+
+    /**
+     * Resolves the trace file located next to the working directory.
+     *
+     * @param workingDirectory the working directory
+     * @return the trace file
+     */
+    private static File traceFile(String workingDirectory) {
+        final File directory = new File(workingDirectory).getAbsoluteFile();
+        return new File(directory.getParentFile(),
+                directory.getName() + "-resources-" + System.currentTimeMillis() + ".trace");
+    }
+
+    /**
+     * The single sampling session, started before and stopped after the task execution.
+     */
+    public static final class Sampling {
+
+        /**
+         * The owning sampler.
+         */
+        private final ResourceSampler sampler;
+
+        /**
+         * The processes forked since the sampling has started.
+         */
+        private final ProcessTree tree;
+
+        /**
+         * The trace file.
+         */
+        private final File traceFile;
+
+        /**
+         * The last seen CPU and I/O ticks of every process, used for computing the per interval deltas.
+         */
+        private Map<Integer, ProcessStat> previous;
+
+        /**
+         * The sampling start time.
+         */
+        private final long startMillis = System.currentTimeMillis();
+
+        /**
+         * The time of the last sample.
+         */
+        private long lastMillis = startMillis;
+
+        /**
+         * The sampled series.
+         */
+        private final Series time = new Series(), cpu = new Series(), rss = new Series(), io = new Series(),
+                processes = new Series();
+
+        /**
+         * The scheduled sampling task.
+         */
+        private ScheduledFuture<?> future;
+
+        /**
+         * Whether the sampling has been stopped.
+         */
+        private boolean stopped;
+
+        /**
+         * Creates new instance of {@link Sampling} class.
+         *
+         * @param sampler   the sampler
+         * @param tree      the process tree
+         * @param traceFile the trace file
+         */
+        private Sampling(ResourceSampler sampler, ProcessTree tree, File traceFile) {
+            this.sampler = sampler;
+            this.tree = tree;
+            this.traceFile = traceFile;
+        }
+
+        /**
+         * Stops the sampling and summarizes the resource usage.
+         *
+         * @return the resource usage
+         */
+        public synchronized ResourceUsage stop() {
+
+            if (!tree.isSupported()) {
+                return ResourceUsage.EMPTY;
+            }
+            if (!stopped) {
+                future.cancel(false);
+                sample();
+                stopped = true;
+                writeTrace();
+            }
+            final File trace = traceFile != null && traceFile.exists() ? traceFile : null;
+            return new ResourceUsage(time.size, lastMillis - startMillis, Percentiles.of(cpu.values, cpu.size),
+                    Percentiles.of(rss.values, rss.size), Percentiles.of(io.values, io.size),
+                    Percentiles.of(processes.values, processes.size), trace);
+        }
+
+        /**
+         * Takes the single sample.
+         */
+        private synchronized void sample() {
+            if (stopped) {
+                return;
+            }
+
+            final long now = System.currentTimeMillis();
+            final long elapsed = Math.max(now - lastMillis, 1);
+            final List<ProcessStat> descendants = tree.readDescendants();
+            final Map<Integer, ProcessStat> current = new HashMap<>(descendants.size() * 2);
+
+            long cpuTicks = 0;
+            long ioTicks = 0;
+            long residentSetSize = 0;
+            for (ProcessStat stat : descendants) {
+                final ProcessStat last = previous != null ? previous.get(stat.getPid()) : null;
+                if (last != null && last.getStartTime() == stat.getStartTime()) {
+                    cpuTicks += stat.getCpuTicks() - last.getCpuTicks();
+                    ioTicks += stat.getIoWaitTicks() - last.getIoWaitTicks();
+                } else if (previous != null) {
+                    // the process has been forked since the last sample
+                    cpuTicks += stat.getCpuTicks();
+                    ioTicks += stat.getIoWaitTicks();
+                }
+                residentSetSize += tree.readResidentSetSize(stat.getPid());
+                current.put(stat.getPid(), stat);
+            }
+            final boolean baseline = previous == null;
+            previous = current;
+            if (baseline) {
+                // the first sample only records the initial ticks
+                return;
+            }
+
+            final long millisPerTick = 1000 / ProcFileSystem.CLOCK_TICKS_PER_SECOND;
+            time.add(now - startMillis);
+            cpu.add(cpuTicks * millisPerTick * 100 / elapsed);
+            io.add(ioTicks * millisPerTick);
+            rss.add(residentSetSize);
+            processes.add(descendants.size());
+            lastMillis = now;
+        }
+
+        /**
+         * Writes the compact binary trace: the header followed by the fixed size records of every sample.
+         */
+        private void writeTrace() {
+            if (traceFile == null) {
+                return;
+            }
+
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(traceFile)))) {
+                output.writeInt(TRACE_MAGIC);
+                output.writeShort(TRACE_VERSION);
+                output.writeInt((int) sampler.intervalMillis);
+                output.writeLong(startMillis);
+                output.writeInt(time.size);
+                for (int ind = 0; ind < time.size; ind++) {
+                    output.writeInt((int) time.values[ind]);
+                    output.writeShort((int) Math.min(cpu.values[ind], Short.MAX_VALUE));
+                    output.writeInt((int) Math.min(rss.values[ind] / 1024, Integer.MAX_VALUE));
+                    output.writeInt((int) Math.min(io.values[ind], Integer.MAX_VALUE));
+                    output.writeShort((int) Math.min(processes.values[ind], Short.MAX_VALUE));
+                }
+            } catch (IOException e) {
+                sampler.logger.warn("Could not write the resource usage trace: " + traceFile, e);
+            }
+        }
+    }
+
+    /**
+     * The growable series of sampled values.
+     */
+    private static final class Series {
+
+        /**
+         * The values.
+         */
+        private long[] values = new long[64];
+
+        /**
+         * The number of values.
+         */
+        private int size;
+
+        /**
+         * Appends the value.
+         *
+         * @param value the value
+         */
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import java.io.File;
+
+/**
+ * The resources used by the child processes during the task execution, summarized as percentiles of the sampled
+ * time series.
+ *
+ * @author Jakub Narloch
+ */
+public final class ResourceUsage {
+
+    /**
+     * The usage reported when the sampling is not supported on the current platform.
+     */
+    public static final ResourceUsage EMPTY = new ResourceUsage(0, 0, Percentiles.EMPTY, Percentiles.EMPTY,
+            Percentiles.EMPTY, Percentiles.EMPTY, null);
+
+    /**
+     * The number of taken samples.
+     */
+    private final int samples;
+
+    /**
+     * The sampling duration in milliseconds.
+     */
+    private final long durationMillis;
+
+    /**
+     * The CPU usage, in percents of a single core.
+     */
+    private final Percentiles cpuPercent;
+
+    /**
+     * The resident set size in bytes.
+     */
+    private final Percentiles residentSetSize;
+
+    /**
+     * The block I/O wait time in milliseconds per sampling interval.
+     */
+    private final Percentiles ioWaitMillis;
+
+    /**
+     * The number of running processes.
+     */
+    private final Percentiles processes;
+
+    /**
+     * The binary trace file, if any.
+     */
+    private final File traceFile;
+
+    /**
+     * Creates new instance of {@link ResourceUsage} class.
+     *
+     * @param samples         the number of samples
+     * @param durationMillis  the sampling duration
+     * @param cpuPercent      the CPU usage
+     * @param residentSetSize the resident set size
+     * @param ioWaitMillis    the block I/O wait time
+     * @param processes       the number of processes
+     * @param traceFile       the trace file
+     */
+    ResourceUsage(int samples, long durationMillis, Percentiles cpuPercent, Percentiles residentSetSize,
+                  Percentiles ioWaitMillis, Percentiles processes, File traceFile) {
+        this.samples = samples;
+        this.durationMillis = durationMillis;
+        this.cpuPercent = cpuPercent;
+        this.residentSetSize = residentSetSize;
+        this.ioWaitMillis = ioWaitMillis;
+        this.processes = processes;
+        this.traceFile = traceFile;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public Percentiles getCpuPercent() {
+        return cpuPercent;
+    }
+
+    public Percentiles getResidentSetSize() {
+        return residentSetSize;
+    }
+
+    public Percentiles getIoWaitMillis() {
+        return ioWaitMillis;
+    }
+
+    public Percentiles getProcesses() {
+        return processes;
+    }
+
+    /**
+     * Retrieves the binary trace file.
+     *
+     * @return the trace file or {@code null} if no trace has been written
+     */
+    public File getTraceFile() {
+        return traceFile;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("%d samples over %d ms; cpu%% [%s]; rss bytes [%s]; io wait ms [%s]; processes [%s]",
+                samples, durationMillis, cpuPercent, residentSetSize, ioWaitMillis, processes);
+    }
+}
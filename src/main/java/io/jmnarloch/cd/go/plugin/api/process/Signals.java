@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sends the signals to the processes. Java 7 has no API for signalling arbitrary processes, so this implementation
+ * runs the {@code kill} command, the multi-release jar contains the Java 21 variant based on {@code ProcessHandle}.
+ *
+ * @author Jakub Narloch
+ */
+final class Signals {
+
+    /**
+     * Creates new instance of {@link Signals} class.
+     */
+    private Signals() {
+        // utility class
+    }
+
+    /**
+     * Sends {@code SIGTERM} to the specific processes.
+     *
+     * @param pids the process ids
+     */
+    static void terminate(Collection<Integer> pids) {
+        kill("-TERM", pids);
+    }
+
+    /**
+     * Sends {@code SIGKILL} to the specific processes.
+     *
+     * @param pids the process ids
+     */
+    static void kill(Collection<Integer> pids) {
+        kill("-KILL", pids);
+    }
+
+    /**
+     * Runs the {@code kill} command.
+     *
+     * @param signal the signal option
+     * @param pids   the process ids
+     */
+    private static void kill(String signal, Collection<Integer> pids) {
+        if (pids.isEmpty()) {
+            return;
+        }
+
+        final List<String> command = new ArrayList<>(pids.size() + 2);
+        command.add("kill");
+        command.add(signal);
+        for (Integer pid : pids) {
+            command.add(pid.toString());
+        }
+        final Process process;
+        try {
+            process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not signal the processes " + pids, e);
+        }
+
+        // some of the processes might have already exited, so the exit code is irrelevant, the command is waited
+        // for even when the job is being cancelled, so that the signal is delivered before the grace period starts
+        boolean interrupted = false;
+        while (true) {
+            try {
+                process.waitFor();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
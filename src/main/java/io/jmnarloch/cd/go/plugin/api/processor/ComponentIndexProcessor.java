@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.processor;
+
+import io.jmnarloch.cd.go.plugin.api.task.ComponentIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the {@link ComponentIndex} of the task components at compile time, so that the
+ * {@link io.jmnarloch.cd.go.plugin.api.task.AbstractAnnotationDispatchingTask} finds them without scanning the
+ * classpath. Every class annotated with one of the task component annotations is recorded along with the annotation,
+ * the annotated methods are recorded along with the declaring class. The index written by the previous compilation is
+ * merged with the new entries, so that the incremental compilation does not drop the components that have not been
+ * recompiled. The entries of the recompiled and the removed classes are replaced.
+ *
+ * @author Jakub Narloch
+ */
+@SupportedAnnotationTypes({
+        "io.jmnarloch.cd.go.plugin.api.annotation.Configuration",
+        "io.jmnarloch.cd.go.plugin.api.annotation.Executor",
+        "io.jmnarloch.cd.go.plugin.api.annotation.Validator",
+        "io.jmnarloch.cd.go.plugin.api.annotation.View"
+})
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The index entries collected over all of the processing rounds.
+     */
+    private final Set<String> entries = new TreeSet<>();
+
+    /**
+     * The names of the top level classes compiled over all of the processing rounds.
+     */
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                compiledTypes.add(((TypeElement) element).getQualifiedName().toString());
+            }
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind().isClass()) {
+                    entries.add(annotation.getQualifiedName().toString() + ComponentIndex.SEPARATOR
+                            + processingEnv.getElementUtils().getBinaryName((TypeElement) element));
+                } else if (element.getKind() == ElementKind.METHOD) {
+                    entries.add(annotation.getQualifiedName().toString() + ComponentIndex.SEPARATOR
+                            + processingEnv.getElementUtils().getBinaryName((TypeElement) element.getEnclosingElement())
+                            + ComponentIndex.METHOD_SEPARATOR + element.getSimpleName());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            write();
+        }
+        // the annotations are not claimed, so that the other processors can handle them as well
+        return false;
+    }
+
+    /**
+     * Writes the index merged with the index of the previous compilation.
+     */
+    private void write() {
+        try {
+            final Set<String> previous = readPrevious();
+            final Set<String> index = new TreeSet<>(entries);
+            for (String entry : previous) {
+                if (isRetained(entry)) {
+                    index.add(entry);
+                }
+            }
+            if (index.isEmpty() && previous.isEmpty()) {
+                return;
+            }
+            final FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.INDEX_RESOURCE);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String entry : index) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "The component index could not be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the index written by the previous compilation.
+     *
+     * @return the index entries, empty if there is no such index
+     */
+    private Set<String> readPrevious() {
+        final Set<String> previous = new TreeSet<>();
+        try {
+            final FileObject resource = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.INDEX_RESOURCE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.indexOf(ComponentIndex.SEPARATOR) > 0) {
+                        previous.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // there is no previous index
+        }
+        return previous;
+    }
+
+    /**
+     * Returns whether the entry of the previous index is retained, which is the case when its class has not been
+     * compiled now and still exists.
+     *
+     * @param entry the index entry
+     * @return true if the entry is retained
+     */
+    private boolean isRetained(String entry) {
+        String className = entry.substring(entry.indexOf(ComponentIndex.SEPARATOR) + 1);
+        if (className.indexOf(ComponentIndex.METHOD_SEPARATOR) >= 0) {
+            className = className.substring(0, className.indexOf(ComponentIndex.METHOD_SEPARATOR));
+        }
+        final String topLevelName = className.indexOf('$') >= 0
+                ? className.substring(0, className.indexOf('$')) : className;
+        return !compiledTypes.contains(topLevelName)
+                && processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null;
+    }
+}
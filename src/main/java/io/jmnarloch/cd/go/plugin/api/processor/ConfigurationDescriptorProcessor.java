@@ -0,0 +1,467 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.processor;
+
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.Trees;
+import io.jmnarloch.cd.go.plugin.api.annotation.Configuration;
+import io.jmnarloch.cd.go.plugin.api.config.ConfigProperty;
+import io.jmnarloch.cd.go.plugin.api.config.ConfigurationDescriptor;
+import io.jmnarloch.cd.go.plugin.api.config.PropertyName;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the {@link ConfigurationDescriptor} of every {@link Configuration} enum at compile time, so that the
+ * configuration does not need to be introspected at runtime. The property names are read from the string literals
+ * passed to the enum constant constructors, the descriptor is not generated when the name is not a literal or can not
+ * be traced to the {@link PropertyName} field, in which case the enum is introspected at runtime as before. Since the
+ * processor runs before the sources are attributed, the constructor invoked by the constant is matched on the types of
+ * its literal arguments, the enum is introspected at runtime whenever the constructor is ambiguous.
+ *
+ * @author Jakub Narloch
+ */
+@SupportedAnnotationTypes("io.jmnarloch.cd.go.plugin.api.annotation.Configuration")
+public class ConfigurationDescriptorProcessor extends AbstractProcessor {
+
+    /**
+     * The javac syntax trees, null when running within the different compiler.
+     */
+    private Trees trees;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        try {
+            trees = Trees.instance(processingEnv);
+        } catch (IllegalArgumentException e) {
+            trees = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (trees == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Configuration.class)) {
+            if (element.getKind() != ElementKind.ENUM) {
+                continue;
+            }
+            try {
+                generate((TypeElement) element);
+            } catch (UnsupportedEnumException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, String.format(
+                        "The configuration descriptor of %s is not generated, %s", element, e.getMessage()), element);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "The configuration descriptor could not be written: " + e.getMessage(), element);
+            }
+        }
+        // the annotation is not claimed, so that the other processors can handle it as well
+        return false;
+    }
+
+    /**
+     * Generates the configuration descriptor.
+     *
+     * @param type the enum type
+     * @throws UnsupportedEnumException if the property names can not be determined
+     * @throws IOException              if the descriptor could not be written
+     */
+    private void generate(TypeElement type) throws UnsupportedEnumException, IOException {
+
+        final String propertyNameField = getPropertyNameField(type);
+        final Map<ExecutableElement, Integer> nameArguments = new HashMap<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR) {
+                final ExecutableElement constructor = (ExecutableElement) member;
+                nameArguments.put(constructor, getAssignedParameter(constructor, propertyNameField));
+            }
+        }
+
+        final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + ConfigurationDescriptor.SUFFIX;
+
+        final StringBuilder properties = new StringBuilder();
+        final StringBuilder constraints = new StringBuilder();
+        for (Element member : type.getEnclosedElements()) {
+            final ConfigProperty property = member.getAnnotation(ConfigProperty.class);
+            if (member.getKind() != ElementKind.ENUM_CONSTANT || property == null) {
+                continue;
+            }
+            final String name = getPropertyName((VariableElement) member, nameArguments);
+            properties.append(String.format("        configuration.put(%s, property(%s, %s, %s));%n",
+                    literal(name), property.required(), property.secure(),
+                    isBlank(property.defaultValue()) ? "null" : literal(property.defaultValue())));
+            appendConstraints(constraints, literal(name), property);
+        }
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type)
+                .openWriter()) {
+            writer.write(render(packageName, simpleName, type.getQualifiedName().toString(),
+                    properties.toString(), constraints.toString()));
+        }
+    }
+
+    /**
+     * Retrieves the name of the {@link PropertyName} field.
+     *
+     * @param type the enum type
+     * @return the field name
+     * @throws UnsupportedEnumException if there is no such field
+     */
+    private String getPropertyNameField(TypeElement type) throws UnsupportedEnumException {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD && member.getAnnotation(PropertyName.class) != null) {
+                return member.getSimpleName().toString();
+            }
+        }
+        throw new UnsupportedEnumException("no field is annotated with @PropertyName");
+    }
+
+    /**
+     * Retrieves the index of the constructor parameter assigned to the field.
+     *
+     * @param constructor the constructor
+     * @param field       the field name
+     * @return the parameter index or -1 if the field is not assigned directly from the parameter
+     */
+    private int getAssignedParameter(ExecutableElement constructor, String field) {
+        final MethodTree method = trees.getTree(constructor);
+        if (method == null || method.getBody() == null) {
+            return -1;
+        }
+        for (StatementTree statement : method.getBody().getStatements()) {
+            if (!(statement instanceof ExpressionStatementTree)
+                    || !(((ExpressionStatementTree) statement).getExpression() instanceof AssignmentTree)) {
+                continue;
+            }
+            final AssignmentTree assignment = (AssignmentTree) ((ExpressionStatementTree) statement).getExpression();
+            if (field.equals(getAssignedName(assignment.getVariable()))
+                    && assignment.getExpression() instanceof IdentifierTree) {
+                final String parameter = ((IdentifierTree) assignment.getExpression()).getName().toString();
+                final List<? extends VariableElement> parameters = constructor.getParameters();
+                for (int ind = 0; ind < parameters.size(); ind++) {
+                    if (parameters.get(ind).getSimpleName().contentEquals(parameter)) {
+                        return ind;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the name of the assigned field.
+     *
+     * @param variable the assignment target
+     * @return the field name or null
+     */
+    private static String getAssignedName(ExpressionTree variable) {
+        if (variable instanceof IdentifierTree) {
+            return ((IdentifierTree) variable).getName().toString();
+        }
+        if (variable instanceof MemberSelectTree
+                && ((MemberSelectTree) variable).getExpression() instanceof IdentifierTree
+                && ((IdentifierTree) ((MemberSelectTree) variable).getExpression()).getName().contentEquals("this")) {
+            return ((MemberSelectTree) variable).getIdentifier().toString();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the property name passed to the enum constant constructor.
+     *
+     * @param constant      the enum constant
+     * @param nameArguments the index of the property name argument by the constructor, -1 if it is not assigned
+     * @return the property name
+     * @throws UnsupportedEnumException if the property name is not a string literal
+     */
+    private String getPropertyName(VariableElement constant, Map<ExecutableElement, Integer> nameArguments)
+            throws UnsupportedEnumException {
+
+        final Tree tree = trees.getTree(constant);
+        if (tree instanceof VariableTree && ((VariableTree) tree).getInitializer() instanceof NewClassTree) {
+            final List<? extends ExpressionTree> arguments =
+                    ((NewClassTree) ((VariableTree) tree).getInitializer()).getArguments();
+            int index = -1;
+            for (Map.Entry<ExecutableElement, Integer> constructor : nameArguments.entrySet()) {
+                if (isApplicable(constructor.getKey(), arguments)) {
+                    if (index >= 0 && index != constructor.getValue()) {
+                        throw new UnsupportedEnumException("the constructor invoked by " + constant
+                                + " is ambiguous");
+                    }
+                    index = constructor.getValue();
+                }
+            }
+            if (index >= 0 && arguments.get(index) instanceof LiteralTree
+                    && ((LiteralTree) arguments.get(index)).getValue() instanceof String) {
+                return (String) ((LiteralTree) arguments.get(index)).getValue();
+            }
+        }
+        throw new UnsupportedEnumException("the property name of " + constant + " is not a string literal");
+    }
+
+    /**
+     * Returns whether the constructor accepts the arguments, the arguments other than the literals are assumed to be
+     * accepted.
+     *
+     * @param constructor the constructor
+     * @param arguments   the arguments
+     * @return true if the constructor is applicable
+     */
+    private boolean isApplicable(ExecutableElement constructor, List<? extends ExpressionTree> arguments) {
+        final List<? extends VariableElement> parameters = constructor.getParameters();
+        if (parameters.size() != arguments.size()) {
+            return false;
+        }
+        for (int ind = 0; ind < arguments.size(); ind++) {
+            final TypeMirror argument = getLiteralType(arguments.get(ind));
+            final TypeMirror parameter = parameters.get(ind).asType();
+            if (argument != null && !processingEnv.getTypeUtils().isAssignable(argument, parameter)) {
+                return false;
+            }
+            if (argument == null && arguments.get(ind).getKind() == Tree.Kind.NULL_LITERAL
+                    && parameter.getKind().isPrimitive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the type of the literal argument.
+     *
+     * @param argument the argument
+     * @return the literal type or null if the argument is not a literal or is the null literal
+     */
+    private TypeMirror getLiteralType(ExpressionTree argument) {
+        final Types types = processingEnv.getTypeUtils();
+        switch (argument.getKind()) {
+            case STRING_LITERAL:
+                return processingEnv.getElementUtils().getTypeElement(String.class.getName()).asType();
+            case INT_LITERAL:
+                return types.getPrimitiveType(TypeKind.INT);
+            case LONG_LITERAL:
+                return types.getPrimitiveType(TypeKind.LONG);
+            case FLOAT_LITERAL:
+                return types.getPrimitiveType(TypeKind.FLOAT);
+            case DOUBLE_LITERAL:
+                return types.getPrimitiveType(TypeKind.DOUBLE);
+            case BOOLEAN_LITERAL:
+                return types.getPrimitiveType(TypeKind.BOOLEAN);
+            case CHAR_LITERAL:
+                return types.getPrimitiveType(TypeKind.CHAR);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Appends the validation program builder calls, in the same order as
+     * {@code AnnotatedEnumConfigurationProvider} compiles them.
+     *
+     * @param constraints the builder calls
+     * @param name        the property name literal
+     * @param property    the property annotation
+     */
+    private static void appendConstraints(StringBuilder constraints, String name, ConfigProperty property) {
+        if (property.required()) {
+            constraints.append(String.format("%n                .required(%s)", name));
+        }
+        if (property.min() != Long.MIN_VALUE || property.max() != Long.MAX_VALUE) {
+            constraints.append(String.format("%n                .range(%s, %dL, %dL)", name, property.min(),
+                    property.max()));
+        } else if (property.integer()) {
+            constraints.append(String.format("%n                .integer(%s)", name));
+        }
+        if (property.allowedValues().length > 0) {
+            constraints.append(String.format("%n                .allowedValues(%s", name));
+            for (String value : property.allowedValues()) {
+                constraints.append(", ").append(literal(value));
+            }
+            constraints.append(')');
+        }
+        if (!property.pattern().isEmpty()) {
+            constraints.append(String.format("%n                .pattern(%s, %s)", name, literal(property.pattern())));
+        }
+        if (property.url()) {
+            constraints.append(String.format("%n                .url(%s)", name));
+        }
+        if (property.pathExists()) {
+            constraints.append(String.format("%n                .pathExists(%s)", name));
+        }
+    }
+
+    /**
+     * Renders the descriptor source.
+     *
+     * @param packageName the package name
+     * @param simpleName  the descriptor simple name
+     * @param enumName    the enum qualified name
+     * @param properties  the property map statements
+     * @param constraints the validation program builder calls
+     * @return the source
+     */
+    private static String render(String packageName, String simpleName, String enumName, String properties,
+                                 String constraints) {
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append(String.format("package %s;%n%n", packageName));
+        }
+        source.append(String.format("/**%n * The configuration descriptor of {@link %s}, generated by %s.%n */%n",
+                enumName, ConfigurationDescriptorProcessor.class.getSimpleName()));
+        source.append(String.format("public final class %s implements %s {%n%n", simpleName,
+                ConfigurationDescriptor.class.getName()));
+        source.append(String.format("    private static final java.util.Map<String, java.util.Map<String, Object>> "
+                + "CONFIGURATION;%n%n"));
+        source.append(String.format("    static {%n"));
+        source.append(String.format("        final java.util.Map<String, java.util.Map<String, Object>> configuration ="
+                + " new java.util.HashMap<>();%n"));
+        source.append(properties);
+        source.append(String.format("        CONFIGURATION = java.util.Collections.unmodifiableMap(configuration);%n"));
+        source.append(String.format("    }%n%n"));
+        source.append(String.format("    @Override%n"));
+        source.append(String.format("    public java.util.Map getTaskConfiguration() {%n"));
+        source.append(String.format("        return CONFIGURATION;%n"));
+        source.append(String.format("    }%n%n"));
+        source.append(String.format("    @Override%n"));
+        source.append(String.format("    public io.jmnarloch.cd.go.plugin.api.validation.ValidationProgram "
+                + "getValidationProgram() {%n"));
+        source.append(String.format("        return io.jmnarloch.cd.go.plugin.api.validation.ValidationProgram.builder()"
+                + "%s%n                .build();%n", constraints));
+        source.append(String.format("    }%n%n"));
+        source.append(String.format("    private static java.util.Map<String, Object> property(boolean required, "
+                + "boolean secure, String defaultValue) {%n"));
+        source.append(String.format("        final java.util.Map<String, Object> property = "
+                + "new java.util.HashMap<>();%n"));
+        source.append(String.format("        property.put(\"required\", required);%n"));
+        source.append(String.format("        property.put(\"secure\", secure);%n"));
+        source.append(String.format("        if (defaultValue != null) {%n"));
+        source.append(String.format("            property.put(\"default-value\", defaultValue);%n"));
+        source.append(String.format("        }%n"));
+        source.append(String.format("        return property;%n"));
+        source.append(String.format("    }%n"));
+        source.append(String.format("}%n"));
+        return source.toString();
+    }
+
+    /**
+     * Returns whether the value is empty or consists of the whitespace only.
+     *
+     * @param value the value
+     * @return true if the value is blank
+     */
+    private static boolean isBlank(String value) {
+        for (int ind = 0; ind < value.length(); ind++) {
+            if (!Character.isWhitespace(value.charAt(ind))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the Java string literal.
+     *
+     * @param value the value
+     * @return the literal
+     */
+    private static String literal(String value) {
+        final StringBuilder literal = new StringBuilder("\"");
+        for (int ind = 0; ind < value.length(); ind++) {
+            final char c = value.charAt(ind);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20) {
+                literal.append(String.format("\\%03o", (int) c));
+            } else if (c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Signals that the descriptor can not be generated for the enum.
+     */
+    private static final class UnsupportedEnumException extends Exception {
+
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates new instance of {@link UnsupportedEnumException} class.
+         *
+         * @param message the reason
+         */
+        private UnsupportedEnumException(String message) {
+            super(message);
+        }
+    }
+}
@@ -23,33 +23,56 @@ import io.jmnarloch.cd.go.plugin.api.config.AnnotatedEnumConfigurationProvider;
 import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequestDispatcherBuilder;
 import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
 import io.jmnarloch.cd.go.plugin.api.executor.TaskExecutor;
+import io.jmnarloch.cd.go.plugin.api.metrics.StartupProfiler;
 import io.jmnarloch.cd.go.plugin.api.validation.TaskValidator;
 import io.jmnarloch.cd.go.plugin.api.view.TaskView;
 import org.reflections.Reflections;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * An abstract annotation based dispatching task. It scans the specific base packages for annotated classes. It
- * automatically registers any {@link View}, {@link Executor}, {@link Validator} and {@link Configuration} classes.
- * Every class needs to implement a corresponding interface.
+ * An abstract annotation based dispatching task. It looks up the annotated classes within the specific base package.
+ * It automatically registers any {@link View}, {@link Executor}, {@link Validator} and {@link Configuration} classes.
+ * Every class needs to implement a corresponding interface. The {@link Executor} and {@link Validator} can annotate
+ * a method instead, which is bound once through the method handles. The classes are read from the {@link ComponentIndex}
+ * generated at compile time, the classpath is scanned only when there is no index and the Reflections library is
+ * available.
  *
  * @author Jakub Narloch
  */
 public abstract class AbstractAnnotationDispatchingTask extends AbstractDispatchingTask {
 
     /**
-     * The classpath scanning registry.
+     * The Reflections library class, which is not required at runtime.
      */
-    protected final Reflections reflections;
+    private static final String REFLECTIONS_CLASS = "org.reflections.Reflections";
+
+    /**
+     * The component lookup.
+     */
+    protected final ComponentLookup components;
+
+    /**
+     * The base package.
+     */
+    private final String basePackage;
+
+    /**
+     * The classpath scanning lookup, created on first use of the deprecated {@link #getReflections()}.
+     */
+    private ReflectionsComponentLookup reflectionsLookup;
 
     /**
      * Creates new instance of {@link AbstractAnnotationDispatchingTask} with default package initialized to the base
      * class package.
      */
     protected AbstractAnnotationDispatchingTask() {
-        reflections = new Reflections(getClass().getPackage().getName());
+        basePackage = getClass().getPackage().getName();
+        components = createLookup(basePackage);
     }
 
     /**
@@ -59,17 +82,52 @@ public abstract class AbstractAnnotationDispatchingTask extends AbstractDispatch
      * @param basePackage the base package
      */
     protected AbstractAnnotationDispatchingTask(String basePackage) {
-        reflections = new Reflections(basePackage);
+        this.basePackage = basePackage;
+        components = createLookup(basePackage);
+    }
+
+    /**
+     * Creates new instance of {@link AbstractAnnotationDispatchingTask} with specific base package to perform
+     * classpath scanning, sharing the infrastructure of the specific host.
+     *
+     * @param basePackage the base package
+     * @param host        the task host
+     */
+    protected AbstractAnnotationDispatchingTask(String basePackage, TaskHost host) {
+        super(host);
+        this.basePackage = basePackage;
+        components = createLookup(basePackage);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     protected void configureDispatcher(ApiRequestDispatcherBuilder dispatcherBuilder) {
+        final StartupProfiler.Phase phase = StartupProfiler.start("components");
+        try {
+            registerComponents(dispatcherBuilder);
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Instantiates the annotated components and registers them with the dispatcher.
+     *
+     * @param dispatcherBuilder the dispatcher builder
+     */
+    @SuppressWarnings("unchecked")
+    private void registerComponents(ApiRequestDispatcherBuilder dispatcherBuilder) {
+
+        // the instances declaring the annotated methods
+        final Map<Class<?>, Object> targets = new HashMap<>();
 
-        final TaskExecutor executor = getSingleInstance(Executor.class, TaskExecutor.class);
+        TaskExecutor executor = getSingleInstance(Executor.class, TaskExecutor.class);
+        final Method executorMethod = getSingleMethod(Executor.class, executor != null);
+        if (executorMethod != null) {
+            executor = new MethodTaskExecutor(executorMethod, getTarget(executorMethod, targets));
+        }
         if (executor != null) {
             dispatcherBuilder.toExecutor(executor);
         }
@@ -79,7 +137,11 @@ public abstract class AbstractAnnotationDispatchingTask extends AbstractDispatch
             dispatcherBuilder.toView(view);
         }
 
-        final TaskValidator validator = getSingleInstance(Validator.class, TaskValidator.class);
+        TaskValidator validator = getSingleInstance(Validator.class, TaskValidator.class);
+        final Method validatorMethod = getSingleMethod(Validator.class, validator != null);
+        if (validatorMethod != null) {
+            validator = new MethodTaskValidator(validatorMethod, getTarget(validatorMethod, targets));
+        }
         if (validator != null) {
             dispatcherBuilder.toValidator(validator);
         }
@@ -91,6 +153,23 @@ public abstract class AbstractAnnotationDispatchingTask extends AbstractDispatch
         }
     }
 
+    /**
+     * Retrieves the classpath scanning registry of the base package, which replaces the {@code reflections} field of
+     * the earlier versions. The registry is created on first use, unless the components are already looked up by
+     * scanning the classpath, and requires the Reflections library to be added to the plugin.
+     *
+     * @return the classpath scanning registry
+     * @deprecated use the {@link #components} lookup instead
+     */
+    @Deprecated
+    protected synchronized Reflections getReflections() {
+        if (reflectionsLookup == null) {
+            reflectionsLookup = components instanceof ReflectionsComponentLookup
+                    ? (ReflectionsComponentLookup) components : new ReflectionsComponentLookup(basePackage);
+        }
+        return reflectionsLookup.getReflections();
+    }
+
     /**
      * Retrieves the single object instance.
      *
@@ -125,8 +204,8 @@ public abstract class AbstractAnnotationDispatchingTask extends AbstractDispatch
      * @throws PluginException if any error occurs
      */
     protected Class<?> getSingleType(Class<? extends Annotation> annotation) {
-        final Set<Class<?>> types = reflections.getTypesAnnotatedWith(annotation);
-        if (types.size() > 0) {
+        final Set<Class<?>> types = components.getTypesAnnotatedWith(annotation);
+        if (types.size() > 1) {
             throw new PluginException(String.format(
                     "Could not instantiate %s types more then one has been registered: %s",
                     annotation.getSimpleName(), types.toString()));
@@ -137,6 +216,83 @@ public abstract class AbstractAnnotationDispatchingTask extends AbstractDispatch
         return null;
     }
 
+    /**
+     * Retrieves the single annotated method.
+     *
+     * @param annotation the annotation
+     * @param typeFound  whether the annotated type has been found as well
+     * @return the single method or null
+     * @throws PluginException if more then one method or both the method and the type have been annotated
+     */
+    protected Method getSingleMethod(Class<? extends Annotation> annotation, boolean typeFound) {
+        final Set<Method> methods = components.getMethodsAnnotatedWith(annotation);
+        if (methods.size() + (typeFound ? 1 : 0) > 1) {
+            throw new PluginException(String.format(
+                    "Could not bind %s methods more then one component has been registered: %s",
+                    annotation.getSimpleName(), methods.toString()));
+        }
+        if (!methods.isEmpty()) {
+            return methods.iterator().next();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the instance the annotated method is invoked on, the methods declared by the same class share it.
+     *
+     * @param method  the method
+     * @param targets the already created instances
+     * @return the instance, null for the static method
+     */
+    private Object getTarget(Method method, Map<Class<?>, Object> targets) {
+        Object target = targets.get(method.getDeclaringClass());
+        if (target == null) {
+            target = MethodBinder.newTarget(method);
+            targets.put(method.getDeclaringClass(), target);
+            getLifecycle().register(target);
+        }
+        return target;
+    }
+
+    /**
+     * Creates the component lookup, preferring the compile time index over scanning the classpath.
+     *
+     * @param basePackage the base package
+     * @return the component lookup
+     * @throws PluginException if there is neither the index nor the Reflections library
+     */
+    private ComponentLookup createLookup(String basePackage) {
+        final StartupProfiler.Phase phase = StartupProfiler.start("component-lookup");
+        try {
+            return lookup(basePackage);
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Creates the component lookup.
+     *
+     * @param basePackage the base package
+     * @return the component lookup
+     */
+    private ComponentLookup lookup(String basePackage) {
+        final ClassLoader classLoader = getClass().getClassLoader();
+        final ComponentIndex index = ComponentIndex.load(basePackage, classLoader);
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            Class.forName(REFLECTIONS_CLASS, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new PluginException(String.format("No component index has been found for package %s, compile the "
+                    + "plugin with the library on the annotation processor path or add the Reflections library",
+                    basePackage), e);
+        }
+        return new ReflectionsComponentLookup(basePackage);
+    }
+
     /**
      * Verifies that the given class implements specific base type.
      *
@@ -147,7 +303,7 @@ public abstract class AbstractAnnotationDispatchingTask extends AbstractDispatch
      * @param <T>          the expected type
      */
     private <A extends Annotation, T> void verifyRequiredType(Class<?> type, Class<A> annotation, Class<T> expectedType) {
-        if (expectedType.isAssignableFrom(type)) {
+        if (!expectedType.isAssignableFrom(type)) {
             throw new PluginException(String.format(
                     "The type %s annotated with %s does not implement the required type %s",
                     type.getName(),
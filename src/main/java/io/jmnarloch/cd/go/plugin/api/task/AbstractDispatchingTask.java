@@ -29,17 +29,28 @@ import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
 import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequestDispatcher;
 import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequestDispatcherBuilder;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequests;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleRegistry;
 import io.jmnarloch.cd.go.plugin.api.parser.AbstractJsonParser;
+import io.jmnarloch.cd.go.plugin.api.metrics.StartupProfiler;
+import io.jmnarloch.cd.go.plugin.api.metrics.Timer;
 import io.jmnarloch.cd.go.plugin.api.parser.gson.GsonParser;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A base implementation of {@link GoPlugin} that instantiates the {@link ApiRequestDispatcher} that is being used for
- * dispatching the request and delegating the execution towards configured handlers.
+ * dispatching the request and delegating the execution towards configured handlers. Several tasks packaged in the same
+ * plugin jar can share the parser and the metrics by being created with the same {@link TaskHost}, all of them run the
+ * background work on the single thread pool owned by the library.
+ * The lifecycle of every registered component implementing the {@link io.jmnarloch.cd.go.plugin.api.lifecycle.Lifecycle}
+ * is driven by the plugin load and unload hooks.
  *
  * @author Jakub Narloch
  */
@@ -50,6 +61,11 @@ public abstract class AbstractDispatchingTask extends AbstractGoPlugin {
      */
     private static final String TASK_EXTENSION = "task";
 
+    /**
+     * The prefix of the phases profiling the first request of every type.
+     */
+    private static final String FIRST_REQUEST_PHASE = "first-";
+
     /**
      * The logger instance by this class hierarchy.
      */
@@ -61,35 +77,101 @@ public abstract class AbstractDispatchingTask extends AbstractGoPlugin {
     private ApiRequestDispatcher dispatcher;
 
     /**
-     * The JSON parser.
+     * The task host.
+     */
+    private final TaskHost host;
+
+    /**
+     * The lifecycle registry of the task components.
+     */
+    private final LifecycleRegistry lifecycle = new LifecycleRegistry();
+
+    /**
+     * The request timers by the request name.
+     */
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the task retains the library registry.
      */
-    private AbstractJsonParser parser;
+    private final AtomicBoolean loaded = new AtomicBoolean();
 
     /**
      * Creates new instance of {@link AbstractDispatchingTask}.
      */
     public AbstractDispatchingTask() {
-        this.parser = createParser();
+        final StartupProfiler.Phase phase = StartupProfiler.start("task");
+        try {
+            final AbstractJsonParser parser;
+            final StartupProfiler.Phase parserPhase = StartupProfiler.start("parser");
+            try {
+                parser = createParser();
+            } finally {
+                parserPhase.close();
+            }
+            this.host = new TaskHost(parser);
+            lifecycle.register(host);
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Creates new instance of {@link AbstractDispatchingTask} sharing the infrastructure of the specific host.
+     *
+     * @param host the task host
+     */
+    public AbstractDispatchingTask(TaskHost host) {
+        if (host == null) {
+            throw new IllegalArgumentException("The task host can not be null");
+        }
+        this.host = host;
     }
 
     /**
-     * A on load plugin hook. This method will be invoked on successful plugin initialization.
+     * A on load plugin hook. This method will be invoked on successful plugin initialization, it builds the dispatcher
+     * and starts and warms up the registered components, so that it happens before the first job. The resources owned
+     * by the library are retained until the task is unloaded.
      *
      * @param context the plugin context
      */
     @Load
     public void onLoad(PluginContext context) {
-        // empty method
+        final StartupProfiler.Phase phase = StartupProfiler.start("warm-up");
+        try {
+            if (loaded.compareAndSet(false, true)) {
+                LifecycleRegistry.library().retain();
+            }
+            dispatcher();
+            lifecycle.start();
+            lifecycle.warmUp();
+        } finally {
+            phase.close();
+        }
     }
 
     /**
-     * A on unload plugin hook. This method will be invoked on successful plugin initialization.
+     * A on unload plugin hook. This method will be invoked before the plugin is unloaded, it stops the registered
+     * components, including the process tracking executors which terminate the processes forked by their still
+     * running executions, and releases the resources owned by the library, which are stopped once the last loaded
+     * task of the plugin is unloaded.
      *
      * @param context the plugin context
      */
     @UnLoad
     public void onUnload(PluginContext context) {
-        // empty method
+        lifecycle.stop();
+        if (loaded.compareAndSet(true, false)) {
+            LifecycleRegistry.library().release();
+        }
+    }
+
+    /**
+     * Releases the memory of the registered components and of the library that can be recreated on demand.
+     */
+    public void trimMemory() {
+        lifecycle.trimMemory();
+        LifecycleRegistry.library().trimMemory();
     }
 
     /**
@@ -98,15 +180,38 @@ public abstract class AbstractDispatchingTask extends AbstractGoPlugin {
     @Override
     public GoPluginApiResponse handle(GoPluginApiRequest requestMessage) throws UnhandledRequestTypeException {
 
+        final Timer timer = timer(requestMessage.requestName());
+        final long start = System.nanoTime();
+        boolean failed = true;
         try {
             logger.info("Dispatching request: " + requestMessage.requestName());
 
-            // dispatches the request to configured class
-            return dispatcher().dispatch(requestMessage);
+            // dispatches the request to configured class, profiling the first request of every type until both the
+            // first configuration and the first view have been rendered
+            final GoPluginApiResponse response;
+            if (StartupProfiler.isReported()) {
+                response = dispatcher().dispatch(requestMessage);
+            } else {
+                final StartupProfiler.Phase phase =
+                        StartupProfiler.startOnce(FIRST_REQUEST_PHASE + requestMessage.requestName());
+                try {
+                    response = dispatcher().dispatch(requestMessage);
+                } finally {
+                    phase.close();
+                }
+                if (StartupProfiler.isRecorded(FIRST_REQUEST_PHASE + ApiRequests.CONFIGURATION)
+                        && StartupProfiler.isRecorded(FIRST_REQUEST_PHASE + ApiRequests.VIEW)) {
+                    StartupProfiler.logReport();
+                }
+            }
+            failed = response.responseCode() != DefaultGoPluginApiResponse.SUCCESS_RESPONSE_CODE;
+            return response;
         } catch (Exception e) {
             logger.error("Unexpected error occurred when processing request.", e);
 
             return createErrorResponse(e);
+        } finally {
+            timer.record(System.nanoTime() - start, failed);
         }
     }
 
@@ -125,13 +230,46 @@ public abstract class AbstractDispatchingTask extends AbstractGoPlugin {
      */
     protected ApiRequestDispatcher dispatcher() {
         if (dispatcher == null) {
-            dispatcher = buildDispatcher();
+            final StartupProfiler.Phase phase = StartupProfiler.start("dispatcher");
+            try {
+                dispatcher = buildDispatcher();
+            } finally {
+                phase.close();
+            }
         }
         return dispatcher;
     }
 
     /**
-     * Creates new instance of {@link AbstractJsonParser}.
+     * Retrieves the task host.
+     *
+     * @return the task host
+     */
+    protected TaskHost getHost() {
+        return host;
+    }
+
+    /**
+     * Retrieves the lifecycle registry, with which the components not registered with the dispatcher, for instance
+     * the delegates of the task executor decorators, can be registered.
+     *
+     * @return the lifecycle registry
+     */
+    protected LifecycleRegistry getLifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * Retrieves the task name under which the request metrics are recorded.
+     *
+     * @return the task name
+     */
+    protected String getTaskName() {
+        return getClass().getName();
+    }
+
+    /**
+     * Creates new instance of {@link AbstractJsonParser}, used unless the task is created with the {@link TaskHost}.
      *
      * @return the json parser
      */
@@ -154,7 +292,8 @@ public abstract class AbstractDispatchingTask extends AbstractGoPlugin {
      * @return the request dispatcher instance
      */
     protected ApiRequestDispatcher buildDispatcher() {
-        final ApiRequestDispatcherBuilder dispatcherBuilder = ApiRequestDispatcherBuilder.dispatch(parser);
+        final ApiRequestDispatcherBuilder dispatcherBuilder = ApiRequestDispatcherBuilder.dispatch(host.getParser())
+                .withLifecycle(lifecycle);
         configureDispatcher(dispatcherBuilder);
         return dispatcherBuilder.build();
     }
@@ -168,6 +307,21 @@ public abstract class AbstractDispatchingTask extends AbstractGoPlugin {
         // template method to be overridden by subclasses
     }
 
+    /**
+     * Retrieves the timer of the request, creating it on first use.
+     *
+     * @param requestName the request name
+     * @return the request timer
+     */
+    private Timer timer(String requestName) {
+        Timer timer = timers.get(requestName);
+        if (timer == null) {
+            timer = host.getMetrics().timer(getTaskName() + "." + requestName);
+            timers.putIfAbsent(requestName, timer);
+        }
+        return timer;
+    }
+
     /**
      * Creates the error response.
      *
@@ -178,7 +332,7 @@ public abstract class AbstractDispatchingTask extends AbstractGoPlugin {
         final Map body = new HashMap();
         body.put("exception", e.getMessage());
         final DefaultGoPluginApiResponse response = new DefaultGoPluginApiResponse(DefaultGoApiResponse.INTERNAL_ERROR);
-        response.setResponseBody(parser.toJson(body));
+        response.setResponseBody(host.getParser().toJson(body));
         return response;
     }
 }
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The component lookup reading the index written at compile time by the
+ * {@link io.jmnarloch.cd.go.plugin.api.processor.ComponentIndexProcessor}. The indexed classes are loaded only when
+ * they are looked up.
+ *
+ * @author Jakub Narloch
+ */
+public class ComponentIndex implements ComponentLookup {
+
+    /**
+     * The index resource.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/gocd-task-plugin-api/components";
+
+    /**
+     * The separator of the annotation and the type name in the index entry.
+     */
+    public static final char SEPARATOR = '=';
+
+    /**
+     * The separator of the declaring type and the method name in the index entry of the annotated method.
+     */
+    public static final char METHOD_SEPARATOR = '#';
+
+    /**
+     * The class loader.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The indexed type names by the annotation name.
+     */
+    private final Map<String, List<String>> types;
+
+    /**
+     * Creates new instance of {@link ComponentIndex} class.
+     *
+     * @param classLoader the class loader
+     * @param types       the indexed type names by the annotation name
+     */
+    private ComponentIndex(ClassLoader classLoader, Map<String, List<String>> types) {
+        this.classLoader = classLoader;
+        this.types = types;
+    }
+
+    /**
+     * Loads the index of the components within the specific package.
+     *
+     * @param basePackage the base package
+     * @param classLoader the class loader
+     * @return the component index, {@code null} if there is no index on the classpath or none of the indexes, which
+     * may come from the other jars compiled against the library, lists a component within the package
+     * @throws PluginException if the index could not be read
+     */
+    public static ComponentIndex load(String basePackage, ClassLoader classLoader) {
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+
+            final String prefix = basePackage.isEmpty() ? "" : basePackage + ".";
+            final Map<String, List<String>> types = new HashMap<>();
+            while (resources.hasMoreElements()) {
+                try (InputStream input = resources.nextElement().openStream()) {
+                    final BufferedReader reader = new BufferedReader(new InputStreamReader(input,
+                            StandardCharsets.UTF_8));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final int separator = line.indexOf(SEPARATOR);
+                        if (separator < 0 || !line.startsWith(prefix, separator + 1)) {
+                            continue;
+                        }
+                        final String annotation = line.substring(0, separator);
+                        List<String> names = types.get(annotation);
+                        if (names == null) {
+                            names = new ArrayList<>();
+                            types.put(annotation, names);
+                        }
+                        names.add(line.substring(separator + 1));
+                    }
+                }
+            }
+            return types.isEmpty() ? null : new ComponentIndex(classLoader, types);
+        } catch (IOException e) {
+            throw new PluginException("Could not read the component index", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        final List<String> names = types.get(annotation.getName());
+        if (names == null) {
+            return Collections.emptySet();
+        }
+
+        final Set<Class<?>> result = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name.indexOf(METHOD_SEPARATOR) < 0) {
+                result.add(loadClass(name));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Method> getMethodsAnnotatedWith(Class<? extends Annotation> annotation) {
+        final List<String> names = types.get(annotation.getName());
+        if (names == null) {
+            return Collections.emptySet();
+        }
+
+        final Set<Method> result = new LinkedHashSet<>();
+        for (String name : names) {
+            final int separator = name.indexOf(METHOD_SEPARATOR);
+            if (separator < 0) {
+                continue;
+            }
+            final String methodName = name.substring(separator + 1);
+            for (Method method : loadClass(name.substring(0, separator)).getDeclaredMethods()) {
+                if (method.getName().equals(methodName) && method.isAnnotationPresent(annotation)) {
+                    result.add(method);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the indexed class.
+     *
+     * @param name the class name
+     * @return the class
+     * @throws PluginException if the class could not be loaded
+     */
+    private Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new PluginException("Could not load the indexed component " + name, e);
+        }
+    }
+}
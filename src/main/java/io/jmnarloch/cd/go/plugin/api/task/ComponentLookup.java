@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Looks up the task component classes annotated with the specific annotation.
+ *
+ * @author Jakub Narloch
+ */
+public interface ComponentLookup {
+
+    /**
+     * Retrieves the types annotated with the specific annotation.
+     *
+     * @param annotation the annotation
+     * @return the annotated types
+     */
+    Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation);
+
+    /**
+     * Retrieves the methods annotated with the specific annotation.
+     *
+     * @param annotation the annotation
+     * @return the annotated methods
+     */
+    Set<Method> getMethodsAnnotatedWith(Class<? extends Annotation> annotation);
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Binds the annotated component method to the fixed signature once, so that invoking it does not involve any
+ * reflection. Every method parameter is either one of the source arguments or is derived from one of them by the
+ * specific method handle, the parameters can be declared in any order and can be omitted.
+ *
+ * @author Jakub Narloch
+ */
+final class MethodBinder {
+
+    /**
+     * Creates new instance of {@link MethodBinder} class.
+     */
+    private MethodBinder() {
+        // utility class
+    }
+
+    /**
+     * Binds the method.
+     *
+     * @param method      the method
+     * @param target      the instance the method is invoked on, ignored for the static methods
+     * @param sourceTypes the source argument types
+     * @param derived     the handles deriving the parameters from the source arguments, by the parameter type
+     * @return the method handle of type {@code (sourceTypes)Object}, {@code void} methods return {@code null}
+     * @throws PluginException if the method parameters can not be bound
+     */
+    static MethodHandle bind(Method method, Object target, Class<?>[] sourceTypes,
+                             Map<Class<?>, MethodHandle> derived) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(target);
+            }
+
+            final Class<?>[] parameters = method.getParameterTypes();
+            final int[] reorder = new int[parameters.length];
+            for (int ind = 0; ind < parameters.length; ind++) {
+                int source = indexOf(sourceTypes, parameters[ind]);
+                if (source < 0 && derived.containsKey(parameters[ind])) {
+                    final MethodHandle filter = derived.get(parameters[ind]);
+                    source = indexOf(sourceTypes, filter.type().parameterType(0));
+                    handle = MethodHandles.filterArguments(handle, ind, filter);
+                }
+                if (source < 0) {
+                    throw new PluginException(String.format("The parameter %d of %s has unsupported type %s, "
+                                    + "the supported types are %s and %s", ind, method, parameters[ind].getName(),
+                            Arrays.toString(sourceTypes), derived.keySet()));
+                }
+                reorder[ind] = source;
+            }
+
+            handle = MethodHandles.permuteArguments(handle,
+                    MethodType.methodType(handle.type().returnType(), sourceTypes), reorder);
+            return handle.asType(MethodType.methodType(Object.class, sourceTypes));
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new PluginException("Could not bind method " + method, e);
+        }
+    }
+
+    /**
+     * Instantiates the class declaring the instance method.
+     *
+     * @param method the method
+     * @return the instance, null for the static method
+     * @throws PluginException if the class could not be instantiated
+     */
+    static Object newTarget(Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        try {
+            return method.getDeclaringClass().newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new PluginException("Could not instantiate " + method.getDeclaringClass().getName(), e);
+        }
+    }
+
+    /**
+     * Rethrows the exception thrown by the bound method, wrapping the checked exceptions.
+     *
+     * @param method    the method description
+     * @param throwable the thrown exception
+     * @return never returns, declared so that the callers can use {@code throw}
+     */
+    static RuntimeException rethrow(String method, Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new PluginException("The method " + method + " has failed", throwable);
+    }
+
+    /**
+     * Retrieves the index of the type.
+     *
+     * @param types the types
+     * @param type  the type to find
+     * @return the type index, -1 if not found
+     */
+    private static int indexOf(Class<?>[] types, Class<?> type) {
+        for (int ind = 0; ind < types.length; ind++) {
+            if (types[ind] == type) {
+                return ind;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import io.jmnarloch.cd.go.plugin.api.executor.EnvironmentVariables;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionContext;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionResult;
+import io.jmnarloch.cd.go.plugin.api.executor.TaskExecutor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The task executor invoking the method annotated with {@link io.jmnarloch.cd.go.plugin.api.annotation.Executor}. The
+ * method can declare any of the {@link ExecutionContext}, {@link ExecutionConfiguration}, {@link JobConsoleLogger}
+ * and {@link EnvironmentVariables} parameters and return either the {@link ExecutionResult}, the {@code boolean}
+ * success flag or nothing, in which case the execution succeeds unless the method throws an exception.
+ *
+ * @author Jakub Narloch
+ */
+class MethodTaskExecutor implements TaskExecutor {
+
+    /**
+     * The source arguments of the bound method.
+     */
+    private static final Class<?>[] SOURCE_TYPES = {
+            ExecutionContext.class, ExecutionConfiguration.class, JobConsoleLogger.class
+    };
+
+    /**
+     * The method description.
+     */
+    private final String name;
+
+    /**
+     * The bound method.
+     */
+    private final MethodHandle handle;
+
+    /**
+     * Creates new instance of {@link MethodTaskExecutor} class.
+     *
+     * @param method the annotated method
+     * @param target the instance the method is invoked on, ignored for the static methods
+     * @throws PluginException if the method signature is not supported
+     */
+    MethodTaskExecutor(Method method, Object target) {
+        final Class<?> returnType = method.getReturnType();
+        if (returnType != ExecutionResult.class && returnType != boolean.class && returnType != void.class) {
+            throw new PluginException(String.format("The executor method %s needs to return %s, boolean or void",
+                    method, ExecutionResult.class.getSimpleName()));
+        }
+        this.name = method.toString();
+        this.handle = MethodBinder.bind(method, target, SOURCE_TYPES, derivedParameters());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config, JobConsoleLogger console) {
+        final Object result;
+        try {
+            result = (Object) handle.invokeExact(context, config, console);
+        } catch (Throwable e) {
+            throw MethodBinder.rethrow(name, e);
+        }
+
+        if (result instanceof ExecutionResult) {
+            return (ExecutionResult) result;
+        } else if (Boolean.FALSE.equals(result)) {
+            return ExecutionResult.failure("The task has failed");
+        }
+        return ExecutionResult.success("The task has completed");
+    }
+
+    /**
+     * Creates the handles deriving the parameters from the execution arguments.
+     *
+     * @return the derived parameters
+     */
+    private static Map<Class<?>, MethodHandle> derivedParameters() {
+        try {
+            return Collections.<Class<?>, MethodHandle>singletonMap(EnvironmentVariables.class,
+                    MethodHandles.publicLookup().findVirtual(ExecutionContext.class, "getEnvironment",
+                            MethodType.methodType(EnvironmentVariables.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new PluginException("Could not bind the execution context", e);
+        }
+    }
+}
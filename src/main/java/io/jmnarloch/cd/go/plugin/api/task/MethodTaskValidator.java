@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import io.jmnarloch.cd.go.plugin.api.validation.TaskValidator;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationErrors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The task validator invoking the method annotated with {@link io.jmnarloch.cd.go.plugin.api.annotation.Validator}.
+ * The method can declare the {@link Map} of the validated properties, the {@link ExecutionConfiguration} created out
+ * of them and the {@link ValidationErrors} to which the errors are added. The method returns either the
+ * {@link ValidationErrors} or nothing, in which case the errors added to the passed instance are reported.
+ *
+ * @author Jakub Narloch
+ */
+class MethodTaskValidator implements TaskValidator {
+
+    /**
+     * The source arguments of the bound method.
+     */
+    private static final Class<?>[] SOURCE_TYPES = {Map.class, ValidationErrors.class};
+
+    /**
+     * The method description.
+     */
+    private final String name;
+
+    /**
+     * The bound method.
+     */
+    private final MethodHandle handle;
+
+    /**
+     * Creates new instance of {@link MethodTaskValidator} class.
+     *
+     * @param method the annotated method
+     * @param target the instance the method is invoked on, ignored for the static methods
+     * @throws PluginException if the method signature is not supported
+     */
+    MethodTaskValidator(Method method, Object target) {
+        final Class<?> returnType = method.getReturnType();
+        if (returnType != ValidationErrors.class && returnType != void.class) {
+            throw new PluginException(String.format("The validator method %s needs to return %s or void",
+                    method, ValidationErrors.class.getSimpleName()));
+        }
+        this.name = method.toString();
+        this.handle = MethodBinder.bind(method, target, SOURCE_TYPES, derivedParameters());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationErrors validate(Map<String, Object> properties) {
+        final ValidationErrors errors = new ValidationErrors();
+        final Object result;
+        try {
+            result = (Object) handle.invokeExact((Map) properties, errors);
+        } catch (Throwable e) {
+            throw MethodBinder.rethrow(name, e);
+        }
+        return result != null ? (ValidationErrors) result : errors;
+    }
+
+    /**
+     * Creates the handles deriving the parameters from the validated properties.
+     *
+     * @return the derived parameters
+     */
+    private static Map<Class<?>, MethodHandle> derivedParameters() {
+        try {
+            return Collections.<Class<?>, MethodHandle>singletonMap(ExecutionConfiguration.class,
+                    MethodHandles.publicLookup().findConstructor(ExecutionConfiguration.class,
+                            MethodType.methodType(void.class, Map.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new PluginException("Could not bind the execution configuration", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * The component lookup scanning the classpath, used when the plugin has been compiled without the component index and
+ * the Reflections library is available.
+ *
+ * @author Jakub Narloch
+ */
+class ReflectionsComponentLookup implements ComponentLookup {
+
+    /**
+     * The classpath scanning registry.
+     */
+    private final Reflections reflections;
+
+    /**
+     * Creates new instance of {@link ReflectionsComponentLookup} class.
+     *
+     * @param basePackage the base package
+     */
+    ReflectionsComponentLookup(String basePackage) {
+        this.reflections = new Reflections(basePackage, new TypeAnnotationsScanner(), new SubTypesScanner(),
+                new MethodAnnotationsScanner());
+    }
+
+    /**
+     * Retrieves the classpath scanning registry.
+     *
+     * @return the classpath scanning registry
+     */
+    Reflections getReflections() {
+        return reflections;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        return reflections.getTypesAnnotatedWith(annotation);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Method> getMethodsAnnotatedWith(Class<? extends Annotation> annotation) {
+        return reflections.getMethodsAnnotatedWith(annotation);
+    }
+}
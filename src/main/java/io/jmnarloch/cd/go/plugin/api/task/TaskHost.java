@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import io.jmnarloch.cd.go.plugin.api.concurrent.Threads;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.ExecutorLifecycle;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleAdapter;
+import io.jmnarloch.cd.go.plugin.api.lifecycle.LifecycleRegistry;
+import io.jmnarloch.cd.go.plugin.api.metrics.MetricsRegistry;
+import io.jmnarloch.cd.go.plugin.api.parser.AbstractJsonParser;
+import io.jmnarloch.cd.go.plugin.api.parser.gson.GsonParser;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The infrastructure shared by the tasks packaged in the single plugin jar. Every task created with the same host
+ * keeps its own command table, while all of them share the JSON parser and the metrics registry. The tasks created
+ * with the default constructor get the host of their own, the tasks created with the {@link #shared()} host share it
+ * for as long as the plugin class loader lives. Unless the host is created with the specific thread pool, it runs the
+ * background work on the single pool owned by the library, which is also used by the
+ * {@link io.jmnarloch.cd.go.plugin.api.validation.ParallelTaskValidator}, so the tasks of the plugin never allocate
+ * the pools of their own. The library pool is created on first use, shut down once the last task of the plugin is
+ * unloaded and created again on the next use. The specific thread pool is shut down when the host is stopped.
+ *
+ * @author Jakub Narloch
+ */
+public final class TaskHost extends LifecycleAdapter {
+
+    /**
+     * The library thread pool name prefix.
+     */
+    private static final String POOL_NAME = "task-host";
+
+    /**
+     * The JSON parser.
+     */
+    private final AbstractJsonParser parser;
+
+    /**
+     * The metrics registry.
+     */
+    private final MetricsRegistry metrics;
+
+    /**
+     * The thread pool, null if the library pool is used.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Creates new instance of {@link TaskHost} class with the default infrastructure and the specific parser. The
+     * host uses the library thread pool.
+     *
+     * @param parser the JSON parser
+     */
+    public TaskHost(AbstractJsonParser parser) {
+        this(parser, new MetricsRegistry(), null, true);
+    }
+
+    /**
+     * Creates new instance of {@link TaskHost} class.
+     *
+     * @param parser   the JSON parser
+     * @param metrics  the metrics registry
+     * @param executor the thread pool
+     */
+    public TaskHost(AbstractJsonParser parser, MetricsRegistry metrics, ExecutorService executor) {
+        this(parser, metrics, executor, false);
+    }
+
+    /**
+     * Creates new instance of {@link TaskHost} class.
+     *
+     * @param parser      the JSON parser
+     * @param metrics     the metrics registry
+     * @param executor    the thread pool
+     * @param libraryPool whether the library thread pool is used instead
+     */
+    private TaskHost(AbstractJsonParser parser, MetricsRegistry metrics, ExecutorService executor,
+                     boolean libraryPool) {
+        if (parser == null) {
+            throw new IllegalArgumentException("The parser can not be null");
+        }
+        if (metrics == null) {
+            throw new IllegalArgumentException("The metrics registry can not be null");
+        }
+        if (executor == null && !libraryPool) {
+            throw new IllegalArgumentException("The thread pool can not be null");
+        }
+        this.parser = parser;
+        this.metrics = metrics;
+        this.executor = executor;
+    }
+
+    /**
+     * Retrieves the host shared by all of the tasks loaded by the plugin class loader.
+     *
+     * @return the shared host
+     */
+    public static TaskHost shared() {
+        return SharedHost.HOST;
+    }
+
+    /**
+     * Retrieves the JSON parser.
+     *
+     * @return the JSON parser
+     */
+    public AbstractJsonParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Retrieves the metrics registry.
+     *
+     * @return the metrics registry
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Retrieves the thread pool. The library pool is looked up on every call, since it is created again after the
+     * plugin has been unloaded and loaded by the same class loader.
+     *
+     * @return the thread pool
+     */
+    public ExecutorService getExecutor() {
+        return executor != null ? executor : LibraryPool.EXECUTOR.get();
+    }
+
+    /**
+     * Stops the specific thread pool, the library pool is stopped by the library itself.
+     */
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Holds the shared host, which is created when the holder class is first initialized.
+     */
+    private static final class SharedHost {
+
+        /**
+         * The shared host.
+         */
+        private static final TaskHost HOST = new TaskHost(new GsonParser());
+    }
+
+    /**
+     * Holds the library thread pool, which is stopped along with the other resources owned by the library.
+     */
+    private static final class LibraryPool {
+
+        /**
+         * The library thread pool.
+         */
+        private static final ExecutorLifecycle<ExecutorService> EXECUTOR = new ExecutorLifecycle<ExecutorService>() {
+            @Override
+            protected ExecutorService create() {
+                return Threads.newExecutor(POOL_NAME, Math.max(2, Runtime.getRuntime().availableProcessors()));
+            }
+        };
+
+        static {
+            LifecycleRegistry.library().register(EXECUTOR);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.util;
+
+/**
+ * The string utilities used instead of bundling the Commons Lang library into every plugin.
+ *
+ * @author Jakub Narloch
+ */
+public final class Strings {
+
+    /**
+     * Creates new instance of {@link Strings} class.
+     */
+    private Strings() {
+        // utility class
+    }
+
+    /**
+     * Returns whether the value is {@code null}, empty or consists only of whitespace characters.
+     *
+     * @param value the value
+     * @return true if the value is blank
+     */
+    public static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int ind = 0; ind < value.length(); ind++) {
+            if (!Character.isWhitespace(value.charAt(ind))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -15,22 +15,51 @@
  */
 package io.jmnarloch.cd.go.plugin.api.validation;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * The base task configuration validator.
+ * The base task configuration validator. The validation can be expressed either by overriding the
+ * {@link #validate(Map, ValidationErrors)} method or by registering the {@link ValidationRule}s together with the
+ * fields they read. The rules registered as pure are validated incrementally, every such rule remembers the errors
+ * reported for the most recent snapshots of its input fields and is run again only when those fields have changed,
+ * which is the usual case when the user edits single field of a large configuration. Only the rules depending solely
+ * on the values of the declared input fields can be pure, the rules checking the file system or the external tools
+ * are run on every validation.
  *
  * @author Jakub Narloch
  */
 public abstract class AbstractTaskValidator implements TaskValidator {
 
     /**
-     * Template method for performing the validation.
+     * The number of the recent input snapshots remembered by every rule.
+     */
+    private static final int SNAPSHOT_HISTORY = 8;
+
+    /**
+     * The registered validation rules.
+     */
+    private final List<RegisteredRule> rules = new CopyOnWriteArrayList<>();
+
+    /**
+     * Template method for performing the validation. By default validates the registered rules, reusing the errors
+     * of the pure rules whose input fields have not changed.
      *
      * @param properties the task configuration
      * @param errors any task validation errors
      */
-    public abstract void validate(Map<String, Object> properties, ValidationErrors errors);
+    public void validate(Map<String, Object> properties, ValidationErrors errors) {
+
+        for (RegisteredRule rule : rules) {
+            final String error = rule.validate(properties);
+            final String propertyName = rule.rule.getPropertyName();
+            if (error != null && !errors.hasError(propertyName)) {
+                errors.addError(propertyName, error);
+            }
+        }
+    }
 
     /**
      * {@inheritDoc}
@@ -43,6 +72,35 @@ public abstract class AbstractTaskValidator implements TaskValidator {
         return errors;
     }
 
+    /**
+     * Registers the validation rule, which is run on every validation.
+     *
+     * @param rule the validation rule
+     */
+    protected void registerRule(ValidationRule rule) {
+        registerRule(rule, false);
+    }
+
+    /**
+     * Registers the validation rule. The errors of the pure rule are reused as long as its input fields do not
+     * change.
+     *
+     * @param rule        the validation rule
+     * @param pure        whether the rule depends only on the values of its input fields
+     * @param inputFields the names of the properties read by the rule, by default the rule property only
+     * @throws IllegalArgumentException if the rule or any of the input fields is null
+     */
+    protected void registerRule(ValidationRule rule, boolean pure, String... inputFields) {
+        if (rule == null) {
+            throw new IllegalArgumentException("The validation rule can not be null");
+        }
+        if (inputFields == null || Arrays.asList(inputFields).contains(null)) {
+            throw new IllegalArgumentException("The input fields can not be null");
+        }
+        rules.add(new RegisteredRule(rule, pure,
+                inputFields.length > 0 ? inputFields : new String[]{rule.getPropertyName()}));
+    }
+
     /**
      * Retrieves the specific property value.
      *
@@ -57,4 +115,86 @@ public abstract class AbstractTaskValidator implements TaskValidator {
         }
         return (String) ((Map) properties.get(propertyName)).get("value");
     }
+
+    /**
+     * The registered rule along with the recently validated snapshots of its input fields.
+     */
+    private final class RegisteredRule {
+
+        /**
+         * The validation rule.
+         */
+        private final ValidationRule rule;
+
+        /**
+         * Whether the errors can be reused for the same input.
+         */
+        private final boolean pure;
+
+        /**
+         * The input fields.
+         */
+        private final String[] inputFields;
+
+        /**
+         * The recent input snapshots, used as the ring buffer.
+         */
+        private final String[][] snapshots = new String[SNAPSHOT_HISTORY][];
+
+        /**
+         * The errors reported for the recent snapshots.
+         */
+        private final String[] errors = new String[SNAPSHOT_HISTORY];
+
+        /**
+         * The next snapshot slot to be overwritten.
+         */
+        private int next;
+
+        /**
+         * Creates new instance of {@link RegisteredRule} class.
+         *
+         * @param rule        the validation rule
+         * @param pure        whether the errors can be reused for the same input
+         * @param inputFields the input fields
+         */
+        private RegisteredRule(ValidationRule rule, boolean pure, String[] inputFields) {
+            this.rule = rule;
+            this.pure = pure;
+            this.inputFields = inputFields.clone();
+        }
+
+        /**
+         * Validates the configuration, reusing the error of the already validated snapshot of the pure rule.
+         *
+         * @param properties the task configuration
+         * @return the error message or null
+         */
+        private String validate(Map<String, Object> properties) {
+            if (!pure) {
+                return rule.validate(properties);
+            }
+
+            final String[] snapshot = new String[inputFields.length];
+            for (int ind = 0; ind < inputFields.length; ind++) {
+                snapshot[ind] = getProperty(properties, inputFields[ind]);
+            }
+
+            synchronized (this) {
+                for (int ind = 0; ind < SNAPSHOT_HISTORY; ind++) {
+                    if (Arrays.equals(snapshots[ind], snapshot)) {
+                        return errors[ind];
+                    }
+                }
+            }
+
+            final String error = rule.validate(properties);
+            synchronized (this) {
+                snapshots[next] = snapshot;
+                errors[next] = error;
+                next = (next + 1) % SNAPSHOT_HISTORY;
+            }
+            return error;
+        }
+    }
 }
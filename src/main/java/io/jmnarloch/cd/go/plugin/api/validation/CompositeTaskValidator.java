@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.validation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The validator that combines the errors of the multiple validators. The first error reported for the property takes
+ * precedence.
+ *
+ * @author Jakub Narloch
+ */
+public class CompositeTaskValidator implements TaskValidator {
+
+    /**
+     * The delegated validators.
+     */
+    private final List<TaskValidator> validators;
+
+    /**
+     * Creates new instance of {@link CompositeTaskValidator} class.
+     *
+     * @param validators the delegated validators
+     */
+    public CompositeTaskValidator(TaskValidator... validators) {
+        if (validators == null || Arrays.asList(validators).contains(null)) {
+            throw new IllegalArgumentException("The delegated validators can not be null");
+        }
+        this.validators = Arrays.asList(validators);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationErrors validate(Map<String, Object> properties) {
+
+        final ValidationErrors errors = new ValidationErrors();
+        for (TaskValidator validator : validators) {
+            for (Map.Entry<String, String> error : validator.validate(properties).getErrors().entrySet()) {
+                if (!errors.hasError(error.getKey())) {
+                    errors.addError(error.getKey(), error.getValue());
+                }
+            }
+        }
+        return errors;
+    }
+}
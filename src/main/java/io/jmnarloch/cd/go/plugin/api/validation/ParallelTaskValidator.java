@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.validation;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import io.jmnarloch.cd.go.plugin.api.task.TaskHost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The validator that runs the expensive validation rules, like probing the file system or running the tool binaries,
+ * concurrently on the bounded pool, by default the library pool of the {@link TaskHost}. The whole validation is
+ * bounded by the deadline, every rule that is still pending when it passes is cancelled and reports the error instead
+ * of blocking the server request thread. When multiple rules report errors for the same property, the first
+ * registered rule takes precedence.
+ *
+ * @author Jakub Narloch
+ */
+public class ParallelTaskValidator implements TaskValidator {
+
+    /**
+     * The default validation deadline.
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * The logger instance by this class hierarchy.
+     */
+    private final Logger logger = Logger.getLoggerFor(getClass());
+
+    /**
+     * The executor running the rules, null if the library pool is used.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The validation deadline.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * The validation rules.
+     */
+    private final List<ValidationRule> rules;
+
+    /**
+     * Creates new instance of {@link ParallelTaskValidator} class using the library pool and the default deadline.
+     *
+     * @param rules the validation rules
+     */
+    public ParallelTaskValidator(ValidationRule... rules) {
+        this(DEFAULT_TIMEOUT_MILLIS, rules);
+    }
+
+    /**
+     * Creates new instance of {@link ParallelTaskValidator} class using the library pool.
+     *
+     * @param timeoutMillis the validation deadline
+     * @param rules         the validation rules
+     */
+    public ParallelTaskValidator(long timeoutMillis, ValidationRule... rules) {
+        this(timeoutMillis, rules, null);
+    }
+
+    /**
+     * Creates new instance of {@link ParallelTaskValidator} class.
+     *
+     * @param executor      the executor running the rules
+     * @param timeoutMillis the validation deadline
+     * @param rules         the validation rules
+     */
+    public ParallelTaskValidator(ExecutorService executor, long timeoutMillis, ValidationRule... rules) {
+        this(timeoutMillis, rules, executor);
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor can not be null");
+        }
+    }
+
+    /**
+     * Creates new instance of {@link ParallelTaskValidator} class.
+     *
+     * @param timeoutMillis the validation deadline
+     * @param rules         the validation rules
+     * @param executor      the executor running the rules or null if the library pool is used
+     */
+    private ParallelTaskValidator(long timeoutMillis, ValidationRule[] rules, ExecutorService executor) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("The validation deadline has to be positive");
+        }
+        if (rules == null || Arrays.asList(rules).contains(null)) {
+            throw new IllegalArgumentException("The validation rules can not be null");
+        }
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.rules = Arrays.asList(rules);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationErrors validate(final Map<String, Object> properties) {
+
+        final List<Callable<String>> tasks = new ArrayList<>(rules.size());
+        for (final ValidationRule rule : rules) {
+            tasks.add(new Callable<String>() {
+                @Override
+                public String call() {
+                    return rule.validate(properties);
+                }
+            });
+        }
+
+        final List<Future<String>> results;
+        try {
+            results = getExecutor().invokeAll(tasks, timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return couldNotVerify(rules, "the validation has been interrupted");
+        }
+
+        final ValidationErrors errors = new ValidationErrors();
+        for (int ind = 0; ind < rules.size(); ind++) {
+            final String property = rules.get(ind).getPropertyName();
+            final String error = getError(rules.get(ind), results.get(ind));
+            if (error != null && !errors.hasError(property)) {
+                errors.addError(property, error);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Retrieves the executor running the rules. The library pool is looked up on every validation, since it is
+     * created again after the plugin has been unloaded and loaded by the same class loader.
+     *
+     * @return the executor
+     */
+    private ExecutorService getExecutor() {
+        return executor != null ? executor : TaskHost.shared().getExecutor();
+    }
+
+    /**
+     * Retrieves the error reported by the completed rule.
+     *
+     * @param rule   the rule
+     * @param result the rule result
+     * @return the error or null
+     */
+    private String getError(ValidationRule rule, Future<String> result) {
+        try {
+            return result.get();
+        } catch (CancellationException e) {
+            return couldNotVerify(rule, String.format("the check did not complete within %d ms", timeoutMillis));
+        } catch (ExecutionException e) {
+            logger.warn("The validation of " + rule.getPropertyName() + " failed", e.getCause());
+            return couldNotVerify(rule, String.valueOf(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return couldNotVerify(rule, "the validation has been interrupted");
+        }
+    }
+
+    /**
+     * Reports every rule as unverified.
+     *
+     * @param rules  the rules
+     * @param reason the reason
+     * @return the validation errors
+     */
+    private static ValidationErrors couldNotVerify(List<ValidationRule> rules, String reason) {
+        final ValidationErrors errors = new ValidationErrors();
+        for (ValidationRule rule : rules) {
+            errors.addError(rule.getPropertyName(), couldNotVerify(rule, reason));
+        }
+        return errors;
+    }
+
+    /**
+     * Creates the error message of the unverified rule.
+     *
+     * @param rule   the rule
+     * @param reason the reason
+     * @return the error message
+     */
+    private static String couldNotVerify(ValidationRule rule, String reason) {
+        return String.format("Could not verify %s: %s", rule.getPropertyName(), reason);
+    }
+}
@@ -15,28 +15,73 @@
  */
 package io.jmnarloch.cd.go.plugin.api.validation;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * Stores the validation errors.
+ * Stores the validation errors in the order they have been registered. The error map is allocated only when the
+ * first error is registered, so the successful validation does not allocate any collection.
  *
  * @author Jakub Narloch
  */
 public final class ValidationErrors {
 
     /**
-     * Key/value map of the validation errors, where the as key should be registered the property name.
+     * The shared immutable instance without any errors.
      */
-    private final Map<String, String> errors = new HashMap<String, String>();
+    private static final ValidationErrors NONE = new ValidationErrors(true);
+
+    /**
+     * Key/value map of the validation errors, where the as key should be registered the property name, null until
+     * the first error is registered.
+     */
+    private Map<String, String> errors;
+
+    /**
+     * Whether the instance is immutable.
+     */
+    private final boolean immutable;
+
+    /**
+     * Creates new instance of {@link ValidationErrors} class.
+     */
+    public ValidationErrors() {
+        this(false);
+    }
+
+    /**
+     * Creates new instance of {@link ValidationErrors} class.
+     *
+     * @param immutable whether the instance is immutable
+     */
+    private ValidationErrors(boolean immutable) {
+        this.immutable = immutable;
+    }
+
+    /**
+     * Retrieves the shared immutable instance without any errors.
+     *
+     * @return the validation errors
+     */
+    public static ValidationErrors none() {
+        return NONE;
+    }
 
     /**
      * Registers new validation error with specific key and optional error message.
      *
      * @param key the error key
      * @param message the validation message
+     * @throws UnsupportedOperationException if this is the shared {@link #none()} instance
      */
     public void addError(String key, String message) {
+        if (immutable) {
+            throw new UnsupportedOperationException("The shared validation errors instance can not be modified");
+        }
+        if (errors == null) {
+            errors = new LinkedHashMap<>(4);
+        }
         errors.put(key, message);
     }
 
@@ -46,7 +91,17 @@ public final class ValidationErrors {
      * @return the validation errors
      */
     public boolean hasErrors() {
-        return !errors.isEmpty();
+        return errors != null && !errors.isEmpty();
+    }
+
+    /**
+     * Returns whether the error has been registered for the specific key.
+     *
+     * @param key the error key
+     * @return true if the error has been registered
+     */
+    public boolean hasError(String key) {
+        return errors != null && errors.containsKey(key);
     }
 
     /**
@@ -55,6 +110,6 @@ public final class ValidationErrors {
      * @return the validation errors
      */
     public Map<String, String> getErrors() {
-        return errors;
+        return errors != null ? errors : Collections.<String, String>emptyMap();
     }
 }
@@ -0,0 +1,389 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.validation;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The compiled configuration validator. The constraints are flattened into the list of instructions, each checking
+ * single property, with all of the regular expressions and the allowed value sets prepared up front. Every property
+ * value is retrieved only once per validation and only the first violated constraint of the property is reported.
+ * The empty values are checked only against the {@code required} constraint.
+ *
+ * @author Jakub Narloch
+ */
+public final class ValidationProgram implements TaskValidator {
+
+    /**
+     * The required value instruction.
+     */
+    private static final byte REQUIRED = 0;
+
+    /**
+     * The regular expression instruction.
+     */
+    private static final byte PATTERN = 1;
+
+    /**
+     * The integer number instruction.
+     */
+    private static final byte INTEGER = 2;
+
+    /**
+     * The numeric range instruction.
+     */
+    private static final byte RANGE = 3;
+
+    /**
+     * The allowed values instruction.
+     */
+    private static final byte ALLOWED_VALUES = 4;
+
+    /**
+     * The existing path instruction.
+     */
+    private static final byte PATH_EXISTS = 5;
+
+    /**
+     * The URL syntax instruction.
+     */
+    private static final byte URL = 6;
+
+    /**
+     * The validated property names.
+     */
+    private final String[] properties;
+
+    /**
+     * The instruction opcodes.
+     */
+    private final byte[] opcodes;
+
+    /**
+     * The index of the property checked by each instruction.
+     */
+    private final int[] operands;
+
+    /**
+     * The instruction constants, the compiled pattern, the range bounds or the set of allowed values.
+     */
+    private final Object[] constants;
+
+    /**
+     * The instruction error messages.
+     */
+    private final String[] messages;
+
+    /**
+     * Creates new instance of {@link ValidationProgram} class.
+     *
+     * @param builder the builder
+     */
+    private ValidationProgram(Builder builder) {
+        this.properties = builder.properties.toArray(new String[builder.properties.size()]);
+        this.opcodes = new byte[builder.opcodes.size()];
+        this.operands = new int[opcodes.length];
+        for (int ind = 0; ind < opcodes.length; ind++) {
+            opcodes[ind] = builder.opcodes.get(ind);
+            operands[ind] = builder.operands.get(ind);
+        }
+        this.constants = builder.constants.toArray();
+        this.messages = builder.messages.toArray(new String[opcodes.length]);
+    }
+
+    /**
+     * Creates new program builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns whether the program has no instructions.
+     *
+     * @return true if there is nothing to validate
+     */
+    public boolean isEmpty() {
+        return opcodes.length == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationErrors validate(Map<String, Object> configuration) {
+
+        final ValidationErrors errors = new ValidationErrors();
+        final String[] values = new String[properties.length];
+        final boolean[] failed = new boolean[properties.length];
+        for (int ind = 0; ind < values.length; ind++) {
+            values[ind] = getValue(configuration, properties[ind]);
+        }
+
+        for (int ind = 0; ind < opcodes.length; ind++) {
+            final int property = operands[ind];
+            final String value = values[property];
+            if (failed[property] || (opcodes[ind] != REQUIRED && (value == null || value.isEmpty()))) {
+                continue;
+            }
+            if (!check(opcodes[ind], constants[ind], value)) {
+                failed[property] = true;
+                errors.addError(properties[property], messages[ind]);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Executes the single instruction.
+     *
+     * @param opcode   the instruction opcode
+     * @param constant the instruction constant
+     * @param value    the property value
+     * @return whether the value satisfies the constraint
+     */
+    private static boolean check(byte opcode, Object constant, String value) {
+        switch (opcode) {
+            case REQUIRED:
+                return value != null && !value.trim().isEmpty();
+            case PATTERN:
+                return ((Pattern) constant).matcher(value).matches();
+            case INTEGER:
+                return parseLong(value) != null;
+            case RANGE:
+                final Long number = parseLong(value);
+                final long[] bounds = (long[]) constant;
+                return number != null && number >= bounds[0] && number <= bounds[1];
+            case ALLOWED_VALUES:
+                return ((Set) constant).contains(value);
+            case PATH_EXISTS:
+                return new File(value).exists();
+            case URL:
+                return isUrl(value);
+            default:
+                throw new IllegalStateException("Unknown instruction: " + opcode);
+        }
+    }
+
+    /**
+     * Parses the integer number.
+     *
+     * @param value the value
+     * @return the number or null if the value is not a number
+     */
+    private static Long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the value is an absolute URL.
+     *
+     * @param value the value
+     * @return true if the value is an URL
+     */
+    private static boolean isUrl(String value) {
+        try {
+            final URI uri = new URI(value);
+            return uri.isAbsolute() && (uri.getHost() != null || "file".equalsIgnoreCase(uri.getScheme()));
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves the property value.
+     *
+     * @param configuration the configuration
+     * @param name          the property name
+     * @return the property value or null if not present
+     */
+    private static String getValue(Map<String, Object> configuration, String name) {
+        final Object property = configuration.get(name);
+        if (!(property instanceof Map)) {
+            return null;
+        }
+        final Object value = ((Map) property).get("value");
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * The {@link ValidationProgram} builder. The constraints are checked in the order they have been added.
+     *
+     * @author Jakub Narloch
+     */
+    public static final class Builder {
+
+        /**
+         * The validated property names.
+         */
+        private final List<String> properties = new ArrayList<>();
+
+        /**
+         * The instruction opcodes.
+         */
+        private final List<Byte> opcodes = new ArrayList<>();
+
+        /**
+         * The instruction operands.
+         */
+        private final List<Integer> operands = new ArrayList<>();
+
+        /**
+         * The instruction constants.
+         */
+        private final List<Object> constants = new ArrayList<>();
+
+        /**
+         * The instruction error messages.
+         */
+        private final List<String> messages = new ArrayList<>();
+
+        /**
+         * Creates new instance of {@link Builder} class.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Requires the property to have non blank value.
+         *
+         * @param property the property name
+         * @return the builder
+         */
+        public Builder required(String property) {
+            return add(REQUIRED, property, null, String.format("%s is required", property));
+        }
+
+        /**
+         * Requires the property value to match the regular expression.
+         *
+         * @param property the property name
+         * @param regex    the regular expression
+         * @return the builder
+         * @throws IllegalArgumentException if the regular expression is invalid
+         */
+        public Builder pattern(String property, String regex) {
+            return add(PATTERN, property, Pattern.compile(regex),
+                    String.format("%s must match the pattern %s", property, regex));
+        }
+
+        /**
+         * Requires the property value to be an integer number.
+         *
+         * @param property the property name
+         * @return the builder
+         */
+        public Builder integer(String property) {
+            return add(INTEGER, property, null, String.format("%s must be an integer number", property));
+        }
+
+        /**
+         * Requires the property value to be an integer number within the range.
+         *
+         * @param property the property name
+         * @param min      the minimal value, inclusive
+         * @param max      the maximal value, inclusive
+         * @return the builder
+         * @throws IllegalArgumentException if the range is empty
+         */
+        public Builder range(String property, long min, long max) {
+            if (min > max) {
+                throw new IllegalArgumentException(String.format(
+                        "The property %s minimal value %d is greater than the maximal value %d", property, min, max));
+            }
+            return add(RANGE, property, new long[]{min, max},
+                    String.format("%s must be an integer number between %d and %d", property, min, max));
+        }
+
+        /**
+         * Requires the property value to be one of the allowed values.
+         *
+         * @param property the property name
+         * @param values   the allowed values
+         * @return the builder
+         */
+        public Builder allowedValues(String property, String... values) {
+            return add(ALLOWED_VALUES, property, new HashSet<>(Arrays.asList(values)),
+                    String.format("%s must be one of %s", property, Arrays.toString(values)));
+        }
+
+        /**
+         * Requires the property value to be a path to the existing file or directory.
+         *
+         * @param property the property name
+         * @return the builder
+         */
+        public Builder pathExists(String property) {
+            return add(PATH_EXISTS, property, null, String.format("%s must be an existing path", property));
+        }
+
+        /**
+         * Requires the property value to be an absolute URL.
+         *
+         * @param property the property name
+         * @return the builder
+         */
+        public Builder url(String property) {
+            return add(URL, property, null, String.format("%s must be a valid URL", property));
+        }
+
+        /**
+         * Builds the validation program.
+         *
+         * @return the validation program
+         */
+        public ValidationProgram build() {
+            return new ValidationProgram(this);
+        }
+
+        /**
+         * Adds the instruction.
+         *
+         * @param opcode   the opcode
+         * @param property the property name
+         * @param constant the constant
+         * @param message  the error message
+         * @return the builder
+         */
+        private Builder add(byte opcode, String property, Object constant, String message) {
+            int operand = properties.indexOf(property);
+            if (operand < 0) {
+                operand = properties.size();
+                properties.add(property);
+            }
+            opcodes.add(opcode);
+            operands.add(operand);
+            constants.add(constant);
+            messages.add(message);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.validation;
+
+import java.util.Map;
+
+/**
+ * The single validation rule, checking the value of one property. The rules are independent of each other, so that
+ * they can be run concurrently.
+ *
+ * @author Jakub Narloch
+ */
+public interface ValidationRule {
+
+    /**
+     * Retrieves the name of the property the errors are reported for.
+     *
+     * @return the property name
+     */
+    String getPropertyName();
+
+    /**
+     * Validates the configuration.
+     *
+     * @param properties the task configuration
+     * @return the error message or null if the configuration is valid
+     */
+    String validate(Map<String, Object> properties);
+}
@@ -15,15 +15,9 @@
  */
 package io.jmnarloch.cd.go.plugin.api.view;
 
-import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
-import org.apache.commons.io.IOUtils;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-
 /**
- * The base task view.
+ * The base task view. The template is loaded with the {@link TemplateLoader}, which prefers the template minified at
+ * build time.
  *
  * @author Jakub Narloch
  */
@@ -59,16 +53,21 @@ public abstract class AbstractTaskView implements TaskView {
         return displayValue;
     }
 
+    /**
+     * Retrieves the classpath location of the template file.
+     *
+     * @return the template path
+     */
+    public String getTemplatePath() {
+        return templatePath;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String template() {
 
-        try (InputStream inputStream = getClass().getResourceAsStream(templatePath)) {
-            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            throw new PluginException("The view template could not be loaded.", e);
-        }
+        return TemplateLoader.load(getClass(), templatePath);
     }
 }
@@ -15,12 +15,17 @@
  */
 package io.jmnarloch.cd.go.plugin.api.view;
 
+import io.jmnarloch.cd.go.plugin.api.lifecycle.Lifecycle;
+import io.jmnarloch.cd.go.plugin.api.parser.JsonStreamWriter;
+
 /**
- * A cacheable task view.
+ * A cacheable task view. The values are retrieved from the delegated view once and serialized along with the view
+ * response, after that they are read without any locking. The values are retrieved when the view is warmed up and
+ * released, together with the serialized response, when its memory is trimmed.
  *
  * @author Jakub Narloch
  */
-public class CachingTaskView implements TaskView {
+public class CachingTaskView implements SerializedTaskView, Lifecycle {
 
     /**
      * The delegates task view.
@@ -33,14 +38,9 @@ public class CachingTaskView implements TaskView {
     private final Object syncObject = new Object();
 
     /**
-     * The task title.
-     */
-    private String displayValue;
-
-    /**
-     * The task view.
+     * The cached values, null until retrieved.
      */
-    private String template;
+    private volatile CachedView cachedView;
 
     /**
      * Creates new instance of {@link CachingTaskView} class.
@@ -57,13 +57,7 @@ public class CachingTaskView implements TaskView {
      */
     @Override
     public String displayValue() {
-
-        synchronized (syncObject) {
-            if(displayValue == null) {
-                displayValue = delegate.displayValue();
-            }
-        }
-        return displayValue;
+        return getCachedView().displayValue;
     }
 
     /**
@@ -71,12 +65,116 @@ public class CachingTaskView implements TaskView {
      */
     @Override
     public String template() {
+        return getCachedView().template;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String serializedView() {
+        return getCachedView().body;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        // empty method
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmUp() {
+        getCachedView();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimMemory() {
+        cachedView = null;
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        // empty method
+    }
+
+    /**
+     * Replaces the cached template. The readers see either the previous or the new template.
+     *
+     * @param template the new template
+     */
+    protected void updateTemplate(String template) {
         synchronized (syncObject) {
-            if(template == null) {
-                template = delegate.template();
+            final CachedView view = cachedView;
+            cachedView = new CachedView(view != null ? view.displayValue : delegate.displayValue(), template);
+        }
+    }
+
+    /**
+     * Retrieves the cached values, retrieving them from the delegated view if needed.
+     *
+     * @return the cached values
+     */
+    private CachedView getCachedView() {
+
+        CachedView view = cachedView;
+        if(view == null) {
+            synchronized (syncObject) {
+                view = cachedView;
+                if(view == null) {
+                    view = new CachedView(delegate.displayValue(), delegate.template());
+                    cachedView = view;
+                }
             }
         }
-        return template;
+        return view;
+    }
+
+    /**
+     * The cached values along with the serialized view response.
+     */
+    private static final class CachedView {
+
+        /**
+         * The task title.
+         */
+        private final String displayValue;
+
+        /**
+         * The task view.
+         */
+        private final String template;
+
+        /**
+         * The serialized view response.
+         */
+        private final String body;
+
+        /**
+         * Creates new instance of {@link CachedView} class.
+         *
+         * @param displayValue the display value
+         * @param template     the template
+         */
+        private CachedView(String displayValue, String template) {
+            this.displayValue = displayValue;
+            this.template = template;
+            this.body = new JsonStreamWriter(template != null ? template.length() + 64 : 64)
+                    .beginObject()
+                    .name("displayValue").value(displayValue)
+                    .name("template").value(template)
+                    .endObject()
+                    .toString();
+        }
     }
 }
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+/**
+ * The task view composed out of the fragments with the {@link TemplateRegistry}. The tasks of the plugin should share
+ * the single registry.
+ *
+ * @author Jakub Narloch
+ */
+public class ComposedTaskView extends AbstractTaskView {
+
+    /**
+     * The template registry.
+     */
+    private final TemplateRegistry registry;
+
+    /**
+     * Creates new instance of {@link ComposedTaskView} class.
+     *
+     * @param displayValue the display name
+     * @param templatePath the path to the template file
+     * @param registry     the template registry
+     */
+    public ComposedTaskView(String displayValue, String templatePath, TemplateRegistry registry) {
+        super(displayValue, templatePath);
+        if (registry == null) {
+            throw new IllegalArgumentException("The template registry can not be null");
+        }
+        this.registry = registry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String template() {
+        return registry.getTemplate(getTemplatePath());
+    }
+}
@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import io.jmnarloch.cd.go.plugin.api.concurrent.Threads;
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The development mode task view, that serves the template straight from the source file and replaces the cached
+ * template whenever the file changes, so that the edits show up without reinstalling the plugin. The development
+ * mode is enabled by pointing the {@value #TEMPLATES_DIR_PROPERTY} system property to the directory the template
+ * paths are resolved against, usually {@code src/main/resources}. Without it the views are only cached. The
+ * {@link ComposedTaskView}s are only cached, since the source file does not contain the included fragments. The
+ * changes are coalesced over a short delay, so that a file being written is read only once complete.
+ *
+ * @author Jakub Narloch
+ */
+public class HotReloadingTaskView extends CachingTaskView implements Closeable {
+
+    /**
+     * The system property specifying the templates source directory.
+     */
+    public static final String TEMPLATES_DIR_PROPERTY = "go.plugin.templates.dir";
+
+    /**
+     * The time without any further change after which the template is reloaded.
+     */
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    /**
+     * The interval of checking whether the view is still in use, when there are no changes.
+     */
+    private static final long IDLE_CHECK_SECONDS = 10;
+
+    /**
+     * The logger instance by this class hierarchy.
+     */
+    private final Logger logger = Logger.getLoggerFor(getClass());
+
+    /**
+     * The template file.
+     */
+    private final Path templateFile;
+
+    /**
+     * The file watch service.
+     */
+    private final WatchService watchService;
+
+    /**
+     * Creates new instance of {@link HotReloadingTaskView} class.
+     *
+     * @param delegate     the delegated task view
+     * @param templateFile the template source file
+     * @throws PluginException if the file can not be watched
+     */
+    public HotReloadingTaskView(TaskView delegate, Path templateFile) {
+        super(delegate);
+        if (delegate == null) {
+            throw new IllegalArgumentException("The delegated task view can not be null");
+        }
+        if (templateFile == null) {
+            throw new IllegalArgumentException("The template file can not be null");
+        }
+        this.templateFile = templateFile.toAbsolutePath();
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.templateFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new PluginException("The template file could not be watched: " + templateFile, e);
+        }
+
+        reload();
+        Threads.threadFactory("task-view-watcher").newThread(new Watcher(this)).start();
+    }
+
+    /**
+     * Wraps the view with the hot reloading view if the development mode is enabled.
+     *
+     * @param view the task view
+     * @return the hot reloading view or the caching view
+     */
+    public static CachingTaskView create(TaskView view) {
+        final String templatesDir = System.getProperty(TEMPLATES_DIR_PROPERTY);
+        if (templatesDir == null || !(view instanceof AbstractTaskView) || view instanceof ComposedTaskView) {
+            return new CachingTaskView(view);
+        }
+        final String templatePath = ((AbstractTaskView) view).getTemplatePath().replaceFirst("^/+", "");
+        return new HotReloadingTaskView(view, Paths.get(templatesDir, templatePath));
+    }
+
+    /**
+     * Keeps the template read from the source file, which the delegated view would not reload.
+     */
+    @Override
+    public void trimMemory() {
+        // empty method
+    }
+
+    /**
+     * Stops watching the template file.
+     */
+    @Override
+    public void stop() {
+        close();
+    }
+
+    /**
+     * Stops watching the template file.
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("The template watch service could not be closed", e);
+        }
+    }
+
+    /**
+     * Reads the template file and replaces the cached template, the previous template is kept if the file can not be
+     * read.
+     */
+    private void reload() {
+        try {
+            updateTemplate(new String(Files.readAllBytes(templateFile), StandardCharsets.UTF_8));
+            logger.info("Reloaded the view template: " + templateFile);
+        } catch (IOException e) {
+            logger.warn("The view template could not be reloaded: " + templateFile, e);
+        }
+    }
+
+    /**
+     * Watches the template file until the watch service is closed. The watcher references the view weakly, so that
+     * a view which has not been closed can still be garbage collected, in which case the watcher stops as well.
+     */
+    private static final class Watcher implements Runnable {
+
+        /**
+         * The logger instance.
+         */
+        private final Logger logger = Logger.getLoggerFor(HotReloadingTaskView.class);
+
+        /**
+         * The watched view.
+         */
+        private final WeakReference<HotReloadingTaskView> view;
+
+        /**
+         * The file watch service.
+         */
+        private final WatchService watchService;
+
+        /**
+         * The template file name.
+         */
+        private final Path fileName;
+
+        /**
+         * Creates new instance of {@link Watcher} class.
+         *
+         * @param view the watched view
+         */
+        private Watcher(HotReloadingTaskView view) {
+            this.view = new WeakReference<>(view);
+            this.watchService = view.watchService;
+            this.fileName = view.templateFile.getFileName();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final WatchKey key = watchService.poll(IDLE_CHECK_SECONDS, TimeUnit.SECONDS);
+                    if (key == null) {
+                        if (view.get() == null) {
+                            watchService.close();
+                            return;
+                        }
+                        continue;
+                    }
+                    if (!changed(key)) {
+                        continue;
+                    }
+
+                    // waits until the file has not been changed for a while, the editors often write it in chunks
+                    WatchKey next;
+                    while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                        changed(next);
+                    }
+                    final HotReloadingTaskView current = view.get();
+                    if (current == null) {
+                        watchService.close();
+                        return;
+                    }
+                    current.reload();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException | IOException e) {
+                // the view has been closed
+            }
+        }
+
+        /**
+         * Consumes the events of the key and resets it.
+         *
+         * @param key the watch key
+         * @return whether the template file has been changed
+         * @throws ClosedWatchServiceException if the directory is no longer watched
+         */
+        private boolean changed(WatchKey key) {
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                changed |= fileName.equals(event.context());
+            }
+            if (!key.reset()) {
+                logger.warn("The template directory is no longer watched: " + key.watchable());
+                throw new ClosedWatchServiceException();
+            }
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+/**
+ * The task view that keeps its response serialized, so that the view command serves it without serializing the
+ * values on every request. The view owns the serialized response, which is released together with the values.
+ *
+ * @author Jakub Narloch
+ */
+public interface SerializedTaskView extends TaskView {
+
+    /**
+     * Retrieves the view response, the display value and the template serialized to JSON.
+     *
+     * @return the serialized view
+     */
+    String serializedView();
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loads the view templates from the classpath. The minified template produced by the {@link TemplateMinifier} at
+ * build time is preferred, its size recorded in the metadata is used for reading it in a single pass and its hash for
+ * verifying it. The original template is loaded whenever the minified one is missing or does not match the metadata.
+ * The minified template is verified once per resource, its later loads read it without the metadata.
+ *
+ * @author Jakub Narloch
+ */
+public final class TemplateLoader {
+
+    /**
+     * The logger instance by this class hierarchy.
+     */
+    private static final Logger logger = Logger.getLoggerFor(TemplateLoader.class);
+
+    /**
+     * The marker of the resource, whose minified template is missing or does not match the metadata.
+     */
+    private static final int NOT_MINIFIED = -1;
+
+    /**
+     * The verified minified template sizes by the template path, held per class used for loading the resources.
+     */
+    private static final ClassValue<ConcurrentMap<String, Integer>> VERIFIED =
+            new ClassValue<ConcurrentMap<String, Integer>>() {
+                @Override
+                protected ConcurrentMap<String, Integer> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * Creates new instance of {@link TemplateLoader} class.
+     */
+    private TemplateLoader() {
+        // utility class
+    }
+
+    /**
+     * Loads the template.
+     *
+     * @param owner        the class used for loading the resources
+     * @param templatePath the template path
+     * @return the template
+     * @throws PluginException if the template could not be loaded
+     */
+    public static String load(Class<?> owner, String templatePath) {
+        try {
+            final byte[] minified = loadMinified(owner, templatePath);
+            if (minified != null) {
+                return new String(minified, StandardCharsets.UTF_8);
+            }
+            try (InputStream input = owner.getResourceAsStream(templatePath)) {
+                if (input == null) {
+                    throw new PluginException("The view template could not be found: " + templatePath);
+                }
+                return new String(read(input, -1), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new PluginException("The view template could not be loaded.", e);
+        }
+    }
+
+    /**
+     * Loads the minified template, verifying it against the metadata only on the first load of the resource.
+     *
+     * @param owner        the class used for loading the resources
+     * @param templatePath the template path
+     * @return the minified template or null if not present or not matching the metadata
+     * @throws IOException if any error occurs
+     */
+    private static byte[] loadMinified(Class<?> owner, String templatePath) throws IOException {
+
+        final ConcurrentMap<String, Integer> verified = VERIFIED.get(owner);
+        final Integer size = verified.get(templatePath);
+        if (size == null) {
+            final byte[] minified = loadVerified(owner, templatePath);
+            verified.put(templatePath, minified != null ? minified.length : NOT_MINIFIED);
+            return minified;
+        }
+        if (size == NOT_MINIFIED) {
+            return null;
+        }
+        try (InputStream input = owner.getResourceAsStream(templatePath + TemplateMinifier.MINIFIED_SUFFIX)) {
+            return input != null ? read(input, size) : null;
+        }
+    }
+
+    /**
+     * Loads the minified template and verifies it against the metadata.
+     *
+     * @param owner        the class used for loading the resources
+     * @param templatePath the template path
+     * @return the minified template or null if not present or not matching the metadata
+     * @throws IOException if any error occurs
+     */
+    private static byte[] loadVerified(Class<?> owner, String templatePath) throws IOException {
+
+        final Properties metadata = new Properties();
+        try (InputStream input = owner.getResourceAsStream(templatePath + TemplateMinifier.METADATA_SUFFIX)) {
+            if (input == null) {
+                return null;
+            }
+            metadata.load(input);
+        }
+
+        try (InputStream input = owner.getResourceAsStream(templatePath + TemplateMinifier.MINIFIED_SUFFIX)) {
+            if (input == null) {
+                return null;
+            }
+            final byte[] minified = read(input, Integer.parseInt(metadata.getProperty("size", "-1")));
+            if (!TemplateMinifier.sha1(minified).equals(metadata.getProperty("sha1"))) {
+                logger.warn("The minified view template does not match its metadata, loading the original: "
+                        + templatePath);
+                return null;
+            }
+            return minified;
+        } catch (NumberFormatException e) {
+            logger.warn("The view template metadata is invalid: " + templatePath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the stream.
+     *
+     * @param input the input stream
+     * @param size  the expected size, or -1 if not known
+     * @return the read bytes
+     * @throws IOException if any error occurs
+     */
+    private static byte[] read(InputStream input, int size) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(size > 0 ? size : 8192);
+        final byte[] buffer = new byte[size > 0 ? Math.min(size + 1, 65536) : 8192];
+        int read;
+        while ((read = input.read(buffer)) >= 0) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+}
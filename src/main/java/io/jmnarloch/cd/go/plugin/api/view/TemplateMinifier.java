@@ -0,0 +1,314 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Minifies the view templates at build time. The comments are removed and the whitespace is collapsed. The line
+ * breaks and the indentation between the tags are removed entirely only next to the block elements, where the
+ * whitespace is not rendered, between the inline elements they are collapsed to a single space. The quoted attribute
+ * values, the conditional comments, the
+ * {@code <!--#} directives and the content of the {@code pre}, {@code textarea}, {@code script} and {@code style}
+ * elements are kept verbatim. For every template the minified {@code .min} file is written along with the
+ * {@code .meta} properties file recording the minified size and SHA-1 hash, both are picked up by the
+ * {@link TemplateLoader}.
+ *
+ * @author Jakub Narloch
+ */
+public final class TemplateMinifier {
+
+    /**
+     * The minified template file suffix.
+     */
+    public static final String MINIFIED_SUFFIX = ".min";
+
+    /**
+     * The template metadata file suffix.
+     */
+    public static final String METADATA_SUFFIX = ".meta";
+
+    /**
+     * The elements whose content is kept verbatim.
+     */
+    private static final String[] RAW_ELEMENTS = {"pre", "textarea", "script", "style"};
+
+    /**
+     * The block elements, the whitespace next to them is not rendered.
+     */
+    private static final Set<String> BLOCK_ELEMENTS = new HashSet<>(Arrays.asList("address", "article", "aside",
+            "blockquote", "body", "dd", "div", "dl", "dt", "fieldset", "figcaption", "figure", "footer", "form", "h1",
+            "h2", "h3", "h4", "h5", "h6", "head", "header", "hr", "html", "legend", "li", "main", "nav", "ol", "p",
+            "pre", "section", "table", "tbody", "td", "tfoot", "th", "thead", "tr", "ul"));
+
+    /**
+     * Creates new instance of {@link TemplateMinifier} class.
+     */
+    private TemplateMinifier() {
+        // utility class
+    }
+
+    /**
+     * Minifies the templates of the source directory into the output directory.
+     *
+     * @param args the source directory, the output directory and optionally the template file extensions,
+     *             {@code .html} by default
+     * @throws IOException if any error occurs
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: TemplateMinifier <source dir> <output dir> [extension...]");
+        }
+
+        final Path source = Paths.get(args[0]);
+        final Path output = Paths.get(args[1]);
+        final String[] extensions = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length)
+                : new String[]{".html"};
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                for (String extension : extensions) {
+                    if (file.getFileName().toString().endsWith(extension)) {
+                        minify(file, output.resolve(source.relativize(file).toString()));
+                        break;
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Minifies the single template file.
+     *
+     * @param file   the template file
+     * @param target the target path, the suffixes are appended to it
+     * @throws IOException if any error occurs
+     */
+    static void minify(Path file, Path target) throws IOException {
+
+        final byte[] original = Files.readAllBytes(file);
+        final byte[] minified = minify(new String(original, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+
+        Files.createDirectories(target.getParent());
+        Files.write(target.resolveSibling(target.getFileName() + MINIFIED_SUFFIX), minified);
+
+        // written by hand rather than with Properties#store, which would record the build time
+        final String metadata = "size=" + minified.length + "\n"
+                + "sha1=" + sha1(minified) + "\n"
+                + "originalSize=" + original.length + "\n";
+        Files.write(target.resolveSibling(target.getFileName() + METADATA_SUFFIX),
+                metadata.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Minifies the template.
+     *
+     * @param template the template
+     * @return the minified template
+     */
+    public static String minify(String template) {
+
+        final StringBuilder output = new StringBuilder(template.length());
+        final int length = template.length();
+        boolean inTag = false;
+        char quote = 0;
+        int tagStart = -1;
+        String lastTag = null;
+        int ind = 0;
+        while (ind < length) {
+            final char c = template.charAt(ind);
+
+            if (inTag) {
+                if (quote != 0) {
+                    output.append(c);
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                    ind++;
+                } else if (Character.isWhitespace(c)) {
+                    ind = skipWhitespace(template, ind);
+                    // the space before the slash terminates the unquoted attribute value, which would absorb it
+                    if (ind < length && template.charAt(ind) != '>'
+                            && (template.charAt(ind) != '/' || endsWithUnquotedValue(output))) {
+                        output.append(' ');
+                    }
+                } else {
+                    output.append(c);
+                    ind++;
+                    if (c == '"' || c == '\'') {
+                        quote = c;
+                    } else if (c == '>') {
+                        inTag = false;
+                        lastTag = tagName(template, tagStart);
+                        final String raw = rawElement(template, tagStart);
+                        if (raw != null) {
+                            final int end = indexOfIgnoreCase(template, "</" + raw, ind);
+                            output.append(template, ind, end);
+                            ind = end;
+                        }
+                    }
+                }
+            } else if (template.startsWith("<!--", ind)) {
+                int end = template.indexOf("-->", ind + 4);
+                end = end < 0 ? length : end + 3;
+                if (template.startsWith("<!--[", ind) || template.startsWith("<!--#", ind)) {
+                    output.append(template, ind, end);
+                    lastTag = null;
+                }
+                ind = end;
+            } else if (c == '<') {
+                inTag = true;
+                tagStart = ind;
+                output.append(c);
+                ind++;
+            } else if (Character.isWhitespace(c)) {
+                final int end = skipWhitespace(template, ind);
+                final boolean betweenTags = (output.length() == 0 || output.charAt(output.length() - 1) == '>')
+                        && (end == length || template.charAt(end) == '<');
+                final boolean atBoundary = output.length() == 0 || end == length
+                        || BLOCK_ELEMENTS.contains(lastTag) || BLOCK_ELEMENTS.contains(tagName(template, end));
+                if (!(betweenTags && atBoundary && template.substring(ind, end).indexOf('\n') >= 0)) {
+                    output.append(' ');
+                }
+                ind = end;
+            } else {
+                output.append(c);
+                lastTag = null;
+                ind++;
+            }
+        }
+        return output.toString();
+    }
+
+    /**
+     * Skips the whitespace.
+     *
+     * @param template the template
+     * @param start    the start index
+     * @return the index of the first non whitespace character
+     */
+    private static int skipWhitespace(String template, int start) {
+        int ind = start;
+        while (ind < template.length() && Character.isWhitespace(template.charAt(ind))) {
+            ind++;
+        }
+        return ind;
+    }
+
+    /**
+     * Retrieves the lower case name of the element of the tag, either opening or closing.
+     *
+     * @param template the template
+     * @param tagStart the tag start index
+     * @return the element name, empty for the comments
+     */
+    private static String tagName(String template, int tagStart) {
+        int start = tagStart + 1;
+        if (start < template.length() && template.charAt(start) == '/') {
+            start++;
+        }
+        int end = start;
+        while (end < template.length() && Character.isLetterOrDigit(template.charAt(end))) {
+            end++;
+        }
+        return template.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns whether the output ends with the unquoted attribute value.
+     *
+     * @param output the output
+     * @return true if the last attribute value is not quoted
+     */
+    private static boolean endsWithUnquotedValue(StringBuilder output) {
+        int ind = output.length() - 1;
+        if (ind < 0 || output.charAt(ind) == '"' || output.charAt(ind) == '\'') {
+            return false;
+        }
+        while (ind >= 0 && output.charAt(ind) != '=' && output.charAt(ind) != ' ' && output.charAt(ind) != '<') {
+            ind--;
+        }
+        return ind >= 0 && output.charAt(ind) == '=';
+    }
+
+    /**
+     * Retrieves the name of the opened element whose content is kept verbatim.
+     *
+     * @param template the template
+     * @param tagStart the tag start index
+     * @return the element name or null
+     */
+    private static String rawElement(String template, int tagStart) {
+        for (String element : RAW_ELEMENTS) {
+            final int end = tagStart + 1 + element.length();
+            if (template.regionMatches(true, tagStart + 1, element, 0, element.length())
+                    && end < template.length()
+                    && !Character.isLetterOrDigit(template.charAt(end))) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the case insensitive occurrence of the string.
+     *
+     * @param template the template
+     * @param string   the searched string
+     * @param start    the start index
+     * @return the index of the occurrence, or the template length if not found
+     */
+    private static int indexOfIgnoreCase(String template, String string, int start) {
+        final int index = template.toLowerCase(Locale.ROOT).indexOf(string, start);
+        return index < 0 ? template.length() : index;
+    }
+
+    /**
+     * Calculates the SHA-1 hash.
+     *
+     * @param bytes the bytes
+     * @return the hexadecimal hash
+     */
+    static String sha1(byte[] bytes) {
+        try {
+            final StringBuilder hex = new StringBuilder(40);
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(bytes)) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not supported", e);
+        }
+    }
+}
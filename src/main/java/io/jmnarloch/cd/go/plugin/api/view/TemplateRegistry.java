@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The registry of the view templates shared by the tasks of the plugin. The templates can include the fragments with
+ * the {@code <!--#include "path" -->} directive, the relative paths are resolved against the including template. Each
+ * template is composed once and the tasks using the same template share it. The composed template is a single string
+ * holding its own copy of the included fragments, the fragments are loaded only while composing and are not retained.
+ *
+ * @author Jakub Narloch
+ */
+public class TemplateRegistry {
+
+    /**
+     * The include directive.
+     */
+    private static final Pattern INCLUDE = Pattern.compile("<!--#include\\s+\"([^\"]+)\"\\s*-->");
+
+    /**
+     * The class used for loading the templates.
+     */
+    private final Class<?> owner;
+
+    /**
+     * The composed templates by their path.
+     */
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new instance of {@link TemplateRegistry} class.
+     *
+     * @param owner the class used for loading the templates
+     */
+    public TemplateRegistry(Class<?> owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("The owner class can not be null");
+        }
+        this.owner = owner;
+    }
+
+    /**
+     * Composes the templates up front, usually when the plugin is being loaded.
+     *
+     * @param templatePaths the template paths
+     * @return the registry
+     * @throws PluginException if any template could not be loaded or the includes form a cycle
+     */
+    public TemplateRegistry register(String... templatePaths) {
+        if (templatePaths == null || Arrays.asList(templatePaths).contains(null)) {
+            throw new IllegalArgumentException("The template paths can not be null");
+        }
+        for (String templatePath : templatePaths) {
+            getTemplate(templatePath);
+        }
+        return this;
+    }
+
+    /**
+     * Retrieves the composed template.
+     *
+     * @param templatePath the template path
+     * @return the composed template
+     * @throws PluginException if the template could not be loaded or the includes form a cycle
+     */
+    public String getTemplate(String templatePath) {
+        if (templatePath == null) {
+            throw new IllegalArgumentException("The template path can not be null");
+        }
+        final String template = templates.get(templatePath);
+        if (template != null) {
+            return template;
+        }
+        synchronized (this) {
+            final String composed = compose(templatePath, new HashMap<String, String>(), new ArrayList<String>());
+            templates.put(templatePath, composed);
+            return composed;
+        }
+    }
+
+    /**
+     * Composes the template, resolving its includes.
+     *
+     * @param templatePath the template path
+     * @param fragments    the fragments composed so far for the requested template
+     * @param including    the paths of the templates currently being composed
+     * @return the composed template
+     */
+    private String compose(String templatePath, Map<String, String> fragments, List<String> including) {
+
+        String template = fragments.get(templatePath);
+        if (template != null) {
+            return template;
+        }
+        if (including.contains(templatePath)) {
+            including.add(templatePath);
+            throw new PluginException("The view templates include each other: " + including);
+        }
+
+        including.add(templatePath);
+        final String source = TemplateLoader.load(owner, templatePath);
+        final Matcher include = INCLUDE.matcher(source);
+        if (!include.find()) {
+            template = source;
+        } else {
+            final StringBuilder composed = new StringBuilder(source.length() * 2);
+            int start = 0;
+            do {
+                composed.append(source, start, include.start());
+                composed.append(compose(resolve(templatePath, include.group(1)), fragments, including));
+                start = include.end();
+            } while (include.find());
+            composed.append(source, start, source.length());
+            template = composed.toString();
+        }
+        including.remove(including.size() - 1);
+
+        fragments.put(templatePath, template);
+        return template;
+    }
+
+    /**
+     * Resolves the included path.
+     *
+     * @param templatePath the including template path
+     * @param includePath  the included path
+     * @return the resolved path
+     */
+    private static String resolve(String templatePath, String includePath) {
+        if (includePath.startsWith("/")) {
+            return includePath;
+        }
+        final String base = templatePath.substring(0, templatePath.lastIndexOf('/') + 1);
+        final List<String> segments = new ArrayList<>();
+        for (String segment : (base + includePath).split("/")) {
+            if ("..".equals(segment) && !segments.isEmpty()) {
+                segments.remove(segments.size() - 1);
+            } else if (!".".equals(segment) && !segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        final StringBuilder path = new StringBuilder(base.startsWith("/") ? "/" : "");
+        for (int ind = 0; ind < segments.size(); ind++) {
+            path.append(ind > 0 ? "/" : "").append(segments.get(ind));
+        }
+        return path.toString();
+    }
+}
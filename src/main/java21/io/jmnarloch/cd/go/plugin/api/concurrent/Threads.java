@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads used by the library for any background work. This is the Java 21 implementation, loaded from
+ * the multi-release jar, that runs the executor tasks on virtual threads. The dedicated threads, like the scheduler
+ * doing the blocking file I/O, remain the daemon platform threads, since they would only pin the carrier threads.
+ *
+ * @author Jakub Narloch
+ */
+public final class Threads {
+
+    /**
+     * Creates new instance of {@link Threads} class.
+     */
+    private Threads() {
+        // utility class
+    }
+
+    /**
+     * Returns whether the executor tasks run on virtual threads.
+     *
+     * @return whether the threads are virtual
+     */
+    public static boolean isVirtual() {
+        return true;
+    }
+
+    /**
+     * Creates the thread factory producing daemon platform threads named with the specific prefix.
+     *
+     * @param name the thread name prefix
+     * @return the thread factory
+     */
+    public static ThreadFactory threadFactory(String name) {
+        return Thread.ofPlatform().daemon().name(name + "-", 0).factory();
+    }
+
+    /**
+     * Creates the executor running at most the specific number of tasks concurrently. Every task gets its own virtual
+     * thread, the tasks over the limit park until a permit is released.
+     *
+     * @param name       the thread name prefix
+     * @param maxThreads the maximum number of concurrently running tasks
+     * @return the executor
+     */
+    public static ExecutorService newExecutor(String name, int maxThreads) {
+        return new BoundedExecutorService(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(name + "-", 0).factory()), maxThreads);
+    }
+}
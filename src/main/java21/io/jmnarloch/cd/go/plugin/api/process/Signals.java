@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.process;
+
+import java.util.Collection;
+
+/**
+ * Sends the signals to the processes. This is the Java 21 implementation, loaded from the multi-release jar, that
+ * signals the processes directly through {@link ProcessHandle} instead of forking the {@code kill} command.
+ *
+ * @author Jakub Narloch
+ */
+final class Signals {
+
+    /**
+     * Creates new instance of {@link Signals} class.
+     */
+    private Signals() {
+        // utility class
+    }
+
+    /**
+     * Sends {@code SIGTERM} to the specific processes.
+     *
+     * @param pids the process ids
+     */
+    static void terminate(Collection<Integer> pids) {
+        for (Integer pid : pids) {
+            ProcessHandle.of(pid).ifPresent(ProcessHandle::destroy);
+        }
+    }
+
+    /**
+     * Sends {@code SIGKILL} to the specific processes.
+     *
+     * @param pids the process ids
+     */
+    static void kill(Collection<Integer> pids) {
+        for (Integer pid : pids) {
+            ProcessHandle.of(pid).ifPresent(ProcessHandle::destroyForcibly);
+        }
+    }
+}
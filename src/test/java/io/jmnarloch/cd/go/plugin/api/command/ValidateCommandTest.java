@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.command;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import io.jmnarloch.cd.go.plugin.api.parser.gson.GsonParser;
+import io.jmnarloch.cd.go.plugin.api.validation.TaskValidator;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationErrors;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link ValidateCommand} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ValidateCommandTest {
+
+    @Test
+    public void shouldRespondWithEmptyBodyWhenValid() {
+
+        // given
+        final ValidateCommand command = new ValidateCommand(new GsonParser(), new TaskValidator() {
+            @Override
+            public ValidationErrors validate(Map<String, Object> properties) {
+                return ValidationErrors.none();
+            }
+        });
+
+        // when
+        final GoPluginApiResponse response = command.execute(request());
+
+        // then
+        assertEquals(DefaultGoPluginApiResponse.SUCCESS_RESPONSE_CODE, response.responseCode());
+        assertEquals("{}", response.responseBody());
+    }
+
+    @Test
+    public void shouldWriteErrorsInRegistrationOrder() {
+
+        // given
+        final ValidateCommand command = new ValidateCommand(new GsonParser(), new TaskValidator() {
+            @Override
+            public ValidationErrors validate(Map<String, Object> properties) {
+                final ValidationErrors errors = new ValidationErrors();
+                errors.addError("Tasks", "Tasks is required");
+                errors.addError("BuildFile", "File \"build.gradle\"\ndoes not exist");
+                return errors;
+            }
+        });
+
+        // when
+        final GoPluginApiResponse response = command.execute(request());
+
+        // then
+        assertEquals(DefaultGoPluginApiResponse.VALIDATION_FAILED, response.responseCode());
+        assertEquals("{\"errors\":{\"Tasks\":\"Tasks is required\","
+                + "\"BuildFile\":\"File \\\"build.gradle\\\"\\ndoes not exist\"}}", response.responseBody());
+    }
+
+    private static DefaultGoPluginApiRequest request() {
+        final DefaultGoPluginApiRequest request = new DefaultGoPluginApiRequest("task", "1.0", "validate");
+        request.setRequestBody("{}");
+        return request;
+    }
+}
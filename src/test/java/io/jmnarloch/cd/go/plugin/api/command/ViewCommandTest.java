@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.command;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import io.jmnarloch.cd.go.plugin.api.parser.gson.GsonParser;
+import io.jmnarloch.cd.go.plugin.api.view.CachingTaskView;
+import io.jmnarloch.cd.go.plugin.api.view.TaskView;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link ViewCommand} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ViewCommandTest {
+
+    @Test
+    public void shouldServePreSerializedCachedView() {
+
+        // given
+        final ViewCommand command = new ViewCommand(new GsonParser(), new CachingTaskView(new TaskView() {
+            @Override
+            public String displayValue() {
+                return "Gradle";
+            }
+
+            @Override
+            public String template() {
+                return "<div class=\"form_item_block\">\n  <input ng-model=\"Tasks\"/>\n</div>";
+            }
+        }));
+
+        // when
+        final GoPluginApiResponse first = command.execute(request());
+        final GoPluginApiResponse second = command.execute(request());
+
+        // then
+        final Map response = new GsonParser().fromJson(first.responseBody(), Map.class);
+        assertEquals("Gradle", response.get("displayValue"));
+        assertEquals("<div class=\"form_item_block\">\n  <input ng-model=\"Tasks\"/>\n</div>", response.get("template"));
+        assertSame(first.responseBody(), second.responseBody());
+    }
+
+    @Test
+    public void shouldReleaseSerializedViewWhenMemoryTrimmed() {
+
+        // given
+        final CachingTaskView view = new CachingTaskView(new TaskView() {
+            private int loads;
+
+            @Override
+            public String displayValue() {
+                return "Gradle " + ++loads;
+            }
+
+            @Override
+            public String template() {
+                return "<div/>";
+            }
+        });
+        final ViewCommand command = new ViewCommand(new GsonParser(), view);
+        final GoPluginApiResponse first = command.execute(request());
+
+        // when
+        view.trimMemory();
+        final GoPluginApiResponse second = command.execute(request());
+
+        // then
+        assertEquals("Gradle 1", new GsonParser().fromJson(first.responseBody(), Map.class).get("displayValue"));
+        assertEquals("Gradle 2", new GsonParser().fromJson(second.responseBody(), Map.class).get("displayValue"));
+    }
+
+    private static DefaultGoPluginApiRequest request() {
+        return new DefaultGoPluginApiRequest("task", "1.0", "view");
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.config;
+
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationErrors;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests the {@link AnnotatedEnumConfigurationProvider} class.
+ *
+ * @author Jakub Narloch
+ */
+public class AnnotatedEnumConfigurationProviderTest {
+
+    @Test
+    public void shouldAcceptValidConfiguration() {
+
+        // given
+        final AnnotatedEnumConfigurationProvider<TestConfig> provider =
+                new AnnotatedEnumConfigurationProvider<>(TestConfig.class);
+
+        // when
+        final ValidationErrors errors = provider.getValidationProgram().validate(properties(
+                "Url", "https://repo.example.com/releases",
+                "Timeout", "30",
+                "Mode", "fast",
+                "Version", "1.2.3"
+        ));
+
+        // then
+        assertFalse(errors.hasErrors());
+    }
+
+    @Test
+    public void shouldReportFirstViolatedConstraint() {
+
+        // given
+        final AnnotatedEnumConfigurationProvider<TestConfig> provider =
+                new AnnotatedEnumConfigurationProvider<>(TestConfig.class);
+
+        // when
+        final ValidationErrors errors = provider.getValidationProgram().validate(properties(
+                "Url", "",
+                "Timeout", "3600",
+                "Mode", "slow",
+                "Version", "latest"
+        ));
+
+        // then
+        assertEquals(4, errors.getErrors().size());
+        assertEquals("Url is required", errors.getErrors().get("Url"));
+        assertEquals("Timeout must be an integer number between 1 and 600", errors.getErrors().get("Timeout"));
+        assertEquals("Mode must be one of [fast, safe]", errors.getErrors().get("Mode"));
+        assertEquals("Version must match the pattern \\d+(\\.\\d+)*", errors.getErrors().get("Version"));
+    }
+
+    private static Map<String, Object> properties(String... values) {
+        final Map<String, Object> properties = new HashMap<>();
+        for (int ind = 0; ind < values.length; ind += 2) {
+            final Map<String, Object> property = new HashMap<>();
+            property.put("value", values[ind + 1]);
+            properties.put(values[ind], property);
+        }
+        return properties;
+    }
+
+    private enum TestConfig {
+
+        @ConfigProperty(required = true, url = true)
+        URL("Url"),
+
+        @ConfigProperty(min = 1, max = 600)
+        TIMEOUT("Timeout"),
+
+        @ConfigProperty(allowedValues = {"fast", "safe"})
+        MODE("Mode"),
+
+        @ConfigProperty(pattern = "\\d+(\\.\\d+)*")
+        VERSION("Version");
+
+        @PropertyName
+        private final String name;
+
+        TestConfig(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.config;
+
+import io.jmnarloch.cd.go.plugin.api.annotation.Configuration;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ConfigurationDescriptor} generated by the
+ * {@link io.jmnarloch.cd.go.plugin.api.processor.ConfigurationDescriptorProcessor}.
+ *
+ * @author Jakub Narloch
+ */
+public class ConfigurationDescriptorTest {
+
+    @Test
+    public void shouldGenerateDescriptor() throws ClassNotFoundException {
+
+        // when
+        final Class<?> descriptor = Class.forName(
+                "io.jmnarloch.cd.go.plugin.api.config.ConfigurationDescriptorTest_GradleConfig_ConfigurationDescriptor");
+
+        // then
+        assertTrue(ConfigurationDescriptor.class.isAssignableFrom(descriptor));
+    }
+
+    @Test
+    public void shouldProvideGeneratedConfiguration() {
+
+        // given
+        final Map<String, Object> tasks = new HashMap<>();
+        tasks.put("required", true);
+        tasks.put("secure", false);
+        tasks.put("default-value", "clean \"build\"");
+        final Map<String, Object> token = new HashMap<>();
+        token.put("required", false);
+        token.put("secure", true);
+
+        // when
+        final AnnotatedEnumConfigurationProvider<GradleConfig> provider =
+                new AnnotatedEnumConfigurationProvider<>(GradleConfig.class);
+
+        // then
+        assertEquals(2, provider.getTaskConfiguration().size());
+        assertEquals(tasks, provider.getTaskConfiguration().get("Tasks"));
+        assertEquals(token, provider.getTaskConfiguration().get("Token"));
+        assertEquals("Tasks is required", provider.getValidationProgram()
+                .validate(new HashMap<String, Object>()).getErrors().get("Tasks"));
+    }
+
+    @Test
+    public void shouldMatchConstructorOnParameterTypes() throws ClassNotFoundException {
+
+        // given
+        Class.forName("io.jmnarloch.cd.go.plugin.api.config.ConfigurationDescriptorTest_MavenConfig_ConfigurationDescriptor");
+
+        // when
+        final AnnotatedEnumConfigurationProvider<MavenConfig> provider =
+                new AnnotatedEnumConfigurationProvider<>(MavenConfig.class);
+
+        // then
+        assertEquals(2, provider.getTaskConfiguration().size());
+        assertTrue(provider.getTaskConfiguration().containsKey("Goals"));
+        assertTrue(provider.getTaskConfiguration().containsKey("Profiles"));
+    }
+
+    @Configuration
+    enum GradleConfig {
+
+        @ConfigProperty(required = true, defaultValue = "clean \"build\"")
+        TASKS("Tasks"),
+
+        @ConfigProperty(secure = true)
+        TOKEN("Token"),
+
+        NOT_A_PROPERTY("Other");
+
+        @PropertyName
+        private final String name;
+
+        GradleConfig(String name) {
+            this.name = name;
+        }
+    }
+
+    @Configuration
+    enum MavenConfig {
+
+        @ConfigProperty
+        GOALS("Goals", "clean install"),
+
+        @ConfigProperty
+        PROFILES(1, "Profiles");
+
+        @PropertyName
+        private final String name;
+
+        MavenConfig(String name, String defaultValue) {
+            this.name = name;
+        }
+
+        MavenConfig(int order, String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.config;
+
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link Fingerprint} class.
+ *
+ * @author Jakub Narloch
+ */
+public class FingerprintTest {
+
+    @Test
+    public void shouldNotDependOnPropertyOrder() {
+
+        // given
+        final Map<String, Object> first = new LinkedHashMap<>();
+        first.put("Tasks", property("build", false));
+        first.put("Token", property("s3cr3t", true));
+        final Map<String, Object> second = new LinkedHashMap<>();
+        second.put("Token", property("s3cr3t", true));
+        second.put("Tasks", property("build", false));
+
+        // when
+        final ExecutionConfiguration config = new ExecutionConfiguration(first);
+
+        // then
+        assertEquals(Fingerprint.ofProperties(first, true), Fingerprint.ofProperties(second, true));
+        assertEquals(Fingerprint.ofProperties(first, true), config.getFingerprint());
+        assertEquals(Fingerprint.ofProperties(second, false), config.getFingerprint(false));
+        assertSame(config.getFingerprint(), config.getFingerprint());
+    }
+
+    @Test
+    public void shouldDistinguishConfigurations() {
+
+        // given
+        final Map<String, Object> first = new HashMap<>();
+        first.put("Tasks", property("build", false));
+        first.put("Token", property("one", true));
+        final Map<String, Object> second = new HashMap<>();
+        second.put("Tasks", property("buil", false));
+        second.put("Token", property("two", true));
+        final Map<String, Object> swapped = new HashMap<>();
+        swapped.put("Tasks", property("one", false));
+        swapped.put("Token", property("build", true));
+
+        // then
+        assertNotEquals(Fingerprint.ofProperties(first, true), Fingerprint.ofProperties(second, true));
+        assertNotEquals(Fingerprint.ofProperties(first, true), Fingerprint.ofProperties(swapped, true));
+        assertNotEquals(Fingerprint.ofProperties(first, false), Fingerprint.ofProperties(second, false));
+        assertEquals(32, Fingerprint.ofProperties(first, true).toString().length());
+    }
+
+    private static Map<String, Object> property(String value, boolean secure) {
+        final Map<String, Object> property = new HashMap<>();
+        property.put("value", value);
+        property.put("secure", secure);
+        return property;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.console;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SecretMasker} class.
+ *
+ * @author Jakub Narloch
+ */
+public class SecretMaskerTest {
+
+    @Test
+    public void shouldMaskOverlappingSecrets() {
+
+        // given
+        final SecretMasker masker = SecretMasker.compile(Arrays.asList("he", "she", "hers", "secret", "", null));
+
+        // when
+        final String masked = masker.mask("ushers keep the secret, she said");
+
+        // then
+        assertEquals("u****** keep t****** ******, ****** said", masked);
+    }
+
+    @Test
+    public void shouldReturnTheSameLineWithoutSecrets() {
+
+        // given
+        final SecretMasker masker = SecretMasker.compile(Collections.singletonList("password"));
+        final String line = "passwor d";
+
+        // when
+        final String masked = masker.mask(line);
+
+        // then
+        assertSame(line, masked);
+        assertTrue(SecretMasker.compile(Collections.<String>emptyList()).isEmpty());
+    }
+
+    @Test
+    public void shouldMaskSecretsSpanningTheChunks() throws IOException {
+
+        // given
+        final SecretMasker masker = SecretMasker.compile(Arrays.asList("pässw0rd", "token"));
+        final byte[] output = "login pässw0rd\ntoken=tok tokentoken\n".getBytes(StandardCharsets.UTF_8);
+        final InputStream input = masker.mask(new TricklingInputStream(output));
+
+        // when
+        final ByteArrayOutputStream masked = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[3];
+        int read;
+        while ((read = input.read(buffer)) >= 0) {
+            masked.write(buffer, 0, read);
+        }
+
+        // then
+        assertEquals("login ******\n******=tok ******\n", new String(masked.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The input stream returning a single byte per read, as a slow process would.
+     */
+    private static class TricklingInputStream extends ByteArrayInputStream {
+
+        TricklingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] bytes, int offset, int length) {
+            return super.read(bytes, offset, Math.min(length, 1));
+        }
+    }
+}
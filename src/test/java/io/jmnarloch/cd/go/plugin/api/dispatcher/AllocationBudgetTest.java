@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.dispatcher;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.annotation.Configuration;
+import io.jmnarloch.cd.go.plugin.api.config.AnnotatedEnumConfigurationProvider;
+import io.jmnarloch.cd.go.plugin.api.config.ConfigProperty;
+import io.jmnarloch.cd.go.plugin.api.config.PropertyName;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionContext;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionResult;
+import io.jmnarloch.cd.go.plugin.api.executor.TaskExecutor;
+import io.jmnarloch.cd.go.plugin.api.load.FakeJobConsole;
+import io.jmnarloch.cd.go.plugin.api.metrics.AllocationMeter;
+import io.jmnarloch.cd.go.plugin.api.validation.TaskValidator;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationErrors;
+import io.jmnarloch.cd.go.plugin.api.view.TaskView;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Verifies that dispatching each of the built-in commands, measured by the {@link AllocationMeter}, fits within its
+ * allocation budget. The budgets can be scaled with the {@value #FACTOR_PROPERTY} system property.
+ *
+ * @author Jakub Narloch
+ */
+public class AllocationBudgetTest {
+
+    /**
+     * The budget scaling factor system property.
+     */
+    private static final String FACTOR_PROPERTY = "go.plugin.allocation.budget.factor";
+
+    /**
+     * The configuration request budget.
+     */
+    private static final long CONFIGURATION_BUDGET_BYTES = 4096;
+
+    /**
+     * The view request budget.
+     */
+    private static final long VIEW_BUDGET_BYTES = 1536;
+
+    /**
+     * The validate request budget.
+     */
+    private static final long VALIDATE_BUDGET_BYTES = 12288;
+
+    /**
+     * The execute request budget.
+     */
+    private static final long EXECUTE_BUDGET_BYTES = 16384;
+
+    private ApiRequestDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        assumeTrue(AllocationMeter.isSupported());
+        FakeJobConsole.install(System.getProperty("java.io.tmpdir"));
+
+        dispatcher = ApiRequestDispatcherBuilder.dispatch()
+                .toConfiguration(new AnnotatedEnumConfigurationProvider<>(GradleConfig.class))
+                .toView(new TaskView() {
+                    @Override
+                    public String displayValue() {
+                        return "Gradle";
+                    }
+
+                    @Override
+                    public String template() {
+                        return "<div class=\"form_item_block\"><input ng-model=\"Tasks\"/></div>";
+                    }
+                })
+                .toValidator(new TaskValidator() {
+                    @Override
+                    public ValidationErrors validate(Map<String, Object> properties) {
+                        return ValidationErrors.none();
+                    }
+                })
+                .toExecutor(new TaskExecutor() {
+                    @Override
+                    public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config,
+                                                   JobConsoleLogger console) {
+                        return ExecutionResult.success("Build succeeded");
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    public void shouldDispatchConfigurationWithinBudget() throws Exception {
+
+        assertWithinBudget(request(ApiRequests.CONFIGURATION, "{}"), CONFIGURATION_BUDGET_BYTES);
+    }
+
+    @Test
+    public void shouldDispatchViewWithinBudget() throws Exception {
+
+        assertWithinBudget(request(ApiRequests.VIEW, "{}"), VIEW_BUDGET_BYTES);
+    }
+
+    @Test
+    public void shouldDispatchValidateWithinBudget() throws Exception {
+
+        assertWithinBudget(request(ApiRequests.VALIDATE, "{\"Tasks\":{\"value\":\"clean build\"},"
+                + "\"Token\":{\"secure\":true,\"value\":\"secret\"}}"), VALIDATE_BUDGET_BYTES);
+    }
+
+    @Test
+    public void shouldDispatchExecuteWithinBudget() throws Exception {
+
+        assertWithinBudget(request(ApiRequests.EXECUTE, "{\"config\":{\"Tasks\":{\"value\":\"clean build\"},"
+                + "\"Token\":{\"secure\":true,\"value\":\"secret\"}},\"context\":{\"environmentVariables\":"
+                + "{\"GO_PIPELINE_NAME\":\"build\"},\"workingDirectory\":\"pipelines/build\"}}"), EXECUTE_BUDGET_BYTES);
+    }
+
+    private void assertWithinBudget(final DefaultGoPluginApiRequest request, long budgetBytes) throws Exception {
+
+        // given
+        final double factor = Double.parseDouble(System.getProperty(FACTOR_PROPERTY, "1"));
+        final long budget = (long) (budgetBytes * factor);
+
+        // when
+        final long allocated = AllocationMeter.measure(new Callable<GoPluginApiResponse>() {
+            @Override
+            public GoPluginApiResponse call() throws Exception {
+                return dispatcher.dispatch(request);
+            }
+        });
+
+        // then
+        assertEquals(DefaultGoPluginApiResponse.SUCCESS_RESPONSE_CODE, dispatcher.dispatch(request).responseCode());
+        assertTrue(String.format("The %s request allocated %d bytes, the budget is %d bytes",
+                request.requestName(), allocated, budget), allocated <= budget);
+    }
+
+    private static DefaultGoPluginApiRequest request(String name, String body) {
+        final DefaultGoPluginApiRequest request = new DefaultGoPluginApiRequest("task", "1.0", name);
+        request.setRequestBody(body);
+        return request;
+    }
+
+    @Configuration
+    enum GradleConfig {
+
+        @ConfigProperty(required = true)
+        TASKS("Tasks"),
+
+        @ConfigProperty(secure = true)
+        TOKEN("Token");
+
+        @PropertyName
+        private final String name;
+
+        GradleConfig(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link EnvironmentVariables} class.
+ *
+ * @author Jakub Narloch
+ */
+public class EnvironmentVariablesTest {
+
+    @Test
+    public void shouldLookupVariables() {
+
+        // given
+        final Map<String, Object> raw = new HashMap<>();
+        raw.put("PATH", "/usr/bin");
+        raw.put("HOME", "/home/go");
+
+        // when
+        final EnvironmentVariables env = EnvironmentVariables.of(raw);
+
+        // then
+        assertEquals(2, env.size());
+        assertEquals("/usr/bin", env.get("PATH"));
+        assertEquals("/home/go", env.get("HOME"));
+        assertNull(env.get("JAVA_HOME"));
+        assertEquals(raw, env);
+    }
+
+    @Test
+    public void shouldOverlayVariablesWithoutChangingTheOriginal() {
+
+        // given
+        final Map<String, String> raw = new HashMap<>();
+        raw.put("PATH", "/usr/bin");
+        raw.put("HOME", "/home/go");
+        final EnvironmentVariables env = EnvironmentVariables.of(raw);
+
+        // when
+        final EnvironmentVariables child = env.with("PATH", "/opt/bin").with("JAVA_HOME", "/opt/java").without("HOME");
+
+        // then
+        assertEquals(raw, env);
+        assertEquals(2, child.size());
+        assertEquals("/opt/bin", child.get("PATH"));
+        assertEquals("/opt/java", child.get("JAVA_HOME"));
+        assertFalse(child.containsKey("HOME"));
+
+        final Map<String, String> expected = new TreeMap<>();
+        expected.put("PATH", "/opt/bin");
+        expected.put("JAVA_HOME", "/opt/java");
+        assertEquals(expected, child);
+        assertEquals(expected, new TreeMap<>(child));
+    }
+
+    @Test
+    public void shouldFlattenDeepOverlays() {
+
+        // given
+        EnvironmentVariables env = EnvironmentVariables.empty();
+
+        // when
+        for (int ind = 0; ind < 100; ind++) {
+            env = env.with("VAR_" + (ind % 30), Integer.toString(ind));
+        }
+
+        // then
+        assertEquals(30, env.size());
+        assertEquals("99", env.get("VAR_9"));
+        assertEquals("70", env.get("VAR_10"));
+        assertEquals(30, env.toEnvp().length);
+    }
+
+    @Test
+    public void shouldReturnSameInstanceWhenNothingChanged() {
+
+        // given
+        final EnvironmentVariables env = EnvironmentVariables.empty().with("PATH", "/usr/bin");
+
+        // then
+        assertSame(env, env.with("PATH", "/usr/bin"));
+        assertSame(env, env.without("HOME"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonStringValues() {
+
+        // given
+        final Map<String, Object> raw = new HashMap<>();
+        raw.put("PORT", 8080);
+
+        // when
+        EnvironmentVariables.of(raw);
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import io.jmnarloch.cd.go.plugin.api.config.PropertyName;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ExecutionConfiguration} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ExecutionConfigurationTest {
+
+    @Test
+    public void shouldConvertPropertyValues() {
+
+        // given
+        final ExecutionConfiguration config = new ExecutionConfiguration(configuration(
+                "Tasks", "clean, build\ntest",
+                "Daemon", "true",
+                "Timeout", "5m",
+                "Workers", " 4 ",
+                "BuildFile", "app/build.gradle",
+                "Offline", ""
+        ));
+
+        // then
+        assertEquals("app/build.gradle", config.get(TestConfig.BUILD_FILE));
+        assertEquals(Arrays.asList("clean", "build", "test"), config.getList(TestConfig.TASKS));
+        assertEquals(Boolean.TRUE, config.getBoolean(TestConfig.DAEMON));
+        assertEquals(Long.valueOf(300), config.getDuration(TestConfig.TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(Long.valueOf(5), config.getDuration(TestConfig.TIMEOUT, TimeUnit.MINUTES));
+        assertEquals(Integer.valueOf(4), config.getInteger(TestConfig.WORKERS));
+        assertEquals(Long.valueOf(4), config.getLong(TestConfig.WORKERS));
+        assertEquals(Paths.get("app", "build.gradle"), config.getPath(TestConfig.BUILD_FILE));
+        assertNull(config.getBoolean(TestConfig.OFFLINE));
+        assertTrue(config.getList(TestConfig.OFFLINE).isEmpty());
+        assertSame(config.getList(TestConfig.TASKS), config.getList(TestConfig.TASKS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidInteger() {
+
+        // given
+        final ExecutionConfiguration config = new ExecutionConfiguration(configuration("Workers", "four"));
+
+        // when
+        config.getInteger(TestConfig.WORKERS);
+    }
+
+    @Test
+    public void shouldCollectSecureValues() {
+
+        // given
+        final Map<String, Object> token = new HashMap<>();
+        token.put("value", "s3cr3t");
+        token.put("secure", true);
+        final Map<String, Object> configuration = configuration("Tasks", "build");
+        configuration.put("Token", token);
+
+        // when
+        final ExecutionConfiguration config = new ExecutionConfiguration(configuration);
+
+        // then
+        assertEquals(Collections.singletonList("s3cr3t"), config.getSecureValues());
+        assertEquals("s3cr3t", config.getProperty("Token"));
+    }
+
+    @Test
+    public void shouldTreatNonStringValueAsMissing() {
+
+        // given
+        final Map<String, Object> workers = new HashMap<>();
+        workers.put("value", 4);
+        final Map<String, Object> configuration = configuration("Tasks", "build");
+        configuration.put("Workers", workers);
+
+        // when
+        final ExecutionConfiguration config = new ExecutionConfiguration(configuration);
+
+        // then
+        assertNull(config.getProperty("Workers"));
+        assertEquals("build", config.getProperty("Tasks"));
+    }
+
+    private static Map<String, Object> configuration(String... values) {
+        final Map<String, Object> configuration = new HashMap<>();
+        for (int ind = 0; ind < values.length; ind += 2) {
+            final Map<String, Object> property = new HashMap<>();
+            property.put("value", values[ind + 1]);
+            configuration.put(values[ind], property);
+        }
+        return configuration;
+    }
+
+    private enum TestConfig {
+        TASKS("Tasks"),
+        DAEMON("Daemon"),
+        TIMEOUT("Timeout"),
+        WORKERS("Workers"),
+        BUILD_FILE("BuildFile"),
+        OFFLINE("Offline");
+
+        @PropertyName
+        private final String name;
+
+        TestConfig(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link Interpolator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class InterpolatorTest {
+
+    private final Interpolator interpolator = new Interpolator(16);
+
+    @Test
+    public void shouldExpandVariablesRecursively() {
+
+        // given
+        final Map<String, String> variables = new HashMap<>();
+        variables.put("GO_PIPELINE_NAME", "app");
+        variables.put("HOME", "/var/go");
+        variables.put("GRADLE_USER_HOME", "${HOME}/.gradle");
+
+        // when
+        final String value = interpolator.interpolate(
+                "--gradle-user-home ${GRADLE_USER_HOME} -Pname=${GO_PIPELINE_NAME} $${KEEP} ${MISSING} ${", variables);
+
+        // then
+        assertEquals("--gradle-user-home /var/go/.gradle -Pname=app ${KEEP} ${MISSING} ${", value);
+    }
+
+    @Test
+    public void shouldReturnLiteralValueAsIs() {
+
+        // given
+        final String value = "clean build";
+
+        // when
+        final String result = interpolator.interpolate(value, new HashMap<String, String>());
+
+        // then
+        assertSame(value, result);
+    }
+
+    @Test(expected = PluginException.class)
+    public void shouldDetectReferenceCycles() {
+
+        // given
+        final Map<String, String> variables = new HashMap<>();
+        variables.put("A", "${B}");
+        variables.put("B", "x${A}");
+
+        // when
+        interpolator.interpolate("${A}", variables);
+    }
+
+    @Test
+    public void shouldNotCacheSecureValues() {
+
+        // given
+        final Map<String, String> variables = new HashMap<>();
+        variables.put("HOME", "/var/go");
+        variables.put("GRADLE_USER_HOME", "${HOME}/.gradle");
+
+        // when
+        final String value = interpolator.interpolate("token-${GRADLE_USER_HOME}", variables, true);
+
+        // then
+        assertEquals("token-/var/go/.gradle", value);
+        assertEquals(0, interpolator.cachedTemplates());
+    }
+}
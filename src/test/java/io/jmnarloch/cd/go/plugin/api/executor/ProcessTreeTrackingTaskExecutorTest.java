@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.executor;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.load.FakeJobConsole;
+import io.jmnarloch.cd.go.plugin.api.process.ResourceSampler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests the {@link ProcessTreeTrackingTaskExecutor} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ProcessTreeTrackingTaskExecutorTest {
+
+    private static final long GRACE_PERIOD_MILLIS = 500;
+
+    private final List<Process> processes = Collections.synchronizedList(new ArrayList<Process>());
+
+    @Before
+    public void setUp() {
+        assumeTrue(ResourceSampler.isSupported());
+        FakeJobConsole.install(System.getProperty("java.io.tmpdir"));
+    }
+
+    @After
+    public void tearDown() {
+        Thread.interrupted();
+        for (Process process : processes) {
+            process.destroy();
+        }
+    }
+
+    @Test
+    public void shouldHonorGracePeriodWhenCancelled() throws Exception {
+
+        // given
+        final ProcessTreeTrackingTaskExecutor executor = new ProcessTreeTrackingTaskExecutor(new TaskExecutor() {
+            @Override
+            public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config,
+                                           JobConsoleLogger console) {
+                // the process ignores SIGTERM, so it is killed only when the grace period is over
+                startReady("trap '' TERM; echo ready; exec sleep 30");
+                Thread.currentThread().interrupt();
+                return ExecutionResult.success("Cancelled");
+            }
+        }, 50, GRACE_PERIOD_MILLIS);
+
+        // when
+        final long start = System.currentTimeMillis();
+        executor.execute(context(), configuration(), JobConsoleLogger.getConsoleLogger());
+        final long elapsed = System.currentTimeMillis() - start;
+
+        // then
+        assertTrue(Thread.interrupted());
+        assertTrue("The grace period has been cut short: " + elapsed + " ms", elapsed >= GRACE_PERIOD_MILLIS);
+        assertEquals(137, processes.get(0).waitFor());
+    }
+
+    @Test
+    public void shouldNotTerminateProcessesStartedBeforeExecution() throws Exception {
+
+        // given
+        final Process existing = startReady("echo ready; exec sleep 30");
+        final ProcessTreeTrackingTaskExecutor executor = new ProcessTreeTrackingTaskExecutor(new TaskExecutor() {
+            @Override
+            public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config,
+                                           JobConsoleLogger console) {
+                startReady("echo ready; exec sleep 30");
+                Thread.currentThread().interrupt();
+                return ExecutionResult.success("Cancelled");
+            }
+        }, 50, GRACE_PERIOD_MILLIS);
+
+        // when
+        executor.execute(context(), configuration(), JobConsoleLogger.getConsoleLogger());
+
+        // then
+        assertEquals(143, processes.get(1).waitFor());
+        assertTrue(isRunning(existing));
+    }
+
+    @Test
+    public void shouldTerminateOnlyOwnExecutionsWhenStopped() throws Exception {
+
+        // given
+        final CountDownLatch done = new CountDownLatch(1);
+        final ProcessTreeTrackingTaskExecutor other = blocking(done);
+        final ProcessTreeTrackingTaskExecutor executor = blocking(done);
+        final Thread otherExecution = execute(other);
+        final Thread execution = execute(executor);
+        Thread.sleep(200);
+
+        // when
+        executor.stop();
+
+        // then
+        assertEquals(143, processes.get(1).waitFor());
+        assertTrue(isRunning(processes.get(0)));
+        done.countDown();
+        otherExecution.join();
+        execution.join();
+    }
+
+    private ProcessTreeTrackingTaskExecutor blocking(final CountDownLatch done) {
+        return new ProcessTreeTrackingTaskExecutor(new TaskExecutor() {
+            @Override
+            public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config,
+                                           JobConsoleLogger console) {
+                startReady("echo ready; exec sleep 30");
+                try {
+                    done.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ExecutionResult.success("Done");
+            }
+        }, 50, GRACE_PERIOD_MILLIS);
+    }
+
+    private Thread execute(final ProcessTreeTrackingTaskExecutor executor) throws InterruptedException {
+        final int started = processes.size();
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(context(), configuration(), JobConsoleLogger.getConsoleLogger());
+            }
+        });
+        thread.start();
+        while (processes.size() == started) {
+            Thread.sleep(10);
+        }
+        return thread;
+    }
+
+    private Process startReady(String script) {
+        try {
+            final Process process = new ProcessBuilder("sh", "-c", script).start();
+            processes.add(process);
+            // waits until the shell has set up the signal handling
+            new BufferedReader(new InputStreamReader(process.getInputStream())).readLine();
+            return process;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the process", e);
+        }
+    }
+
+    private static boolean isRunning(Process process) {
+        try {
+            process.exitValue();
+            return false;
+        } catch (IllegalThreadStateException e) {
+            return true;
+        }
+    }
+
+    private static ExecutionContext context() {
+        return new ExecutionContext(new HashMap<String, Object>());
+    }
+
+    private static ExecutionConfiguration configuration() {
+        return new ExecutionConfiguration(new HashMap<String, Object>());
+    }
+}
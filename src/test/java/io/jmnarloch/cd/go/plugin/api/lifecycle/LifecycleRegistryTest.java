@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.lifecycle;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequestDispatcherBuilder;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionContext;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionResult;
+import io.jmnarloch.cd.go.plugin.api.executor.TaskExecutor;
+import io.jmnarloch.cd.go.plugin.api.process.ProcessTreeTracker;
+import io.jmnarloch.cd.go.plugin.api.task.AbstractDispatchingTask;
+import io.jmnarloch.cd.go.plugin.api.task.TaskHost;
+import io.jmnarloch.cd.go.plugin.api.validation.ParallelTaskValidator;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationErrors;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link LifecycleRegistry} class.
+ *
+ * @author Jakub Narloch
+ */
+public class LifecycleRegistryTest {
+
+    @Test
+    public void shouldStopComponentsInReverseOrder() {
+
+        // given
+        final List<String> events = new ArrayList<>();
+        final LifecycleRegistry registry = new LifecycleRegistry();
+        final RecordingComponent first = new RecordingComponent("first", events);
+        registry.register(first);
+        registry.register(new RecordingComponent("second", events) {
+            @Override
+            public void stop() {
+                super.stop();
+                throw new IllegalStateException("Could not stop");
+            }
+        });
+        registry.register(first);
+        registry.register("not a component");
+
+        // when
+        registry.start();
+        registry.warmUp();
+        registry.stop();
+
+        // then
+        assertEquals(Arrays.asList("first.start", "second.start", "first.warmUp", "second.warmUp",
+                "second.stop", "first.stop"), events);
+    }
+
+    @Test
+    public void shouldWarmUpRegisteredComponentsOnLoad() {
+
+        // given
+        final List<String> events = new ArrayList<>();
+        final AbstractDispatchingTask task = new AbstractDispatchingTask() {
+            @Override
+            protected void configureDispatcher(ApiRequestDispatcherBuilder dispatcherBuilder) {
+                dispatcherBuilder.toExecutor(new RecordingComponent("executor", events));
+            }
+        };
+
+        // when
+        task.onLoad(null);
+        task.trimMemory();
+
+        // then
+        assertEquals(Arrays.asList("executor.start", "executor.warmUp", "executor.trimMemory"), events);
+    }
+
+    @Test
+    public void shouldReleaseThreadsWhenLastOwnerReleases() throws InterruptedException {
+
+        // given
+        final ExecutorLifecycle<ExecutorService> lifecycle = new ExecutorLifecycle<ExecutorService>() {
+            @Override
+            protected ExecutorService create() {
+                return Executors.newSingleThreadExecutor();
+            }
+        };
+        final ExecutorService executor = lifecycle.get();
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                // starts the pool thread
+            }
+        });
+        final LifecycleRegistry registry = new LifecycleRegistry();
+        registry.register(lifecycle);
+        registry.retain();
+        registry.retain();
+
+        // when
+        final boolean firstStopped = registry.release();
+        final boolean firstShutdown = executor.isShutdown();
+        final boolean lastStopped = registry.release();
+
+        // then
+        assertFalse(firstStopped);
+        assertFalse(firstShutdown);
+        assertTrue(lastStopped);
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(registry.release());
+    }
+
+    @Test
+    public void shouldKeepLibraryThreadsWhileOtherTaskIsLoaded() {
+
+        // given
+        final AbstractDispatchingTask first = new AbstractDispatchingTask(TaskHost.shared()) {
+        };
+        final AbstractDispatchingTask second = new AbstractDispatchingTask(TaskHost.shared()) {
+        };
+        first.onLoad(null);
+        second.onLoad(null);
+
+        // when
+        first.onUnload(null);
+
+        // then
+        assertFalse(TaskHost.shared().getExecutor().isShutdown());
+    }
+
+    @Test
+    public void shouldRecreateLibraryThreadsWhenReloaded() {
+
+        // given
+        final ParallelTaskValidator validator = new ParallelTaskValidator(new ValidationRule() {
+            @Override
+            public String getPropertyName() {
+                return "Path";
+            }
+
+            @Override
+            public String validate(Map<String, Object> properties) {
+                return "Path does not exist";
+            }
+        });
+        validator.validate(Collections.<String, Object>emptyMap());
+        ProcessTreeTracker.start().stop();
+        final ExecutorService executor = TaskHost.shared().getExecutor();
+
+        // when
+        LifecycleRegistry.library().stop();
+        final ValidationErrors errors = validator.validate(Collections.<String, Object>emptyMap());
+        ProcessTreeTracker.start().stop();
+
+        // then
+        assertTrue(executor.isShutdown());
+        assertFalse(TaskHost.shared().getExecutor().isShutdown());
+        assertEquals("Path does not exist", errors.getErrors().get("Path"));
+    }
+
+    /**
+     * The component recording its lifecycle events.
+     */
+    private static class RecordingComponent implements Lifecycle, TaskExecutor {
+
+        private final String name;
+
+        private final List<String> events;
+
+        RecordingComponent(String name, List<String> events) {
+            this.name = name;
+            this.events = events;
+        }
+
+        @Override
+        public void start() {
+            events.add(name + ".start");
+        }
+
+        @Override
+        public void warmUp() {
+            events.add(name + ".warmUp");
+        }
+
+        @Override
+        public void trimMemory() {
+            events.add(name + ".trimMemory");
+        }
+
+        @Override
+        public void stop() {
+            events.add(name + ".stop");
+        }
+
+        @Override
+        public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config,
+                                       JobConsoleLogger console) {
+            return ExecutionResult.success("Done");
+        }
+    }
+}
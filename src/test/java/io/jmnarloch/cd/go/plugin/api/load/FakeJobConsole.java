@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.load;
+
+import com.thoughtworks.go.plugin.api.task.Console;
+import com.thoughtworks.go.plugin.api.task.EnvironmentVariables;
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import com.thoughtworks.go.plugin.api.task.TaskExecutionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Fakes the Go agent task execution context, so that the {@link JobConsoleLogger} handed to the executors discards
+ * the console output instead of failing outside of the agent.
+ *
+ * @author Jakub Narloch
+ */
+public final class FakeJobConsole extends JobConsoleLogger {
+
+    /**
+     * Creates new instance of {@link FakeJobConsole} class.
+     */
+    private FakeJobConsole() {
+        // utility class
+    }
+
+    /**
+     * Installs the fake execution context.
+     *
+     * @param workingDirectory the working directory
+     */
+    public static void install(final String workingDirectory) {
+        final Console console = new Console() {
+            @Override
+            public void printLine(String line) {
+                // discards the output
+            }
+
+            @Override
+            public void readErrorOf(InputStream in) {
+                drain(in);
+            }
+
+            @Override
+            public void readOutputOf(InputStream in) {
+                drain(in);
+            }
+
+            @Override
+            public void printEnvironment(Map<String, String> environment, SecureEnvVarSpecifier secureEnvVarSpecifier) {
+                // discards the output
+            }
+        };
+        final EnvironmentVariables environment = new EnvironmentVariables() {
+            @Override
+            public Map<String, String> asMap() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public void writeTo(Console console) {
+                // no variables
+            }
+
+            @Override
+            public Console.SecureEnvVarSpecifier secureEnvSpecifier() {
+                return new Console.SecureEnvVarSpecifier() {
+                    @Override
+                    public boolean isSecure(String variable) {
+                        return false;
+                    }
+                };
+            }
+        };
+        context = new TaskExecutionContext() {
+            @Override
+            public EnvironmentVariables environment() {
+                return environment;
+            }
+
+            @Override
+            public Console console() {
+                return console;
+            }
+
+            @Override
+            public String workingDir() {
+                return workingDirectory;
+            }
+        };
+    }
+
+    /**
+     * Reads the stream until its end.
+     *
+     * @param in the input stream
+     */
+    private static void drain(InputStream in) {
+        final byte[] buffer = new byte[8192];
+        try {
+            while (in.read(buffer) >= 0) {
+                // discards the output
+            }
+        } catch (IOException e) {
+            // the process output is no longer available
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.load;
+
+/**
+ * The latency histogram with the log-linear buckets, which records the values without allocating. Every power of two
+ * range is split into {@value #SUB_BUCKETS} buckets, so that the percentiles are accurate to about 1.5%.
+ *
+ * @author Jakub Narloch
+ */
+class LatencyHistogram {
+
+    /**
+     * The number of bits of the sub-bucket index.
+     */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    /**
+     * The number of buckets within every power of two range.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The bucket counts.
+     */
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+
+    /**
+     * The number of recorded values.
+     */
+    private long total;
+
+    /**
+     * The largest recorded value.
+     */
+    private long max;
+
+    /**
+     * Records the value.
+     *
+     * @param value the non-negative value
+     */
+    void record(long value) {
+        counts[index(Math.max(0, value))]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the values recorded by the other histogram.
+     *
+     * @param other the other histogram
+     */
+    void add(LatencyHistogram other) {
+        for (int ind = 0; ind < counts.length; ind++) {
+            counts[ind] += other.counts[ind];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Retrieves the number of recorded values.
+     *
+     * @return the number of values
+     */
+    long getTotal() {
+        return total;
+    }
+
+    /**
+     * Retrieves the largest recorded value.
+     *
+     * @return the largest value
+     */
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * Retrieves the value at the specific percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, 0 if nothing has been recorded
+     */
+    long getPercentile(double percentile) {
+        final long rank = (long) Math.ceil(percentile / 100 * total);
+        long seen = 0;
+        for (int ind = 0; ind < counts.length; ind++) {
+            seen += counts[ind];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(ind), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves the bucket of the value.
+     *
+     * @param value the value
+     * @return the bucket index
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Retrieves the largest value of the bucket.
+     *
+     * @param index the bucket index
+     * @return the bucket upper bound
+     */
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
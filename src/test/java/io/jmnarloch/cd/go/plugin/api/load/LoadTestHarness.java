@@ -0,0 +1,445 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.load;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.request.GoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.DefaultGoApiResponse;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequests;
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import io.jmnarloch.cd.go.plugin.api.metrics.AllocationMeter;
+import io.jmnarloch.cd.go.plugin.api.parser.gson.GsonParser;
+import io.jmnarloch.cd.go.plugin.api.task.AbstractDispatchingTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the task with the concurrent API requests, in the way the Go server and agents would. The requests are
+ * issued by the specific number of threads at the fixed total rate, the latency is measured from the time the request
+ * was scheduled, so that a stalled task is not hidden by the load generator slowing down. With no rate the threads
+ * issue the requests back to back. The configuration, validation and execution requests are built out of the
+ * configuration reported by the task, with every property set to its default value.
+ *
+ * @author Jakub Narloch
+ */
+class LoadTestHarness {
+
+    /**
+     * The task under test.
+     */
+    private final AbstractDispatchingTask task;
+
+    /**
+     * The number of the load generating threads.
+     */
+    private int threads = 1;
+
+    /**
+     * The total number of requests per second, 0 for no limit.
+     */
+    private int rate;
+
+    /**
+     * The warm up duration.
+     */
+    private long warmUpNanos;
+
+    /**
+     * The measurement duration.
+     */
+    private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * The relative weights of the requests by the request name.
+     */
+    private final Map<String, Integer> mix = new LinkedHashMap<>();
+
+    /**
+     * Creates new instance of {@link LoadTestHarness} class.
+     *
+     * @param task the task under test
+     */
+    LoadTestHarness(AbstractDispatchingTask task) {
+        if (task == null) {
+            throw new IllegalArgumentException("The task can not be null");
+        }
+        this.task = task;
+        mix.put(ApiRequests.CONFIGURATION, 1);
+        mix.put(ApiRequests.VIEW, 1);
+        mix.put(ApiRequests.VALIDATE, 4);
+        mix.put(ApiRequests.EXECUTE, 1);
+    }
+
+    /**
+     * Sets the number of the load generating threads.
+     *
+     * @param threads the number of threads
+     * @return the harness
+     */
+    LoadTestHarness threads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads has to be positive");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the total number of requests per second.
+     *
+     * @param rate the request rate, 0 for no limit
+     * @return the harness
+     */
+    LoadTestHarness rate(int rate) {
+        if (rate < 0) {
+            throw new IllegalArgumentException("The request rate can not be negative");
+        }
+        this.rate = rate;
+        return this;
+    }
+
+    /**
+     * Sets the warm up duration, during which the requests are issued but not measured.
+     *
+     * @param duration the duration
+     * @param unit     the duration unit
+     * @return the harness
+     */
+    LoadTestHarness warmUp(long duration, TimeUnit unit) {
+        this.warmUpNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * Sets the measurement duration.
+     *
+     * @param duration the duration
+     * @param unit     the duration unit
+     * @return the harness
+     */
+    LoadTestHarness duration(long duration, TimeUnit unit) {
+        this.durationNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * Sets the relative weights of the requests.
+     *
+     * @param mix the weights by the request name
+     * @return the harness
+     */
+    LoadTestHarness mix(Map<String, Integer> mix) {
+        if (mix == null || mix.isEmpty()) {
+            throw new IllegalArgumentException("The request mix can not be empty");
+        }
+        this.mix.clear();
+        this.mix.putAll(mix);
+        return this;
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @return the load test report
+     * @throws InterruptedException if the load test has been interrupted
+     */
+    LoadTestReport run() throws InterruptedException {
+        FakeJobConsole.install(System.getProperty("java.io.tmpdir"));
+        task.onLoad(null);
+
+        final GoPluginApiRequest[] schedule = schedule(requests());
+        final long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        final long measureFrom = start + warmUpNanos;
+        final long end = measureFrom + durationNanos;
+        final long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) * threads / rate : 0;
+
+        final List<Worker> workers = new ArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(threads);
+        for (int ind = 0; ind < threads; ind++) {
+            final Worker worker = new Worker(schedule, ind, start + intervalNanos * ind / threads, intervalNanos,
+                    measureFrom, end, completed);
+            workers.add(worker);
+            final Thread thread = new Thread(worker, "load-test-" + ind);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        completed.await();
+
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final Map<String, LatencyHistogram> requestLatencies = new HashMap<>();
+        long errors = 0;
+        long allocatedBytes = 0;
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new PluginException("The load generating thread has failed", worker.failure);
+            }
+            for (Map.Entry<String, LatencyHistogram> request : worker.latencies.entrySet()) {
+                LatencyHistogram histogram = requestLatencies.get(request.getKey());
+                if (histogram == null) {
+                    histogram = new LatencyHistogram();
+                    requestLatencies.put(request.getKey(), histogram);
+                }
+                histogram.add(request.getValue());
+                latencies.add(request.getValue());
+            }
+            errors += worker.errors;
+            allocatedBytes = allocatedBytes < 0 || worker.allocatedBytes < 0 ? -1
+                    : allocatedBytes + worker.allocatedBytes;
+        }
+        return new LoadTestReport(latencies, requestLatencies, errors, end - measureFrom, allocatedBytes);
+    }
+
+    /**
+     * Builds the requests out of the configuration reported by the task.
+     *
+     * @return the requests by the request name
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, GoPluginApiRequest> requests() {
+        final GsonParser parser = new GsonParser();
+        final GoPluginApiRequest configurationRequest = request(ApiRequests.CONFIGURATION, "{}");
+        final Map<String, Object> configuration = parser.fromJson(handle(configurationRequest).responseBody(),
+                Map.class);
+
+        final Map<String, Object> properties = new HashMap<>();
+        for (Map.Entry<String, Object> property : configuration.entrySet()) {
+            final Map<String, Object> attributes = (Map<String, Object>) property.getValue();
+            final Map<String, Object> value = new HashMap<>();
+            value.put("value", attributes.containsKey("default-value") ? attributes.get("default-value") : "value");
+            value.put("secure", Boolean.TRUE.equals(attributes.get("secure")));
+            properties.put(property.getKey(), value);
+        }
+        final Map<String, Object> context = new HashMap<>();
+        context.put("environmentVariables", new HashMap<String, String>());
+        context.put("workingDirectory", System.getProperty("java.io.tmpdir"));
+        final Map<String, Object> execution = new HashMap<>();
+        execution.put("config", properties);
+        execution.put("context", context);
+
+        final Map<String, GoPluginApiRequest> requests = new HashMap<>();
+        requests.put(ApiRequests.CONFIGURATION, configurationRequest);
+        requests.put(ApiRequests.VIEW, request(ApiRequests.VIEW, "{}"));
+        requests.put(ApiRequests.VALIDATE, request(ApiRequests.VALIDATE, parser.toJson(properties)));
+        requests.put(ApiRequests.EXECUTE, request(ApiRequests.EXECUTE, parser.toJson(execution)));
+        return requests;
+    }
+
+    /**
+     * Interleaves the requests according to their weights.
+     *
+     * @param requests the requests by the request name
+     * @return the request schedule
+     */
+    private GoPluginApiRequest[] schedule(Map<String, GoPluginApiRequest> requests) {
+        final List<GoPluginApiRequest> schedule = new ArrayList<>();
+        boolean added = true;
+        for (int round = 0; added; round++) {
+            added = false;
+            for (Map.Entry<String, Integer> weight : mix.entrySet()) {
+                if (round < weight.getValue()) {
+                    final GoPluginApiRequest request = requests.get(weight.getKey());
+                    if (request == null) {
+                        throw new IllegalArgumentException("Unsupported request: " + weight.getKey());
+                    }
+                    schedule.add(request);
+                    added = true;
+                }
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("The request mix is empty");
+        }
+        return schedule.toArray(new GoPluginApiRequest[schedule.size()]);
+    }
+
+    /**
+     * Handles the request by the task.
+     *
+     * @param request the request
+     * @return the response
+     */
+    private GoPluginApiResponse handle(GoPluginApiRequest request) {
+        try {
+            return task.handle(request);
+        } catch (Exception e) {
+            throw new PluginException("The request could not be handled: " + request.requestName(), e);
+        }
+    }
+
+    /**
+     * Creates the request.
+     *
+     * @param name the request name
+     * @param body the request body
+     * @return the request
+     */
+    private static GoPluginApiRequest request(String name, String body) {
+        final DefaultGoPluginApiRequest request = new DefaultGoPluginApiRequest("task", "1.0", name);
+        request.setRequestBody(body);
+        return request;
+    }
+
+    /**
+     * The load generating thread.
+     */
+    private final class Worker implements Runnable {
+
+        /**
+         * The request schedule.
+         */
+        private final GoPluginApiRequest[] schedule;
+
+        /**
+         * The position within the schedule of the next request.
+         */
+        private int position;
+
+        /**
+         * The time the first request is scheduled at.
+         */
+        private final long start;
+
+        /**
+         * The time between the requests, 0 for no limit.
+         */
+        private final long intervalNanos;
+
+        /**
+         * The time the measurement starts at.
+         */
+        private final long measureFrom;
+
+        /**
+         * The time the load test ends at.
+         */
+        private final long end;
+
+        /**
+         * Signalled when the thread completes.
+         */
+        private final CountDownLatch completed;
+
+        /**
+         * The latencies by the request name.
+         */
+        private final Map<String, LatencyHistogram> latencies = new HashMap<>();
+
+        /**
+         * The number of the failed requests.
+         */
+        private long errors;
+
+        /**
+         * The bytes allocated during the measurement.
+         */
+        private long allocatedBytes = -1;
+
+        /**
+         * The unexpected failure.
+         */
+        private Throwable failure;
+
+        /**
+         * Creates new instance of {@link Worker} class.
+         *
+         * @param schedule      the request schedule
+         * @param position      the position within the schedule of the first request
+         * @param start         the time the first request is scheduled at
+         * @param intervalNanos the time between the requests, 0 for no limit
+         * @param measureFrom   the time the measurement starts at
+         * @param end           the time the load test ends at
+         * @param completed     signalled when the thread completes
+         */
+        private Worker(GoPluginApiRequest[] schedule, int position, long start, long intervalNanos, long measureFrom,
+                       long end, CountDownLatch completed) {
+            this.schedule = schedule;
+            this.position = position;
+            this.start = start;
+            this.intervalNanos = intervalNanos;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.completed = completed;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            try {
+                // the histograms are allocated up front, so that the measurement does not count them
+                for (GoPluginApiRequest request : schedule) {
+                    if (!latencies.containsKey(request.requestName())) {
+                        latencies.put(request.requestName(), new LatencyHistogram());
+                    }
+                }
+                generate();
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                completed.countDown();
+            }
+        }
+
+        /**
+         * Issues the requests until the end of the load test.
+         */
+        private void generate() {
+            long scheduled = start;
+            long startBytes = -1;
+            while (true) {
+                long now = System.nanoTime();
+                if (intervalNanos > 0) {
+                    while (now < scheduled) {
+                        LockSupport.parkNanos(scheduled - now);
+                        now = System.nanoTime();
+                    }
+                } else {
+                    scheduled = now;
+                }
+                if (scheduled >= end) {
+                    break;
+                }
+                if (startBytes < 0 && scheduled >= measureFrom) {
+                    startBytes = AllocationMeter.currentThreadAllocatedBytes();
+                }
+
+                final GoPluginApiRequest request = schedule[position++ % schedule.length];
+                final GoPluginApiResponse response = handle(request);
+                final long latency = System.nanoTime() - scheduled;
+
+                if (scheduled >= measureFrom) {
+                    latencies.get(request.requestName()).record(latency);
+                    if (response.responseCode() == DefaultGoApiResponse.INTERNAL_ERROR) {
+                        errors++;
+                    }
+                }
+                scheduled += intervalNanos;
+            }
+            if (startBytes >= 0) {
+                allocatedBytes = AllocationMeter.currentThreadAllocatedBytes() - startBytes;
+            }
+        }
+    }
+}
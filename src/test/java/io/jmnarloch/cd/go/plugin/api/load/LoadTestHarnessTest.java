@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.load;
+
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.config.AnnotatedEnumConfigurationProvider;
+import io.jmnarloch.cd.go.plugin.api.config.ConfigProperty;
+import io.jmnarloch.cd.go.plugin.api.config.PropertyName;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequestDispatcherBuilder;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionContext;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionResult;
+import io.jmnarloch.cd.go.plugin.api.executor.TaskExecutor;
+import io.jmnarloch.cd.go.plugin.api.task.AbstractDispatchingTask;
+import io.jmnarloch.cd.go.plugin.api.view.TaskView;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link LoadTestHarness} class.
+ *
+ * @author Jakub Narloch
+ */
+public class LoadTestHarnessTest {
+
+    @Test
+    public void shouldReportLatencies() throws Exception {
+
+        // given
+        final LoadTestHarness harness = new LoadTestHarness(new SampleTask())
+                .threads(2)
+                .rate(2000)
+                .duration(300, TimeUnit.MILLISECONDS);
+
+        // when
+        final LoadTestReport report = harness.run();
+
+        // then
+        assertTrue(report.toString(), report.getRequests() > 100);
+        assertEquals(report.toString(), 0, report.getErrors());
+        assertEquals(4, report.getRequestLatencies().size());
+        assertTrue(report.getLatency(50) <= report.getLatency(99));
+        assertTrue(report.getLatency(99) <= report.getLatency(99.9));
+    }
+
+    @Test
+    public void shouldComputePercentiles() {
+
+        // given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (int value = 1; value <= 10000; value++) {
+            histogram.record(value * 1000L);
+        }
+
+        // then
+        assertEquals(5000000, histogram.getPercentile(50), 5000000 * 0.016);
+        assertEquals(9990000, histogram.getPercentile(99.9), 9990000 * 0.016);
+        assertEquals(10000000, histogram.getMax());
+    }
+
+    /**
+     * The task handling every request type.
+     */
+    public static class SampleTask extends AbstractDispatchingTask {
+
+        @Override
+        protected void configureDispatcher(ApiRequestDispatcherBuilder dispatcherBuilder) {
+            dispatcherBuilder
+                    .toConfiguration(new AnnotatedEnumConfigurationProvider<>(SampleConfig.class))
+                    .toView(new TaskView() {
+                        @Override
+                        public String displayValue() {
+                            return "Sample";
+                        }
+
+                        @Override
+                        public String template() {
+                            return "<div></div>";
+                        }
+                    })
+                    .toExecutor(new TaskExecutor() {
+                        @Override
+                        public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config,
+                                                       JobConsoleLogger console) {
+                            console.printLine("Running " + config.getProperty("Tasks"));
+                            return ExecutionResult.success("Done");
+                        }
+                    });
+        }
+    }
+
+    /**
+     * The sample task configuration.
+     */
+    enum SampleConfig {
+
+        @ConfigProperty(required = true, defaultValue = "build")
+        TASKS("Tasks");
+
+        @PropertyName
+        private final String name;
+
+        SampleConfig(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.load;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The load test results.
+ *
+ * @author Jakub Narloch
+ */
+class LoadTestReport {
+
+    /**
+     * The latencies of all of the requests.
+     */
+    private final LatencyHistogram latencies;
+
+    /**
+     * The latencies by the request name.
+     */
+    private final Map<String, LatencyHistogram> requestLatencies;
+
+    /**
+     * The number of the failed requests.
+     */
+    private final long errors;
+
+    /**
+     * The measurement duration.
+     */
+    private final long durationNanos;
+
+    /**
+     * The bytes allocated by the load generating threads, -1 if not measured.
+     */
+    private final long allocatedBytes;
+
+    /**
+     * Creates new instance of {@link LoadTestReport} class.
+     *
+     * @param latencies        the latencies of all of the requests
+     * @param requestLatencies the latencies by the request name
+     * @param errors           the number of the failed requests
+     * @param durationNanos    the measurement duration
+     * @param allocatedBytes   the allocated bytes
+     */
+    LoadTestReport(LatencyHistogram latencies, Map<String, LatencyHistogram> requestLatencies, long errors,
+                   long durationNanos, long allocatedBytes) {
+        this.latencies = latencies;
+        this.requestLatencies = Collections.unmodifiableMap(new TreeMap<>(requestLatencies));
+        this.errors = errors;
+        this.durationNanos = durationNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Retrieves the number of the handled requests.
+     *
+     * @return the number of requests
+     */
+    long getRequests() {
+        return latencies.getTotal();
+    }
+
+    /**
+     * Retrieves the number of the failed requests.
+     *
+     * @return the number of errors
+     */
+    long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Retrieves the number of the handled requests per second.
+     *
+     * @return the throughput
+     */
+    double getThroughput() {
+        return getRequests() * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+    }
+
+    /**
+     * Retrieves the latency at the specific percentile.
+     *
+     * @param percentile the percentile
+     * @return the latency in nanoseconds
+     */
+    long getLatency(double percentile) {
+        return latencies.getPercentile(percentile);
+    }
+
+    /**
+     * Retrieves the latencies by the request name.
+     *
+     * @return the latencies
+     */
+    Map<String, LatencyHistogram> getRequestLatencies() {
+        return requestLatencies;
+    }
+
+    /**
+     * Retrieves the number of bytes allocated per second.
+     *
+     * @return the allocation rate, -1 if not measured
+     */
+    double getAllocationRate() {
+        return allocatedBytes < 0 ? -1 : allocatedBytes * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+    }
+
+    /**
+     * Retrieves the number of bytes allocated per request.
+     *
+     * @return the allocated bytes per request, -1 if not measured
+     */
+    double getAllocatedBytesPerRequest() {
+        return allocatedBytes < 0 || getRequests() == 0 ? -1 : allocatedBytes / (double) getRequests();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("requests=%d, errors=%d, throughput=%.1f req/s%n", getRequests(), errors,
+                getThroughput()));
+        report.append(String.format("%-14s %s%n", "all", latencies(latencies)));
+        for (Map.Entry<String, LatencyHistogram> request : requestLatencies.entrySet()) {
+            report.append(String.format("%-14s %s%n", request.getKey(), latencies(request.getValue())));
+        }
+        if (allocatedBytes < 0) {
+            report.append("allocation rate not supported by the JVM");
+        } else {
+            report.append(String.format("allocation rate=%.1f MB/s, %.0f bytes/request", getAllocationRate() / 1e6,
+                    getAllocatedBytesPerRequest()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Formats the latencies.
+     *
+     * @param histogram the latency histogram
+     * @return the formatted latencies
+     */
+    private static String latencies(LatencyHistogram histogram) {
+        return String.format("count=%d, p50=%.3fms, p99=%.3fms, p999=%.3fms, max=%.3fms", histogram.getTotal(),
+                histogram.getPercentile(50) / 1e6, histogram.getPercentile(99) / 1e6,
+                histogram.getPercentile(99.9) / 1e6, histogram.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.load;
+
+import io.jmnarloch.cd.go.plugin.api.task.AbstractDispatchingTask;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the load test against the task from the command line. The task can be loaded from the external classpath, so
+ * that the plugins using this library are tested without bundling the harness. The arguments are given as
+ * {@code name=value} pairs:
+ * <ul>
+ * <li>{@code task} - the {@link AbstractDispatchingTask} class name, required</li>
+ * <li>{@code classpath} - the plugin classes and dependencies, separated with the path separator, the runner
+ * classpath by default</li>
+ * <li>{@code threads} - the number of the load generating threads, 1 by default</li>
+ * <li>{@code rate} - the total number of requests per second, no limit by default</li>
+ * <li>{@code warmup} - the warm up duration in seconds, 5 by default</li>
+ * <li>{@code duration} - the measurement duration in seconds, 30 by default</li>
+ * <li>{@code mix} - the request weights, {@code configuration:1,view:1,validate:4,execute:1} by default</li>
+ * </ul>
+ *
+ * @author Jakub Narloch
+ */
+public final class LoadTestRunner {
+
+    /**
+     * Creates new instance of {@link LoadTestRunner} class.
+     */
+    private LoadTestRunner() {
+        // utility class
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the arguments
+     * @throws Exception if the load test has failed
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("The argument needs to be a name=value pair: " + arg);
+            }
+            options.put(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+        }
+        if (!options.containsKey("task")) {
+            throw new IllegalArgumentException("The task class is required, e.g. task=com.example.GradleTask");
+        }
+
+        final AbstractDispatchingTask task = (AbstractDispatchingTask) Class.forName(options.get("task"), true,
+                classLoader(options.get("classpath"))).newInstance();
+        final LoadTestHarness harness = new LoadTestHarness(task)
+                .threads(Integer.parseInt(option(options, "threads", "1")))
+                .rate(Integer.parseInt(option(options, "rate", "0")))
+                .warmUp(Long.parseLong(option(options, "warmup", "5")), TimeUnit.SECONDS)
+                .duration(Long.parseLong(option(options, "duration", "30")), TimeUnit.SECONDS);
+        if (options.containsKey("mix")) {
+            harness.mix(parseMix(options.get("mix")));
+        }
+
+        try {
+            System.out.println(harness.run());
+        } finally {
+            task.onUnload(null);
+        }
+    }
+
+    /**
+     * Creates the class loader of the task, the library classes are loaded by the runner class loader, so that the
+     * task shares them with the harness.
+     *
+     * @param classpath the classpath entries separated with the path separator, or null
+     * @return the class loader
+     * @throws MalformedURLException if any classpath entry is invalid
+     */
+    private static ClassLoader classLoader(String classpath) throws MalformedURLException {
+        final ClassLoader parent = LoadTestRunner.class.getClassLoader();
+        if (classpath == null || classpath.trim().isEmpty()) {
+            return parent;
+        }
+        final List<URL> urls = new ArrayList<>();
+        for (String entry : classpath.split(Pattern.quote(File.pathSeparator))) {
+            if (!entry.trim().isEmpty()) {
+                urls.add(new File(entry.trim()).toURI().toURL());
+            }
+        }
+        return new URLClassLoader(urls.toArray(new URL[urls.size()]), parent);
+    }
+
+    /**
+     * Parses the request weights.
+     *
+     * @param mix the weights in the {@code name:weight,...} form
+     * @return the weights by the request name
+     */
+    private static Map<String, Integer> parseMix(String mix) {
+        final Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String weight : mix.split(",")) {
+            final String[] parts = weight.trim().split(":");
+            weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return weights;
+    }
+
+    /**
+     * Retrieves the option value.
+     *
+     * @param options      the options
+     * @param name         the option name
+     * @param defaultValue the default value
+     * @return the option value
+     */
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        return options.containsKey(name) ? options.get(name) : defaultValue;
+    }
+}
@@ -17,7 +17,13 @@ package io.jmnarloch.cd.go.plugin.api.metadata;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests the {@link PluginMetadata} class.
@@ -34,5 +40,59 @@ public class PluginMetadataTest {
 
         // then
         assertNotNull(metadata);
+        assertSame(metadata, PluginMetadata.getMetadata());
+        assertEquals("test.task.plugin", metadata.getId());
+        assertEquals("1.0.0", metadata.getVersion());
+        assertEquals("Task Plugin", metadata.getName());
+        assertEquals("Sample task plugin", metadata.getDescription());
+        assertEquals("14.4.0", metadata.getTargetGoVersion());
+        assertEquals("Jakub Narloch", metadata.getVendorName());
+        assertEquals("http://github.com/jmnarloch/gocd-task-plugin-api", metadata.getVendorUrl());
+        assertEquals(Collections.<String>emptyList(), metadata.getTargetOperatingSystems());
+    }
+
+    @Test
+    public void shouldReadGeneratedPluginMetadata() {
+
+        // when
+        final PluginMetadata metadata = PluginMetadata.loadGenerated(GeneratedMetadata.class.getName());
+
+        // then
+        assertEquals("generated.task.plugin", metadata.getId());
+        assertEquals("2.0.0", metadata.getVersion());
+        assertNull(metadata.getDescription());
+        assertEquals(Arrays.asList("Linux", "Mac OS X"), metadata.getTargetOperatingSystems());
+    }
+
+    @Test
+    public void shouldIgnoreMissingGeneratedPluginMetadata() {
+
+        // when
+        final PluginMetadata metadata = PluginMetadata.loadGenerated("com.example.task.GeneratedPluginMetadata");
+
+        // then
+        assertNull(metadata);
+    }
+
+    /**
+     * The metadata in the form generated by the build.
+     */
+    public static final class GeneratedMetadata {
+
+        public static final String ID = "generated.task.plugin";
+
+        public static final String VERSION = "2.0.0";
+
+        public static final String NAME = "Generated Plugin";
+
+        public static final String DESCRIPTION = null;
+
+        public static final String TARGET_GO_VERSION = "15.1.0";
+
+        public static final String VENDOR_NAME = "Jakub Narloch";
+
+        public static final String VENDOR_URL = null;
+
+        public static final String[] TARGET_OPERATING_SYSTEMS = {"Linux", "Mac OS X"};
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.metrics;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Measures the bytes allocated by the current thread per run of the specific action. The action is first run
+ * repeatedly, so that the one-off allocations, like the class loading or the lazily populated caches, are not counted.
+ * The measurement relies on the HotSpot {@code com.sun.management.ThreadMXBean}.
+ *
+ * @author Jakub Narloch
+ */
+public final class AllocationMeter {
+
+    /**
+     * The default number of the warm up runs.
+     */
+    public static final int DEFAULT_WARM_UP = 2000;
+
+    /**
+     * The default number of the measured runs.
+     */
+    public static final int DEFAULT_ITERATIONS = 1000;
+
+    /**
+     * Creates new instance of {@link AllocationMeter} class.
+     */
+    private AllocationMeter() {
+        // utility class
+    }
+
+    /**
+     * Returns whether the JVM supports measuring the allocations.
+     *
+     * @return true if the allocations can be measured
+     */
+    public static boolean isSupported() {
+        return ThreadAllocations.isSupported();
+    }
+
+    /**
+     * Retrieves the number of bytes allocated by the current thread so far.
+     *
+     * @return the allocated bytes, -1 if not supported
+     */
+    public static long currentThreadAllocatedBytes() {
+        return ThreadAllocations.currentThreadAllocatedBytes();
+    }
+
+    /**
+     * Measures the bytes allocated per run of the action, with the default number of runs.
+     *
+     * @param action the action
+     * @return the average bytes allocated per run
+     */
+    public static long measure(Callable<?> action) {
+        return measure(action, DEFAULT_WARM_UP, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * Measures the bytes allocated per run of the action.
+     *
+     * @param action     the action
+     * @param warmUp     the number of the warm up runs
+     * @param iterations the number of the measured runs
+     * @return the average bytes allocated per run
+     * @throws IllegalStateException if the JVM does not support measuring the allocations
+     */
+    public static long measure(Callable<?> action, int warmUp, int iterations) {
+        if (!isSupported()) {
+            throw new IllegalStateException("The JVM does not support measuring the thread allocations");
+        }
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("The number of iterations has to be positive: " + iterations);
+        }
+
+        for (int ind = 0; ind < warmUp; ind++) {
+            call(action);
+        }
+        final long start = currentThreadAllocatedBytes();
+        for (int ind = 0; ind < iterations; ind++) {
+            call(action);
+        }
+        return (currentThreadAllocatedBytes() - start) / iterations;
+    }
+
+    /**
+     * Runs the action.
+     *
+     * @param action the action
+     */
+    private static void call(Callable<?> action) {
+        try {
+            action.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PluginException("The measured action has failed", e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import com.thoughtworks.go.plugin.api.task.JobConsoleLogger;
+import io.jmnarloch.cd.go.plugin.api.annotation.Configuration;
+import io.jmnarloch.cd.go.plugin.api.annotation.Executor;
+import io.jmnarloch.cd.go.plugin.api.config.ConfigProperty;
+import io.jmnarloch.cd.go.plugin.api.config.PropertyName;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequests;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionContext;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionResult;
+import io.jmnarloch.cd.go.plugin.api.executor.TaskExecutor;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link AbstractAnnotationDispatchingTask} class.
+ *
+ * @author Jakub Narloch
+ */
+public class AbstractAnnotationDispatchingTaskTest {
+
+    @Test
+    public void shouldReadComponentIndex() {
+
+        // when
+        final ComponentIndex index = ComponentIndex.load(getClass().getPackage().getName(),
+                getClass().getClassLoader());
+
+        // then
+        assertEquals(1, index.getTypesAnnotatedWith(Executor.class).size());
+        assertTrue(index.getTypesAnnotatedWith(Executor.class).contains(SampleExecutor.class));
+        assertTrue(index.getTypesAnnotatedWith(Configuration.class).contains(SampleConfig.class));
+    }
+
+    @Test
+    public void shouldIgnoreComponentIndexOfOtherPackages() {
+
+        // when
+        final ComponentIndex index = ComponentIndex.load("com.example.unindexed", getClass().getClassLoader());
+
+        // then
+        assertNull(index);
+    }
+
+    @Test
+    public void shouldRegisterIndexedComponents() throws Exception {
+
+        // given
+        final AbstractAnnotationDispatchingTask task = new AbstractAnnotationDispatchingTask() {
+        };
+
+        // when
+        final GoPluginApiResponse response = task.handle(
+                new DefaultGoPluginApiRequest("task", "1.0", ApiRequests.CONFIGURATION));
+
+        // then
+        assertEquals(200, response.responseCode());
+        assertTrue(response.responseBody().startsWith("{\"Tasks\":{"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void shouldScanClasspathOnDeprecatedReflectionsAccess() {
+
+        // given
+        final AbstractAnnotationDispatchingTask task = new AbstractAnnotationDispatchingTask() {
+        };
+
+        // when
+        final Set<Class<?>> executors = task.getReflections().getTypesAnnotatedWith(Executor.class);
+
+        // then
+        assertTrue(executors.contains(SampleExecutor.class));
+    }
+
+    /**
+     * The indexed task executor.
+     */
+    @Executor
+    public static class SampleExecutor implements TaskExecutor {
+
+        @Override
+        public ExecutionResult execute(ExecutionContext context, ExecutionConfiguration config,
+                                       JobConsoleLogger console) {
+            return ExecutionResult.success("Done");
+        }
+    }
+
+    /**
+     * The indexed task configuration.
+     */
+    @Configuration
+    enum SampleConfig {
+
+        @ConfigProperty(required = true)
+        TASKS("Tasks");
+
+        @PropertyName
+        private final String name;
+
+        SampleConfig(String name) {
+            this.name = name;
+        }
+    }
+}
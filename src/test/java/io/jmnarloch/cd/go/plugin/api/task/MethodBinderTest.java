@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import io.jmnarloch.cd.go.plugin.api.executor.EnvironmentVariables;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionConfiguration;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionContext;
+import io.jmnarloch.cd.go.plugin.api.executor.ExecutionResult;
+import io.jmnarloch.cd.go.plugin.api.validation.ValidationErrors;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link MethodBinder} class through the {@link MethodTaskExecutor} and {@link MethodTaskValidator}.
+ *
+ * @author Jakub Narloch
+ */
+public class MethodBinderTest {
+
+    @Test
+    public void shouldBindExecutorParametersInAnyOrder() throws Exception {
+
+        // given
+        final Map<String, Object> context = new HashMap<>();
+        context.put("environmentVariables", Collections.singletonMap("GRADLE_HOME", "/opt/gradle"));
+        context.put("workingDirectory", "/tmp/build");
+        final Components components = new Components();
+        final MethodTaskExecutor executor = new MethodTaskExecutor(Components.class.getDeclaredMethod("execute",
+                EnvironmentVariables.class, ExecutionContext.class), components);
+
+        // when
+        final ExecutionResult result = executor.execute(new ExecutionContext(context),
+                new ExecutionConfiguration(new HashMap<String, Object>()), null);
+
+        // then
+        assertTrue(result.isSuccess());
+        assertEquals("/opt/gradle in /tmp/build", result.getMessage());
+    }
+
+    @Test
+    public void shouldBindStaticExecutorReturningFlag() throws Exception {
+
+        // given
+        final MethodTaskExecutor executor = new MethodTaskExecutor(
+                Components.class.getDeclaredMethod("fail"), null);
+
+        // when
+        final ExecutionResult result = executor.execute(new ExecutionContext(new HashMap()),
+                new ExecutionConfiguration(new HashMap<String, Object>()), null);
+
+        // then
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void shouldBindValidatorWithTypedConfiguration() throws Exception {
+
+        // given
+        final MethodTaskValidator validator = new MethodTaskValidator(Components.class.getDeclaredMethod("validate",
+                ValidationErrors.class, ExecutionConfiguration.class), new Components());
+
+        // when
+        final ValidationErrors errors = validator.validate(new HashMap<String, Object>());
+
+        // then
+        assertEquals("Tasks is required", errors.getErrors().get("Tasks"));
+    }
+
+    @Test(expected = PluginException.class)
+    public void shouldRejectUnsupportedParameter() throws Exception {
+
+        // when
+        new MethodTaskExecutor(Components.class.getDeclaredMethod("unsupported", String.class), new Components());
+    }
+
+    /**
+     * The components declared as methods.
+     */
+    static class Components {
+
+        ExecutionResult execute(EnvironmentVariables environment, ExecutionContext context) {
+            return ExecutionResult.success(environment.get("GRADLE_HOME") + " in " + context.getWorkingDirectory());
+        }
+
+        static boolean fail() {
+            return false;
+        }
+
+        void validate(ValidationErrors errors, ExecutionConfiguration config) {
+            if (config.getProperty("Tasks") == null) {
+                errors.addError("Tasks", "Tasks is required");
+            }
+        }
+
+        void unsupported(String value) {
+        }
+    }
+}
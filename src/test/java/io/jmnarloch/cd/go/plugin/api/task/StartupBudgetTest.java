@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import io.jmnarloch.cd.go.plugin.api.annotation.View;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequests;
+import io.jmnarloch.cd.go.plugin.api.metrics.PhaseTiming;
+import io.jmnarloch.cd.go.plugin.api.metrics.StartupProfiler;
+import io.jmnarloch.cd.go.plugin.api.view.TaskView;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the plugin bootstrap, measured by the {@link StartupProfiler}, fits within the budget. The budget
+ * can be overridden with the {@value #BUDGET_PROPERTY} system property.
+ *
+ * @author Jakub Narloch
+ */
+public class StartupBudgetTest {
+
+    /**
+     * The startup budget system property.
+     */
+    private static final String BUDGET_PROPERTY = "go.plugin.startup.budget.millis";
+
+    /**
+     * The default startup budget.
+     */
+    private static final long DEFAULT_BUDGET_MILLIS = 2000;
+
+    @Test
+    public void shouldStartWithinBudget() throws Exception {
+
+        // given
+        final long budgetMillis = Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MILLIS);
+        StartupProfiler.reset();
+
+        // when
+        final AbstractAnnotationDispatchingTask task = new AbstractAnnotationDispatchingTask() {
+        };
+        task.handle(new DefaultGoPluginApiRequest("task", "1.0", ApiRequests.CONFIGURATION));
+        final boolean reportedAfterConfiguration = StartupProfiler.isReported();
+        task.handle(new DefaultGoPluginApiRequest("task", "1.0", ApiRequests.VIEW));
+
+        // then
+        final Set<String> phases = new HashSet<>();
+        for (PhaseTiming phase : StartupProfiler.getPhases()) {
+            phases.add(phase.getName());
+        }
+        assertTrue(phases.toString(), phases.containsAll(Arrays.asList("task", "parser", "component-lookup",
+                "dispatcher", "components", "first-" + ApiRequests.CONFIGURATION, "first-" + ApiRequests.VIEW)));
+        assertFalse(reportedAfterConfiguration);
+        assertTrue(StartupProfiler.isReported());
+        assertTrue(StartupProfiler.report(), StartupProfiler.getTotalNanos() < budgetMillis * 1000000);
+    }
+
+    /**
+     * The indexed task view.
+     */
+    @View
+    public static class SampleView implements TaskView {
+
+        @Override
+        public String displayValue() {
+            return "Sample";
+        }
+
+        @Override
+        public String template() {
+            return "<div></div>";
+        }
+    }
+}
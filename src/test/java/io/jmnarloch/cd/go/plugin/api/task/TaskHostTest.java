@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.task;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import io.jmnarloch.cd.go.plugin.api.configuration.TaskConfiguration;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequestDispatcherBuilder;
+import io.jmnarloch.cd.go.plugin.api.dispatcher.ApiRequests;
+import io.jmnarloch.cd.go.plugin.api.parser.gson.GsonParser;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link TaskHost} class.
+ *
+ * @author Jakub Narloch
+ */
+public class TaskHostTest {
+
+    @Test
+    public void shouldShareInfrastructureBetweenTasks() throws Exception {
+
+        // given
+        final TaskHost host = new TaskHost(new GsonParser());
+        final TestTask gradle = new TestTask(host, "gradle");
+        final TestTask maven = new TestTask(host, "maven");
+
+        // when
+        final GoPluginApiResponse gradleResponse = gradle.handle(request(ApiRequests.CONFIGURATION));
+        final GoPluginApiResponse mavenResponse = maven.handle(request(ApiRequests.CONFIGURATION));
+        maven.handle(request(ApiRequests.CONFIGURATION));
+
+        // then
+        assertSame(host, gradle.getHost());
+        assertSame(gradle.getHost().getParser(), maven.getHost().getParser());
+        assertEquals("{\"Tool\":\"gradle\"}", gradleResponse.responseBody());
+        assertEquals("{\"Tool\":\"maven\"}", mavenResponse.responseBody());
+        assertEquals(1, host.getMetrics().timer("gradle." + ApiRequests.CONFIGURATION).getCount());
+        assertEquals(2, host.getMetrics().timer("maven." + ApiRequests.CONFIGURATION).getCount());
+        assertEquals(0, host.getMetrics().timer("maven." + ApiRequests.CONFIGURATION).getFailures());
+    }
+
+    @Test
+    public void shouldRunEveryDefaultHostOnLibraryPool() {
+
+        // given
+        final TaskHost first = new TaskHost(new GsonParser());
+        final TaskHost second = new TaskHost(new GsonParser());
+
+        // when
+        first.stop();
+
+        // then
+        assertSame(TaskHost.shared().getExecutor(), first.getExecutor());
+        assertSame(first.getExecutor(), second.getExecutor());
+        assertFalse(second.getExecutor().isShutdown());
+    }
+
+    private static DefaultGoPluginApiRequest request(String name) {
+        return new DefaultGoPluginApiRequest("task", "1.0", name);
+    }
+
+    /**
+     * The task exposing a single configuration property.
+     */
+    private static class TestTask extends AbstractDispatchingTask {
+
+        private final String name;
+
+        TestTask(TaskHost host, String name) {
+            super(host);
+            this.name = name;
+        }
+
+        @Override
+        protected String getTaskName() {
+            return name;
+        }
+
+        @Override
+        protected void configureDispatcher(ApiRequestDispatcherBuilder dispatcherBuilder) {
+            dispatcherBuilder.toConfiguration(new TaskConfiguration() {
+                @Override
+                public Map getTaskConfiguration() {
+                    return Collections.singletonMap("Tool", name);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.validation;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests the {@link AbstractTaskValidator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class AbstractTaskValidatorTest {
+
+    @Test
+    public void shouldRerunOnlyRulesWithChangedInputs() {
+
+        // given
+        final CountingRule tasks = new CountingRule("Tasks");
+        final CountingRule buildFile = new CountingRule("BuildFile");
+        final AbstractTaskValidator validator = new AbstractTaskValidator() {
+            {
+                registerRule(tasks, true);
+                registerRule(buildFile, true, "BuildFile", "WorkingDirectory");
+            }
+        };
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("Tasks", property("build"));
+        properties.put("BuildFile", property(""));
+        properties.put("WorkingDirectory", property("app"));
+
+        // when
+        validator.validate(properties);
+        properties.put("WorkingDirectory", property("lib"));
+        final ValidationErrors errors = validator.validate(properties);
+        properties.put("WorkingDirectory", property("app"));
+        validator.validate(properties);
+
+        // then
+        assertEquals(1, tasks.invocations);
+        assertEquals(2, buildFile.invocations);
+        assertEquals("BuildFile is required", errors.getErrors().get("BuildFile"));
+        assertFalse(errors.getErrors().containsKey("Tasks"));
+    }
+
+    @Test
+    public void shouldRerunRulesNotDeclaredPure() {
+
+        // given
+        final CountingRule buildFile = new CountingRule("BuildFile");
+        final AbstractTaskValidator validator = new AbstractTaskValidator() {
+            {
+                registerRule(buildFile);
+            }
+        };
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("BuildFile", property(""));
+
+        // when
+        validator.validate(properties);
+        final ValidationErrors errors = validator.validate(properties);
+
+        // then
+        assertEquals(2, buildFile.invocations);
+        assertEquals("BuildFile is required", errors.getErrors().get("BuildFile"));
+    }
+
+    private static Map<String, Object> property(String value) {
+        final Map<String, Object> property = new HashMap<>();
+        property.put("value", value);
+        return property;
+    }
+
+    private static class CountingRule implements ValidationRule {
+
+        private final String propertyName;
+
+        private int invocations;
+
+        CountingRule(String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        @Override
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        @Override
+        public String validate(Map<String, Object> properties) {
+            invocations++;
+            final Object value = ((Map) properties.get(propertyName)).get("value");
+            return "".equals(value) ? propertyName + " is required" : null;
+        }
+    }
+}
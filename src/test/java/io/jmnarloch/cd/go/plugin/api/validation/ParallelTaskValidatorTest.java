@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.validation;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ParallelTaskValidator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ParallelTaskValidatorTest {
+
+    @Test
+    public void shouldReportPendingRulesAsUnverified() {
+
+        // given
+        final ParallelTaskValidator validator = new ParallelTaskValidator(200,
+                new TestRule("Path", 0, "Path does not exist"),
+                new TestRule("Version", 10000, null),
+                new TestRule("Goals", 0, null));
+
+        // when
+        final long start = System.currentTimeMillis();
+        final ValidationErrors errors = validator.validate(Collections.<String, Object>emptyMap());
+
+        // then
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(2, errors.getErrors().size());
+        assertEquals("Path does not exist", errors.getErrors().get("Path"));
+        assertEquals("Could not verify Version: the check did not complete within 200 ms",
+                errors.getErrors().get("Version"));
+    }
+
+    private static class TestRule implements ValidationRule {
+
+        private final String propertyName;
+
+        private final long delayMillis;
+
+        private final String error;
+
+        TestRule(String propertyName, long delayMillis, String error) {
+            this.propertyName = propertyName;
+            this.delayMillis = delayMillis;
+            this.error = error;
+        }
+
+        @Override
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        @Override
+        public String validate(Map<String, Object> properties) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return error;
+        }
+    }
+}
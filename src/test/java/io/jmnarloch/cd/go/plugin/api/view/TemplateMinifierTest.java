@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link TemplateMinifier} class.
+ *
+ * @author Jakub Narloch
+ */
+public class TemplateMinifierTest {
+
+    @Test
+    public void shouldMinifyTemplate() {
+
+        // given
+        final String template = "<!-- Gradle task -->\n"
+                + "<div class=\"form_item_block\">\n"
+                + "    <label>Tasks:   <span class=\"asterisk\">*</span></label>\n"
+                + "    <input type=\"text\"   ng-model=\"Tasks\" placeholder=\"clean   build\" />\n"
+                + "    <!--#include \"common/errors.html\" -->\n"
+                + "    <pre>  keep\n  this</pre>\n"
+                + "</div>\n";
+
+        // when
+        final String minified = TemplateMinifier.minify(template);
+
+        // then
+        assertEquals("<div class=\"form_item_block\">"
+                + "<label>Tasks: <span class=\"asterisk\">*</span></label> "
+                + "<input type=\"text\" ng-model=\"Tasks\" placeholder=\"clean   build\"/> "
+                + "<!--#include \"common/errors.html\" -->"
+                + "<pre>  keep\n  this</pre>"
+                + "</div>", minified);
+    }
+
+    @Test
+    public void shouldCollapseLineBreakBetweenInlineElements() {
+
+        // given
+        final String template = "<p>\n    <b>bold</b>\n    <i>italic</i>\n</p>\n";
+
+        // when
+        final String minified = TemplateMinifier.minify(template);
+
+        // then
+        assertEquals("<p><b>bold</b> <i>italic</i></p>", minified);
+    }
+
+    @Test
+    public void shouldKeepSpaceAfterUnquotedAttributeValue() {
+
+        // given
+        final String template = "<input value=x />\n<input value=\"y\" />";
+
+        // when
+        final String minified = TemplateMinifier.minify(template);
+
+        // then
+        assertEquals("<input value=x /> <input value=\"y\"/>", minified);
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.cd.go.plugin.api.view;
+
+import io.jmnarloch.cd.go.plugin.api.exception.PluginException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link TemplateRegistry} class.
+ *
+ * @author Jakub Narloch
+ */
+public class TemplateRegistryTest {
+
+    @Test
+    public void shouldComposeTemplates() {
+
+        // given
+        final TemplateRegistry registry = new TemplateRegistry(getClass()).register("/views/task.html");
+
+        // when
+        final String template = new ComposedTaskView("Gradle", "/views/task.html", registry).template();
+
+        // then
+        assertEquals("<div class=\"task\">\n<h3>Gradle</h3>\n<input ng-model=\"Tasks\"/>\n</div>\n", template);
+        assertSame(template, registry.getTemplate("/views/task.html"));
+    }
+
+    @Test
+    public void shouldComposeEachTemplateOnce() {
+
+        // given
+        final TemplateRegistry registry = new TemplateRegistry(getClass());
+
+        // when
+        registry.register("/views/common/header.html", "/views/common/title.html");
+
+        // then
+        assertEquals(registry.getTemplate("/views/common/header.html"), registry.getTemplate("/views/common/title.html"));
+        assertSame(registry.getTemplate("/views/common/header.html"), registry.getTemplate("/views/common/header.html"));
+    }
+
+    @Test(expected = PluginException.class)
+    public void shouldDetectIncludeCycles() {
+
+        // when
+        new TemplateRegistry(getClass()).register("/views/cycle-a.html");
+    }
+}